@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.benchmarks;
+
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing a downloaded result to disk with {@link IOUtils#copy}, as the samples used to, and with
+ * {@link AssetSink}, for 10 MB, 100 MB and 1 GB payloads.
+ * <p>
+ * The payload comes from an in-memory stream that returns at most 16 KB per read, like a network stream, so that only
+ * the copy into the file is measured. Throughput is the payload size divided by the score. Run with {@code -prof gc}
+ * to report the allocation per write ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssetSinkBenchmark {
+
+    private static final int READ_SIZE = 16 * 1024;
+
+    @Param({"10", "100", "1024"})
+    public int payloadMegabytes;
+
+    private final byte[] block = new byte[READ_SIZE];
+    private Path outputFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        outputFile = Files.createTempFile("pdfservices-benchmark", ".out");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public long ioUtilsCopy() throws IOException {
+        try (InputStream inputStream = new PayloadInputStream(block, payloadMegabytes * 1024L * 1024L);
+             OutputStream outputStream = Files.newOutputStream(outputFile)) {
+            return IOUtils.copyLarge(inputStream, outputStream);
+        }
+    }
+
+    @Benchmark
+    public long assetSink() throws IOException {
+        return AssetSink.getInstance().write(new PayloadInputStream(block, payloadMegabytes * 1024L * 1024L), outputFile);
+    }
+
+    // Returns the same block over and over, so that large payloads need no memory
+    private static final class PayloadInputStream extends InputStream {
+
+        private final byte[] block;
+        private long remaining;
+
+        private PayloadInputStream(byte[] block, long length) {
+            this.block = block;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return block[0];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int count = (int) Math.min(Math.min(length, block.length), remaining);
+            System.arraycopy(block, 0, buffer, offset, count);
+            remaining -= count;
+            return count;
+        }
+    }
+}
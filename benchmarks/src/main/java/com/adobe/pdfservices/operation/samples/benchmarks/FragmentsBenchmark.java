@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.benchmarks;
+
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.DocumentMergeParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.Fragments;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.OutputFormat;
+import com.adobe.pdfservices.operation.samples.io.FragmentLibrary;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-job cost of the fragments of a document merge job: building {@link Fragments} from JSON literals
+ * for each job, as {@code MergeDocumentToDOCXWithFragments} did, against sharing the fragments of a
+ * {@link FragmentLibrary}. Run with {@code -prof gc} to compare the allocation per job.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FragmentsBenchmark {
+
+    // Same fragments as src/main/resources/documentMergeFragments.json
+    private static final String ORDER_DETAILS = "{\n" +
+            "   \"orderDetails\":\"<b>Quantity</b>:{{quantity}}, <b>Description</b>:{{description}}, " +
+            "<b>Amount</b>:{{amount}}\"\n" +
+            "}";
+    private static final String CUSTOMER_DETAILS = "{\n" +
+            "   \"customerDetails\":\"{{customerName}}, Visits: {{customerVisits}}\"\n" +
+            "}";
+
+    private JSONObject jsonDataForMerge;
+    private FragmentLibrary fragmentLibrary;
+
+    @Setup
+    public void setUp() {
+        jsonDataForMerge = new JSONObject()
+                .put("customerName", "Kane Miller")
+                .put("customerVisits", 100);
+        fragmentLibrary = FragmentLibrary.of(Arrays.asList(new JSONObject(ORDER_DETAILS),
+                new JSONObject(CUSTOMER_DETAILS)));
+    }
+
+    // Parses the fragments and builds the list again for every job
+    @Benchmark
+    public DocumentMergeParams fragmentsPerJob() {
+        Fragments fragments = new Fragments();
+        List<JSONObject> fragmentList = new ArrayList<>();
+        fragmentList.add(new JSONObject(ORDER_DETAILS));
+        fragmentList.add(new JSONObject(CUSTOMER_DETAILS));
+        fragments.addFragments(fragmentList);
+        return DocumentMergeParams.documentMergeParamsBuilder()
+                .withJsonDataForMerge(jsonDataForMerge)
+                .withOutputFormat(OutputFormat.DOCX)
+                .withFragments(fragments)
+                .build();
+    }
+
+    @Benchmark
+    public DocumentMergeParams sharedFragmentLibrary() {
+        return DocumentMergeParams.documentMergeParamsBuilder()
+                .withJsonDataForMerge(jsonDataForMerge)
+                .withOutputFormat(OutputFormat.DOCX)
+                .withFragments(fragmentLibrary.getFragments())
+                .build();
+    }
+
+    // Loading cost paid once per library, for comparison with the per-job cost above
+    @Benchmark
+    public FragmentLibrary loadFragmentLibrary() {
+        return FragmentLibrary.of(Arrays.asList(new JSONObject(ORDER_DETAILS), new JSONObject(CUSTOMER_DETAILS)));
+    }
+}
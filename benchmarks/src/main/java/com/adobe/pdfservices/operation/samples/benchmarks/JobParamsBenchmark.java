@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.benchmarks;
+
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.DocumentMergeParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.OutputFormat;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractElementType;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractPDFParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractRenditionsElementType;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.TableStructureType;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the job construction the samples do before each submit: building {@link ExtractPDFParams} and
+ * {@link DocumentMergeParams}, and parsing the merge data into a {@link JSONObject} as
+ * {@code MergeDocumentToDOCX} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobParamsBenchmark {
+
+    // Size of the PNG embedded in the merge data of MergeDocumentToDOCX
+    private static final int PHOTOGRAPH_SIZE = 6600;
+
+    private String jsonDataForMergeString;
+    private JSONObject jsonDataForMerge;
+
+    @Setup
+    public void setUp() {
+        byte[] photograph = new byte[PHOTOGRAPH_SIZE];
+        new Random(42).nextBytes(photograph);
+
+        // Same fields and value sizes as the merge data of MergeDocumentToDOCX
+        jsonDataForMergeString = new JSONObject()
+                .put("customerName", "Kane Miller")
+                .put("customerVisits", 100)
+                .put("itemsBought", new JSONArray()
+                        .put(new JSONObject().put("description", "Sprays").put("quantity", 50).put("amount", 100))
+                        .put(new JSONObject().put("description", "Chemicals").put("quantity", 100).put("amount", 200)))
+                .put("totalAmount", 300)
+                .put("previousBalance", 50)
+                .put("lastThreeBillings", new JSONArray().put(100).put(200).put(300))
+                .put("photograph", "data:image/png;base64," + Base64.getEncoder().encodeToString(photograph))
+                .toString(4);
+        jsonDataForMerge = new JSONObject(jsonDataForMergeString);
+    }
+
+    @Benchmark
+    public ExtractPDFParams extractTextParams() {
+        return ExtractPDFParams.extractPDFParamsBuilder()
+                .addElementsToExtract(Arrays.asList(ExtractElementType.TEXT))
+                .build();
+    }
+
+    @Benchmark
+    public ExtractPDFParams extractTablesWithRenditionsParams() {
+        return ExtractPDFParams.extractPDFParamsBuilder()
+                .addElementsToExtract(Arrays.asList(ExtractElementType.TEXT, ExtractElementType.TABLES))
+                .addElementToExtractRenditions(ExtractRenditionsElementType.TABLES)
+                .addTableStructureFormat(TableStructureType.CSV)
+                .build();
+    }
+
+    @Benchmark
+    public JSONObject parseMergeData() {
+        return new JSONObject(jsonDataForMergeString);
+    }
+
+    @Benchmark
+    public DocumentMergeParams documentMergeParams() {
+        return DocumentMergeParams.documentMergeParamsBuilder()
+                .withJsonDataForMerge(jsonDataForMerge)
+                .withOutputFormat(OutputFormat.DOCX)
+                .build();
+    }
+
+    // What MergeDocumentToDOCX pays per job: parsing the data and building the params
+    @Benchmark
+    public DocumentMergeParams parseMergeDataAndBuildParams() {
+        return DocumentMergeParams.documentMergeParamsBuilder()
+                .withJsonDataForMerge(new JSONObject(jsonDataForMergeString))
+                .withOutputFormat(OutputFormat.DOCX)
+                .build();
+    }
+}
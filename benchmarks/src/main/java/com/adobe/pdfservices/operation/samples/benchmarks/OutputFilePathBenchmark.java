@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.benchmarks;
+
+import com.adobe.pdfservices.operation.samples.documentmerge.MergeDocumentToDOCX;
+import com.adobe.pdfservices.operation.samples.extractpdf.ExtractTextInfoFromPDF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code createOutputFilePath()}, which every sample calls once per result: it formats a timestamp with a new
+ * {@link java.time.format.DateTimeFormatter} and creates the output directory.
+ * <p>
+ * The samples create their output directories under {@code output/} in the working directory, as they do when run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutputFilePathBenchmark {
+
+    @Benchmark
+    public String mergeDocumentToDOCX() throws IOException {
+        return MergeDocumentToDOCX.createOutputFilePath();
+    }
+
+    @Benchmark
+    public String extractTextInfoFromPDF() throws IOException {
+        return ExtractTextInfoFromPDF.createOutputFilePath();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.benchmarks;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the stream handling every sample does around a job: reading the input file the way it is handed to
+ * {@code PDFServices.upload}, and copying the result stream to the output file with {@link IOUtils#copy}.
+ * <p>
+ * The input files are read from {@code src/main/resources}, so the benchmarks must run from the samples directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SampleIOBenchmark {
+
+    @Param({"createPDFInput.docx", "extractPdfInput.pdf", "baseInput.pdf"})
+    public String inputFile;
+
+    private File input;
+    private byte[] result;
+    private Path outputFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = new File("src/main/resources/" + inputFile);
+        result = Files.readAllBytes(input.toPath());
+        outputFile = Files.createTempFile("pdfservices-benchmark", ".out");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+
+    // The SDK drains the stream while uploading; the null stream keeps the network out of the measurement
+    @Benchmark
+    public long uploadPreparation() throws IOException {
+        try (InputStream inputStream = Files.newInputStream(input.toPath())) {
+            return IOUtils.copy(inputStream, OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public int copyResultToFile() throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(outputFile)) {
+            return IOUtils.copy(new ByteArrayInputStream(result), outputStream);
+        }
+    }
+
+    // Isolates the copy loop from the file system
+    @Benchmark
+    public int copyResultToMemory() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        return IOUtils.copy(new ByteArrayInputStream(result), outputStream);
+    }
+}
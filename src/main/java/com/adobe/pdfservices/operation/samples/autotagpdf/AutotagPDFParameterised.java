@@ -14,8 +14,6 @@ package com.adobe.pdfservices.operation.samples.autotagpdf;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -24,14 +22,14 @@ import com.adobe.pdfservices.operation.io.StreamAsset;
 import com.adobe.pdfservices.operation.pdfjobs.jobs.AutotagPDFJob;
 import com.adobe.pdfservices.operation.pdfjobs.params.autotag.AutotagPDFParams;
 import com.adobe.pdfservices.operation.pdfjobs.result.AutotagPDFResult;
-import org.apache.commons.io.IOUtils;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -53,11 +51,8 @@ public class AutotagPDFParameterised {
             LOGGER.info("--report " + getGenerateReportFromCmdArgs(args));
             LOGGER.info("--shift_headings " + getShiftHeadingsFromCmdArgs(args));
 
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"));
-
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getDefaultClient();
 
             // Creates an asset(s) from source file(s) and upload
             Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
@@ -78,21 +73,17 @@ public class AutotagPDFParameterised {
             StreamAsset streamAsset = pdfServices.getContent(resultAsset);
             StreamAsset streamAssetReport = (autotagPDFParams != null && autotagPDFParams.isGenerateReport()) ? pdfServices.getContent(resultAssetReport) : null;
 
-            // Creating output streams and copying stream assets' content to it
+            // Writes the stream assets' content to the output files
             String outputPath = getOutputFilePathFromCmdArgs(args);
             String outputFilePath = outputPath + "autotagPDFInput-tagged.pdf";
             LOGGER.info(String.format("Saving asset at %s", outputFilePath));
 
-            OutputStream outputStream = Files.newOutputStream(new File(outputFilePath).toPath());
-            IOUtils.copy(streamAsset.getInputStream(), outputStream);
-            outputStream.close();
+            AssetSink.getInstance().write(streamAsset, outputFilePath);
             if (streamAssetReport != null) {
                 String outputFilePathReport = outputPath + "autotagPDFInput-report.xlsx";
                 LOGGER.info(String.format("Saving asset at %s", outputFilePathReport));
 
-                OutputStream outputStreamReport = Files.newOutputStream(new File(outputFilePathReport).toPath());
-                IOUtils.copy(streamAssetReport.getInputStream(), outputStreamReport);
-                outputStreamReport.close();
+                AssetSink.getInstance().write(streamAssetReport, outputFilePathReport);
             }
         } catch (ServiceApiException | IOException | SDKException | ServiceUsageException e) {
             LOGGER.error("Exception encountered while executing operation", e);
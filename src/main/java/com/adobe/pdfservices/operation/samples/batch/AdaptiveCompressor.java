@@ -0,0 +1,394 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.CompressPDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.compresspdf.CompressPDFParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.compresspdf.CompressionLevel;
+import com.adobe.pdfservices.operation.pdfjobs.result.CompressPDFResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.io.PDFTraits;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Compresses PDF files at a compression level chosen for each document, instead of one fixed level for all of them.
+ * <p>
+ * The {@link PDFTraits} of each document are read locally first, and the document is put in a class, such as
+ * {@code scanned-small} or {@code text-large}, by its share of image data and its size. The level is then chosen in
+ * the first of these ways that applies:
+ * <ol>
+ *     <li>the level learned for the class by {@link Builder#withLearnedLevels(LearnedCompressionLevels)}, from
+ *     trials of earlier documents, with one job;</li>
+ *     <li>with a {@link Builder#withDeadline(Duration) deadline}, a trial: one job per level runs concurrently on the
+ *     same uploaded input, and the smallest output finished by the deadline is kept. If no job finishes in time, the
+ *     first output to finish is kept instead, and the trial is not learned from;</li>
+ *     <li>otherwise, a level from the traits, with one job: HIGH for scans and for image-heavy documents of 1 MB or
+ *     more, MEDIUM for smaller image-heavy documents, and LOW for text documents, where higher levels gain little.</li>
+ * </ol>
+ * Outputs of the same size are ranked by level, lowest first, as lower levels keep more of the image quality. Trial
+ * outputs are downloaded next to the output file and the one kept is moved into place; the others are deleted, even
+ * those finished after the deadline; {@link #awaitLateTrials()} waits for them. Instances are thread-safe, so several
+ * documents can be compressed at once.
+ */
+public final class AdaptiveCompressor {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveCompressor.class);
+
+    private static final long MEDIUM_DOCUMENT_SIZE = 1024L * 1024;
+    private static final long LARGE_DOCUMENT_SIZE = 16L * 1024 * 1024;
+
+    private final AsyncPDFServices asyncPDFServices;
+    // Used for its download and delete steps
+    private final BulkJobs bulkJobs;
+    private final Duration deadline;
+    private final List<CompressionLevel> trialLevels;
+    private final LearnedCompressionLevels learnedLevels;
+    private final Function<PDFTraits, String> classifier;
+    // The parameters of each level, shared by every job
+    private final Map<CompressionLevel, CompressPDFParams> paramsByLevel = new EnumMap<>(CompressionLevel.class);
+    // Cleanups of the trials still running after their document was compressed
+    private final Set<CompletableFuture<Void>> lateTrials = ConcurrentHashMap.newKeySet();
+
+    private AdaptiveCompressor(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.bulkJobs = new BulkJobs(builder.asyncPDFServices, 1, 1);
+        this.deadline = builder.deadline;
+        this.trialLevels = builder.trialLevels;
+        this.learnedLevels = builder.learnedLevels;
+        this.classifier = builder.classifier;
+        for (CompressionLevel level : CompressionLevel.values()) {
+            paramsByLevel.put(level, CompressPDFParams.compressPDFParamsBuilder()
+                    .withCompressionLevel(level)
+                    .build());
+        }
+    }
+
+    /**
+     * Creates a new AdaptiveCompressor builder.
+     *
+     * @param asyncPDFServices services the jobs are run with; can not be null.
+     * @return an AdaptiveCompressor.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices) {
+        return new Builder(asyncPDFServices);
+    }
+
+    /**
+     * Returns the default class of a document: {@code scanned}, {@code images} or {@code text}, by its share of image
+     * data, followed by {@code small}, {@code medium} or {@code large}, by its size.
+     *
+     * @param traits the traits of the document
+     * @return the document class, such as {@code scanned-small}
+     */
+    public static String classify(PDFTraits traits) {
+        String content;
+        if (isScan(traits)) {
+            content = "scanned";
+        } else if (traits.getImageRatio() >= 0.3) {
+            content = "images";
+        } else {
+            content = "text";
+        }
+        String size;
+        if (traits.getFileSize() < MEDIUM_DOCUMENT_SIZE) {
+            size = "small";
+        } else if (traits.getFileSize() < LARGE_DOCUMENT_SIZE) {
+            size = "medium";
+        } else {
+            size = "large";
+        }
+        return content + "-" + size;
+    }
+
+    /**
+     * Compresses a PDF file at the level chosen for it.
+     *
+     * @param input  the PDF file
+     * @param output the file to write; replaced if it exists
+     * @return the outcome, with the level chosen and the output size
+     * @throws IOException          if the input can not be read, or the output can not be written
+     * @throws InterruptedException if interrupted while waiting for the trials
+     */
+    public CompressionOutcome compress(Path input, Path output) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        PDFTraits traits = PDFTraits.read(input);
+        String documentClass = classifier.apply(traits);
+        CompressionLevel learnedLevel = learnedLevels != null ? learnedLevels.get(documentClass) : null;
+        Asset asset = asyncPDFServices.uploadAsync(UploadSource.ofFile(input, PDFServicesMediaType.PDF.getMediaType()))
+                .join();
+
+        if (learnedLevel == null && deadline != null) {
+            return trial(asset, traits, documentClass, output, start);
+        }
+        CompressionLevel level = learnedLevel != null ? learnedLevel : levelFromTraits(traits);
+        try {
+            compressAt(asset, level, output).join();
+        } finally {
+            bulkJobs.deleteQuietly(asset);
+        }
+        return new CompressionOutcome(traits, documentClass, level,
+                learnedLevel != null ? CompressionOutcome.Source.LEARNED : CompressionOutcome.Source.TRAITS, 1,
+                Files.size(output), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private CompressionOutcome trial(Asset asset, PDFTraits traits, String documentClass, Path output, long start)
+            throws IOException, InterruptedException {
+        Map<CompressionLevel, CompletableFuture<Path>> trials = new EnumMap<>(CompressionLevel.class);
+        for (CompressionLevel level : trialLevels) {
+            Path trialFile = output.resolveSibling(output.getFileName() + "."
+                    + level.name().toLowerCase(Locale.ROOT) + ".tmp");
+            trials.put(level, compressAt(asset, level, trialFile).thenApply(written -> trialFile));
+        }
+        CompletableFuture<Void> allTrials = CompletableFuture.allOf(trials.values().toArray(new CompletableFuture<?>[0]));
+
+        List<CompletableFuture<?>> cleanups = new ArrayList<>();
+        // Late trials still need the input, so it is only deleted once every trial is done
+        cleanups.add(allTrials.whenComplete((done, error) -> bulkJobs.deleteQuietly(asset)));
+
+        CompressionLevel kept = null;
+        boolean inTime = false;
+        try {
+            long remainingNanos = start + deadline.toNanos() - System.nanoTime();
+            try {
+                allTrials.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // The outputs finished in time are compared below; failed trials are logged with the other outputs
+            }
+            kept = smallestFinished(trials);
+            inTime = kept != null;
+            if (!inTime) {
+                LOGGER.warn("No trial of {} finished within {}, keeping the first one to finish", output, deadline);
+                kept = firstSuccessful(trials).join();
+            }
+            Files.move(trials.get(kept).join(), output, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            // Nothing is kept, so every trial output is cleaned up below
+            kept = null;
+            throw e;
+        } finally {
+            for (Map.Entry<CompressionLevel, CompletableFuture<Path>> entry : trials.entrySet()) {
+                if (entry.getKey() != kept) {
+                    CompressionLevel level = entry.getKey();
+                    cleanups.add(entry.getValue().whenComplete((trialFile, error) -> {
+                        if (error != null) {
+                            LOGGER.warn("Trial of {} at level {} failed", output, level, error);
+                        } else {
+                            deleteQuietly(trialFile);
+                        }
+                    }));
+                }
+            }
+            trackLateTrials(CompletableFuture.allOf(cleanups.toArray(new CompletableFuture<?>[0])));
+        }
+        if (inTime && learnedLevels != null) {
+            learnedLevels.recordTrial(documentClass, kept);
+        }
+        return new CompressionOutcome(traits, documentClass, kept, CompressionOutcome.Source.TRIAL, trials.size(),
+                Files.size(output), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Waits for the trial jobs still running after their document was compressed, and for the cleanup of their
+     * outputs and input. Call it before closing the {@link AsyncPDFServices} the compressor runs jobs with.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitLateTrials() throws InterruptedException {
+        for (CompletableFuture<Void> lateTrials : new ArrayList<>(this.lateTrials)) {
+            try {
+                lateTrials.get();
+            } catch (ExecutionException e) {
+                // Failed trials are logged as they complete
+            }
+        }
+    }
+
+    private void trackLateTrials(CompletableFuture<Void> cleanup) {
+        if (!cleanup.isDone()) {
+            lateTrials.add(cleanup);
+            cleanup.whenComplete((done, error) -> lateTrials.remove(cleanup));
+        }
+    }
+
+    private CompletableFuture<Void> compressAt(Asset asset, CompressionLevel level, Path outputFile) {
+        CompressPDFJob compressPDFJob = new CompressPDFJob(asset).setParams(paramsByLevel.get(level));
+        return asyncPDFServices.executeAsync(compressPDFJob, CompressPDFResult.class)
+                .thenCompose(response -> bulkJobs.download(response.getResult().getAsset(), outputFile));
+    }
+
+    // The level with the smallest output among the trials already finished, or null if none is
+    private static CompressionLevel smallestFinished(Map<CompressionLevel, CompletableFuture<Path>> trials)
+            throws IOException {
+        CompressionLevel smallest = null;
+        long smallestSize = 0;
+        for (Map.Entry<CompressionLevel, CompletableFuture<Path>> entry : trials.entrySet()) {
+            CompletableFuture<Path> trial = entry.getValue();
+            if (!trial.isDone() || trial.isCompletedExceptionally()) {
+                continue;
+            }
+            long size = Files.size(trial.join());
+            // Levels are declared from HIGH to LOW, so a later level of the same size is a lower one
+            if (smallest == null || size <= smallestSize) {
+                smallest = entry.getKey();
+                smallestSize = size;
+            }
+        }
+        return smallest;
+    }
+
+    // Completes with the level of the first trial to succeed, or fails once every trial failed
+    private static CompletableFuture<CompressionLevel> firstSuccessful(
+            Map<CompressionLevel, CompletableFuture<Path>> trials) {
+        CompletableFuture<CompressionLevel> first = new CompletableFuture<>();
+        AtomicInteger failedCount = new AtomicInteger();
+        trials.forEach((level, trial) -> trial.whenComplete((trialFile, error) -> {
+            if (error == null) {
+                first.complete(level);
+            } else if (failedCount.incrementAndGet() == trials.size()) {
+                first.completeExceptionally(error);
+            }
+        }));
+        return first;
+    }
+
+    private static CompressionLevel levelFromTraits(PDFTraits traits) {
+        if (isScan(traits)) {
+            return CompressionLevel.HIGH;
+        }
+        if (traits.getImageRatio() >= 0.3) {
+            return traits.getFileSize() >= MEDIUM_DOCUMENT_SIZE ? CompressionLevel.HIGH : CompressionLevel.MEDIUM;
+        }
+        return CompressionLevel.LOW;
+    }
+
+    // Black and white scans, or documents that are mostly one image per page
+    private static boolean isScan(PDFTraits traits) {
+        return traits.getScanImageCount() > 0 || (traits.getImageRatio() >= 0.8
+                && (traits.getPageCount() == 0 || traits.getImageCount() <= traits.getPageCount()));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete trial output {}", file, e);
+        }
+    }
+
+    /**
+     * Builds an {@link AdaptiveCompressor} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private Duration deadline;
+        private List<CompressionLevel> trialLevels = Arrays.asList(CompressionLevel.values());
+        private LearnedCompressionLevels learnedLevels;
+        private Function<PDFTraits, String> classifier = AdaptiveCompressor::classify;
+
+        private Builder(AsyncPDFServices asyncPDFServices) {
+            if (asyncPDFServices == null) {
+                throw new IllegalArgumentException("AsyncPDFServices can not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+        }
+
+        /**
+         * Sets the time a document has to be compressed in when its level is trialled, from the start of
+         * {@link #compress(Path, Path)}. By default, there are no trials and the level comes from the traits of the
+         * document.
+         *
+         * @param deadline the deadline of a trial; must be positive
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withDeadline(Duration deadline) {
+            if (deadline == null || deadline.isNegative() || deadline.isZero()) {
+                throw new IllegalArgumentException("Deadline must be positive");
+            }
+            this.deadline = deadline;
+            return this;
+        }
+
+        /**
+         * Sets the levels run by a trial. By default, every level is run.
+         *
+         * @param trialLevels the levels, at least one
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withTrialLevels(CompressionLevel... trialLevels) {
+            if (trialLevels.length == 0) {
+                throw new IllegalArgumentException("At least one trial level is needed");
+            }
+            this.trialLevels = Collections.unmodifiableList(Arrays.asList(trialLevels.clone()));
+            return this;
+        }
+
+        /**
+         * Sets where the levels kept by trials are recorded, and learned levels are looked up. By default, nothing is
+         * learned and every document with a deadline is trialled.
+         *
+         * @param learnedLevels the learned levels, such as {@link LearnedCompressionLevels#getDefault()}
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withLearnedLevels(LearnedCompressionLevels learnedLevels) {
+            this.learnedLevels = learnedLevels;
+            return this;
+        }
+
+        /**
+         * Sets how documents are classified. Documents of a class are expected to compress best at the same level.
+         * Default value is {@link AdaptiveCompressor#classify(PDFTraits)}.
+         *
+         * @param classifier returns the class of a document from its traits
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withClassifier(Function<PDFTraits, String> classifier) {
+            this.classifier = classifier;
+            return this;
+        }
+
+        /**
+         * Returns a new AdaptiveCompressor instance built from the current state of this builder.
+         *
+         * @return a new AdaptiveCompressor instance
+         */
+        public AdaptiveCompressor build() {
+            return new AdaptiveCompressor(this);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The work started on an item by an asynchronous stage of a {@link BatchPipeline}. The item moves on to the next
+ * stage once the returned future completes, without a worker waiting on it.
+ *
+ * @param <T> type of the items flowing through the pipeline
+ */
+@FunctionalInterface
+public interface AsyncStageTask<T> {
+
+    /**
+     * Starts processing an item, typically by handing it to a component that reports completion through a future,
+     * and recording its outcome on the item for the next stage when the future completes.
+     *
+     * @param item the item to process
+     * @return a future completed once the item is processed, or completed exceptionally if it can not be
+     * @throws Exception if the work can not be started; the item then leaves the pipeline as failed
+     */
+    CompletableFuture<?> start(T item) throws Exception;
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Runs items through a fixed sequence of stages, each with its own bounded queue and number of workers.
+ * <p>
+ * A batch job made of blocking calls (upload, submit, poll, download) is usually run one item at a time per thread,
+ * so a thread waiting on a slow download holds back the uploads it could be making. Here, each stage has its own
+ * workers, so the stages run at the same time on different items, and each can be given the concurrency its calls
+ * need. Queues between stages are bounded: when a stage falls behind, the stages before it block on its queue
+ * instead of piling up work in memory, and {@link #submit(Object)} blocks once the first queue is full.
+ * <p>
+ * A stage that waits on something that reports completion itself, such as a job poller, can be added as an
+ * asynchronous stage instead: it starts the work on up to a given number of items and moves each item on when its
+ * future completes, so the number of items in flight is not tied to a number of threads.
+ * <p>
+ * Items that fail in a stage leave the pipeline and are passed to the failure handler; the other items carry on.
+ * Call {@link #awaitCompletion()} after the last submission, and {@link #close()} to stop the workers.
+ *
+ * @param <T> type of the items flowing through the pipeline
+ */
+public final class BatchPipeline<T> implements AutoCloseable {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchPipeline.class);
+
+    private final List<Stage> stages = new ArrayList<>();
+    private final Consumer<T> completionHandler;
+    private final BiConsumer<T, Throwable> failureHandler;
+
+    private final Object lock = new Object();
+    private long submittedCount;
+    private long finishedCount;
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile boolean closed;
+
+    private BatchPipeline(Builder<T> builder) {
+        this.completionHandler = builder.completionHandler;
+        this.failureHandler = builder.failureHandler;
+        for (StageDefinition<T> definition : builder.stages) {
+            stages.add(new Stage(definition, stages.size()));
+        }
+        for (Stage stage : stages) {
+            stage.start();
+        }
+    }
+
+    /**
+     * Creates a new BatchPipeline builder.
+     *
+     * @param <T> type of the items flowing through the pipeline
+     * @return a BatchPipeline.Builder instance
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Adds an item to the queue of the first stage, waiting while the queue is full.
+     *
+     * @param item the item to process
+     * @throws InterruptedException if interrupted while waiting for room in the queue
+     */
+    public void submit(T item) throws InterruptedException {
+        synchronized (lock) {
+            submittedCount++;
+        }
+        stages.get(0).queue.put(item);
+    }
+
+    /**
+     * Waits until every submitted item has completed or failed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitCompletion() throws InterruptedException {
+        synchronized (lock) {
+            while (finishedCount < submittedCount) {
+                lock.wait();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of items that went through every stage.
+     *
+     * @return the number of completed items
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Returns the number of items that failed in any stage.
+     *
+     * @return the number of failed items
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Returns a snapshot of the counters of each stage, in pipeline order.
+     *
+     * @return the stage statistics
+     */
+    public List<StageStatistics> getStageStatistics() {
+        List<StageStatistics> statistics = new ArrayList<>(stages.size());
+        for (Stage stage : stages) {
+            statistics.add(new StageStatistics(stage.name, stage.queue.size(), stage.activeCount.get(),
+                    stage.processedCount.get(), stage.failedCount.get()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Stops the workers of every stage. Items still queued are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Stage stage : stages) {
+            for (Thread worker : stage.workers) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    private void finished(T item, Throwable error) {
+        try {
+            if (error == null) {
+                completedCount.incrementAndGet();
+                completionHandler.accept(item);
+            } else {
+                failedCount.incrementAndGet();
+                failureHandler.accept(item, error);
+            }
+        } catch (RuntimeException e) {
+            // A handler that throws must not stop the worker it runs on
+            LOGGER.warn("Exception encountered in the handler of item {}", item, e);
+        } finally {
+            synchronized (lock) {
+                finishedCount++;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Futures wrap the exception of the call that failed; report that one instead
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private final class Stage {
+
+        private final String name;
+        private final int index;
+        private final StageTask<T> task;
+        private final AsyncStageTask<T> asyncTask;
+        private final BlockingQueue<T> queue;
+        private final List<Thread> workers = new ArrayList<>();
+        // Asynchronous stages only: free slots for items in flight, and items whose future has completed
+        private final Semaphore permits;
+        private final BlockingQueue<Outcome<T>> outcomes = new LinkedBlockingQueue<>();
+        private final AtomicInteger activeCount = new AtomicInteger();
+        private final AtomicLong processedCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+
+        private Stage(StageDefinition<T> definition, int index) {
+            this.name = definition.name;
+            this.index = index;
+            this.task = definition.task;
+            this.asyncTask = definition.asyncTask;
+            this.queue = new ArrayBlockingQueue<>(definition.queueCapacity);
+            if (asyncTask != null) {
+                this.permits = new Semaphore(definition.concurrency);
+                addWorker(this::dispatch, "pipeline-" + name + "-dispatch");
+                addWorker(this::forward, "pipeline-" + name + "-forward");
+            } else {
+                this.permits = null;
+                for (int i = 0; i < definition.concurrency; i++) {
+                    addWorker(this::work, "pipeline-" + name + "-" + (i + 1));
+                }
+            }
+        }
+
+        private void addWorker(Runnable work, String threadName) {
+            Thread worker = new Thread(work, threadName);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+
+        private void start() {
+            for (Thread worker : workers) {
+                worker.start();
+            }
+        }
+
+        private void work() {
+            try {
+                while (!closed) {
+                    T item = queue.take();
+                    activeCount.incrementAndGet();
+                    Throwable error = null;
+                    try {
+                        task.process(item);
+                    } catch (Throwable e) {
+                        error = e;
+                    } finally {
+                        activeCount.decrementAndGet();
+                    }
+                    // Whatever the task threw, including an Error, fails this item only
+                    advance(item, error != null ? unwrap(error) : null);
+                }
+            } catch (InterruptedException e) {
+                // Closed: let the worker end
+            }
+        }
+
+        // Starts the work on queued items while fewer than the stage concurrency are in flight
+        private void dispatch() {
+            try {
+                while (!closed) {
+                    permits.acquire();
+                    T item = queue.take();
+                    activeCount.incrementAndGet();
+                    try {
+                        asyncTask.start(item).whenComplete((result, error) -> outcomes.add(new Outcome<>(item, error)));
+                    } catch (Throwable e) {
+                        outcomes.add(new Outcome<>(item, e));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Closed: let the worker end
+            }
+        }
+
+        // Moves items on from this thread, so the threads completing their futures never block on the next queue
+        private void forward() {
+            try {
+                while (!closed) {
+                    Outcome<T> outcome = outcomes.take();
+                    activeCount.decrementAndGet();
+                    try {
+                        advance(outcome.item, outcome.error != null ? unwrap(outcome.error) : null);
+                    } finally {
+                        // The slot is freed only once the item has left, so a slow next stage holds this one back
+                        permits.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Closed: let the worker end
+            }
+        }
+
+        // Moves an item to the next stage or out of the pipeline. Every item taken from a queue goes through here, and
+        // an item that can not be moved on leaves as failed, so that awaitCompletion() always returns
+        private void advance(T item, Throwable error) throws InterruptedException {
+            if (error != null) {
+                failedCount.incrementAndGet();
+                finished(item, error);
+            } else if (index + 1 < stages.size()) {
+                try {
+                    // Blocks while the next stage is behind, which slows this stage down to its pace
+                    stages.get(index + 1).queue.put(item);
+                } catch (InterruptedException e) {
+                    failedCount.incrementAndGet();
+                    finished(item, e);
+                    throw e;
+                }
+                processedCount.incrementAndGet();
+            } else {
+                processedCount.incrementAndGet();
+                finished(item, null);
+            }
+        }
+    }
+
+    private static final class Outcome<T> {
+
+        private final T item;
+        private final Throwable error;
+
+        private Outcome(T item, Throwable error) {
+            this.item = item;
+            this.error = error;
+        }
+    }
+
+    private static final class StageDefinition<T> {
+
+        private final String name;
+        private final int concurrency;
+        private final int queueCapacity;
+        private final StageTask<T> task;
+        private final AsyncStageTask<T> asyncTask;
+
+        private StageDefinition(String name, int concurrency, int queueCapacity, StageTask<T> task,
+                                AsyncStageTask<T> asyncTask) {
+            this.name = name;
+            this.concurrency = concurrency;
+            this.queueCapacity = queueCapacity;
+            this.task = task;
+            this.asyncTask = asyncTask;
+        }
+    }
+
+    /**
+     * Builds a {@link BatchPipeline} instance.
+     *
+     * @param <T> type of the items flowing through the pipeline
+     */
+    public static class Builder<T> {
+
+        private final List<StageDefinition<T>> stages = new ArrayList<>();
+        private Consumer<T> completionHandler = item -> {
+        };
+        private BiConsumer<T, Throwable> failureHandler = (item, error) -> {
+        };
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a stage after the stages already added.
+         *
+         * @param name          name of the stage, used in statistics and thread names
+         * @param concurrency   number of items the stage processes at the same time
+         * @param queueCapacity number of items that can wait for the stage
+         * @param task          the work done on each item
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder<T> addStage(String name, int concurrency, int queueCapacity, StageTask<T> task) {
+            if (concurrency < 1 || queueCapacity < 1) {
+                throw new IllegalArgumentException("Concurrency and queue capacity must be at least 1");
+            }
+            stages.add(new StageDefinition<>(name, concurrency, queueCapacity, task, null));
+            return this;
+        }
+
+        /**
+         * Adds an asynchronous stage after the stages already added. The stage starts the work on an item and moves
+         * the item on once the returned future completes, with no worker waiting for it.
+         *
+         * @param name          name of the stage, used in statistics and thread names
+         * @param maxInFlight   number of items whose future may be pending at the same time
+         * @param queueCapacity number of items that can wait for the stage
+         * @param task          the work started on each item
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder<T> addAsyncStage(String name, int maxInFlight, int queueCapacity, AsyncStageTask<T> task) {
+            if (maxInFlight < 1 || queueCapacity < 1) {
+                throw new IllegalArgumentException("Items in flight and queue capacity must be at least 1");
+            }
+            stages.add(new StageDefinition<>(name, maxInFlight, queueCapacity, null, task));
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each item that went through every stage. It runs on a worker of the last
+         * stage.
+         *
+         * @param completionHandler the completion handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder<T> withCompletionHandler(Consumer<T> completionHandler) {
+            this.completionHandler = completionHandler;
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each item that failed, and the exception it failed with. It runs on a worker
+         * of the stage the item failed in.
+         *
+         * @param failureHandler the failure handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder<T> withFailureHandler(BiConsumer<T, Throwable> failureHandler) {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        /**
+         * Returns a new BatchPipeline instance with its workers started.
+         *
+         * @return a new BatchPipeline instance
+         */
+        public BatchPipeline<T> build() {
+            if (stages.isEmpty()) {
+                throw new IllegalStateException("A pipeline needs at least one stage");
+            }
+            return new BatchPipeline<>(this);
+        }
+    }
+}
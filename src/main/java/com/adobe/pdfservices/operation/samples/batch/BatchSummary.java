@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a bulk operation: how many items completed or failed, how long the batch took, and the latency of each
+ * item from the start of its job to its output being written. Bulk operations that upload an input shared by every
+ * item once, such as a template, also report the upload bytes this saved.
+ */
+public final class BatchSummary {
+
+    private final long completedCount;
+    private final long failedCount;
+    private final Duration elapsed;
+    private final LatencyHistogram latencies;
+    private final long uploadBytesSaved;
+
+    BatchSummary(long completedCount, long failedCount, Duration elapsed, LatencyHistogram latencies) {
+        this(completedCount, failedCount, elapsed, latencies, 0);
+    }
+
+    private BatchSummary(long completedCount, long failedCount, Duration elapsed, LatencyHistogram latencies,
+                         long uploadBytesSaved) {
+        this.completedCount = completedCount;
+        this.failedCount = failedCount;
+        this.elapsed = elapsed;
+        this.latencies = latencies;
+        this.uploadBytesSaved = uploadBytesSaved;
+    }
+
+    /**
+     * Returns this summary, with the upload bytes saved by uploading a shared input once instead of once per item.
+     * Only completed items count, since a failed item may not have got as far as its upload.
+     *
+     * @param sharedContentLength size of the shared input, in bytes
+     * @return a new BatchSummary instance
+     */
+    BatchSummary withSharedUpload(long sharedContentLength) {
+        return new BatchSummary(completedCount, failedCount, elapsed, latencies,
+                completedCount > 1 ? sharedContentLength * (completedCount - 1) : 0);
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Returns the latencies of the completed items.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns the number of bytes not uploaded because an input shared by every item was uploaded once, instead of
+     * once per completed item as a job per item would.
+     *
+     * @return the upload bytes saved, or 0 if no input is shared
+     */
+    public long getUploadBytesSaved() {
+        return uploadBytesSaved;
+    }
+
+    /**
+     * Returns the number of items completed per second over the whole batch.
+     *
+     * @return the throughput, in items per second
+     */
+    public double getThroughput() {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds > 0 ? completedCount / seconds : 0;
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%d completed, %d failed in %.1fs (%.2f/s), latency %s", completedCount,
+                failedCount, elapsed.toNanos() / 1e9, getThroughput(), latencies);
+        return uploadBytesSaved > 0 ? summary + ", " + uploadBytesSaved + " upload bytes saved" : summary;
+    }
+}
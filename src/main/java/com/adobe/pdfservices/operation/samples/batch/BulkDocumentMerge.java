@@ -0,0 +1,244 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.DocumentMergeJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.DocumentMergeParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.OutputFormat;
+import com.adobe.pdfservices.operation.pdfjobs.result.DocumentMergeResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.io.FragmentLibrary;
+import com.adobe.pdfservices.operation.samples.io.ImageEmbedder;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
+/**
+ * Merges one document template with many records, one Document Merge job per record.
+ * <p>
+ * The template is uploaded once and its {@link Asset} is used by every job, instead of being uploaded again for each
+ * record. Records are read from an {@link Iterator} only when a job can be started: at most
+ * {@link Builder#withMaxConcurrentJobs(int) maxConcurrentJobs} jobs run at a time, and the caller's thread waits for
+ * one of them to finish before taking the next record. The records held in memory are thus bounded by the number of
+ * running jobs, however many records the iterator returns.
+ * <p>
+ * If an {@link ImageEmbedder} is set, images are embedded in the data of each record when its job is started, so the
+ * data URIs of images shared by the records are encoded once and are only referenced by the data of running jobs.
+ * Likewise, the fragments of a {@link FragmentLibrary} are parsed once and shared by the jobs of every record.
+ * <p>
+ * The output of each record is written to the output directory, named after the key of the record, and its result
+ * asset is deleted once downloaded. A record whose key was already used in the batch fails instead of overwriting the
+ * first output. A record whose job fails is retried on its own; if it still fails, it is passed to
+ * the failure handler and the other records carry on. {@link #merge(Asset, Iterator)} returns a {@link BatchSummary}
+ * with the throughput and the latency of the records, from the submission of their job to their output being written.
+ */
+public final class BulkDocumentMerge {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkDocumentMerge.class);
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final Path outputDirectory;
+    private final OutputFormat outputFormat;
+    private final BulkJobs bulkJobs;
+    private final ImageEmbedder imageEmbedder;
+    private final FragmentLibrary fragmentLibrary;
+    private final BiConsumer<MergeRecord, Throwable> failureHandler;
+
+    private BulkDocumentMerge(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.outputDirectory = builder.outputDirectory;
+        this.outputFormat = builder.outputFormat;
+        this.bulkJobs = new BulkJobs(builder.asyncPDFServices, builder.maxConcurrentJobs, builder.maxAttempts);
+        this.imageEmbedder = builder.imageEmbedder;
+        this.fragmentLibrary = builder.fragmentLibrary;
+        this.failureHandler = builder.failureHandler;
+    }
+
+    /**
+     * Creates a new BulkDocumentMerge builder.
+     *
+     * @param asyncPDFServices services the jobs are run with; can not be null.
+     * @param outputDirectory  directory the output files are written to; created if missing
+     * @return a BulkDocumentMerge.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices, Path outputDirectory) {
+        return new Builder(asyncPDFServices, outputDirectory);
+    }
+
+    /**
+     * Uploads a template, merges it with every record, and deletes it once done.
+     *
+     * @param template the document template
+     * @param records  the records to merge, read as jobs can be started
+     * @return the summary of the batch
+     * @throws IOException          if the output directory can not be created
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary merge(UploadSource template, Iterator<MergeRecord> records)
+            throws IOException, InterruptedException {
+        Asset templateAsset = asyncPDFServices.uploadAsync(template).join();
+        try {
+            return merge(templateAsset, records).withSharedUpload(template.getContentLength());
+        } finally {
+            bulkJobs.deleteQuietly(templateAsset);
+        }
+    }
+
+    /**
+     * Merges an uploaded template with every record.
+     *
+     * @param template the uploaded document template
+     * @param records  the records to merge, read as jobs can be started
+     * @return the summary of the batch
+     * @throws IOException          if the output directory can not be created
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary merge(Asset template, Iterator<MergeRecord> records) throws IOException, InterruptedException {
+        Files.createDirectories(outputDirectory);
+        return bulkJobs.runAll(records, record -> {
+            if (imageEmbedder != null) {
+                imageEmbedder.embed(record.getData());
+            }
+            DocumentMergeParams documentMergeParams = documentMergeParamsOf(record);
+            return bulkJobs.writingOutput(outputDirectory.resolve(record.getKey() + "." + outputFormat.getFormat()),
+                    outputFile -> bulkJobs.withRetries(record, () -> asyncPDFServices.executeAsync(
+                                    new DocumentMergeJob(template, documentMergeParams), DocumentMergeResult.class)
+                            .thenCompose(response -> bulkJobs.download(response.getResult().getAsset(), outputFile))));
+        }, failureHandler);
+    }
+
+    private DocumentMergeParams documentMergeParamsOf(MergeRecord record) {
+        DocumentMergeParams.Builder documentMergeParamsBuilder = DocumentMergeParams.documentMergeParamsBuilder()
+                .withJsonDataForMerge(record.getData())
+                .withOutputFormat(outputFormat);
+        if (fragmentLibrary != null) {
+            documentMergeParamsBuilder.withFragments(fragmentLibrary.getFragments());
+        }
+        return documentMergeParamsBuilder.build();
+    }
+
+    /**
+     * Builds a {@link BulkDocumentMerge} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private final Path outputDirectory;
+        private OutputFormat outputFormat = OutputFormat.PDF;
+        private int maxConcurrentJobs = 10;
+        private int maxAttempts = 2;
+        private ImageEmbedder imageEmbedder;
+        private FragmentLibrary fragmentLibrary;
+        private BiConsumer<MergeRecord, Throwable> failureHandler = (record, error) ->
+                LOGGER.error("Exception encountered while merging record {}", record, error);
+
+        private Builder(AsyncPDFServices asyncPDFServices, Path outputDirectory) {
+            if (asyncPDFServices == null || outputDirectory == null) {
+                throw new IllegalArgumentException("AsyncPDFServices and output directory can not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+            this.outputDirectory = outputDirectory;
+        }
+
+        /**
+         * Sets the format of the output files. Default value is {@link OutputFormat#PDF}.
+         *
+         * @param outputFormat the output format
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withOutputFormat(OutputFormat outputFormat) {
+            this.outputFormat = outputFormat;
+            return this;
+        }
+
+        /**
+         * Sets the number of jobs running at the same time. Default value is 10.
+         *
+         * @param maxConcurrentJobs number of concurrent jobs, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxConcurrentJobs(int maxConcurrentJobs) {
+            if (maxConcurrentJobs < 1) {
+                throw new IllegalArgumentException("Max concurrent jobs must be at least 1");
+            }
+            this.maxConcurrentJobs = maxConcurrentJobs;
+            return this;
+        }
+
+        /**
+         * Sets how many times the job of a record is run before giving up. Default value is 2.
+         *
+         * @param maxAttempts number of attempts per record, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the embedder that puts images in the data of each record before its job is started. By default, the
+         * data is sent as it is.
+         *
+         * @param imageEmbedder the image embedder
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withImageEmbedder(ImageEmbedder imageEmbedder) {
+            this.imageEmbedder = imageEmbedder;
+            return this;
+        }
+
+        /**
+         * Sets the fragments used by the template, shared by the jobs of every record. By default, no fragments are
+         * sent.
+         *
+         * @param fragmentLibrary the fragment library
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withFragmentLibrary(FragmentLibrary fragmentLibrary) {
+            this.fragmentLibrary = fragmentLibrary;
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each record that failed, and the exception it failed with. By default, the
+         * failure is logged.
+         *
+         * @param failureHandler the failure handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withFailureHandler(BiConsumer<MergeRecord, Throwable> failureHandler) {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        /**
+         * Returns a new BulkDocumentMerge instance built from the current state of this builder.
+         *
+         * @return a new BulkDocumentMerge instance
+         */
+        public BulkDocumentMerge build() {
+            return new BulkDocumentMerge(this);
+        }
+    }
+}
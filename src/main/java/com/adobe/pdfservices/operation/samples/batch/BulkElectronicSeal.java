@@ -0,0 +1,231 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.PDFElectronicSealJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.electronicseal.PDFElectronicSealParams;
+import com.adobe.pdfservices.operation.pdfjobs.result.PDFElectronicSealResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Applies the same electronic seal to many PDF documents, one Electronic Seal job per document.
+ * <p>
+ * Everything that does not depend on the document is set up once for the whole batch: the seal image is uploaded
+ * once and its {@link Asset} is used by every job, and every job shares one {@link PDFElectronicSealParams}, with its
+ * {@code CertificateCredentials} and {@code FieldOptions}. Each document is uploaded, sealed, downloaded to the output
+ * directory under its own file name, and its assets are deleted. A document whose file name was already used in the
+ * batch, such as a second {@code invoice.pdf} from another directory, fails instead of overwriting the first output.
+ * <p>
+ * At most {@link Builder#withMaxConcurrentJobs(int) maxConcurrentJobs} documents are sealed at a time, and documents
+ * are taken from the {@link Iterator} only when one can be started. Each job makes the service call the CSC provider
+ * of the credentials, so jobs can also be spaced out with {@link Builder#withMaxJobsPerSecond(double)} to stay within
+ * the quota of the provider; retries count against the same limit. A document whose job fails is retried on its own;
+ * if it still fails, it is passed to the failure handler and the other documents carry on.
+ * {@link #seal(Asset, Iterator)} returns a {@link BatchSummary} with the throughput and the latency of the documents,
+ * from their upload to their output being written.
+ */
+public final class BulkElectronicSeal {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkElectronicSeal.class);
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final PDFElectronicSealParams pdfElectronicSealParams;
+    private final Path outputDirectory;
+    private final BulkJobs bulkJobs;
+    private final RateLimiter rateLimiter;
+    private final BiConsumer<Path, Throwable> failureHandler;
+
+    private BulkElectronicSeal(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.pdfElectronicSealParams = builder.pdfElectronicSealParams;
+        this.outputDirectory = builder.outputDirectory;
+        this.bulkJobs = new BulkJobs(builder.asyncPDFServices, builder.maxConcurrentJobs, builder.maxAttempts);
+        this.rateLimiter = builder.maxJobsPerSecond > 0 ? RateLimiter.create(builder.maxJobsPerSecond) : null;
+        this.failureHandler = builder.failureHandler;
+    }
+
+    /**
+     * Creates a new BulkElectronicSeal builder.
+     *
+     * @param asyncPDFServices        services the jobs are run with; can not be null.
+     * @param pdfElectronicSealParams sealing parameters shared by every job; can not be null.
+     * @param outputDirectory         directory the sealed documents are written to; created if missing
+     * @return a BulkElectronicSeal.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices, PDFElectronicSealParams pdfElectronicSealParams,
+                                  Path outputDirectory) {
+        return new Builder(asyncPDFServices, pdfElectronicSealParams, outputDirectory);
+    }
+
+    /**
+     * Uploads a seal image, seals every document with it, and deletes it once done.
+     *
+     * @param sealImage the seal image
+     * @param documents the PDF files to seal, read as jobs can be started
+     * @return the summary of the batch
+     * @throws IOException          if the output directory can not be created
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary seal(UploadSource sealImage, Iterator<Path> documents)
+            throws IOException, InterruptedException {
+        Asset sealImageAsset = asyncPDFServices.uploadAsync(sealImage).join();
+        try {
+            return seal(sealImageAsset, documents).withSharedUpload(sealImage.getContentLength());
+        } finally {
+            bulkJobs.deleteQuietly(sealImageAsset);
+        }
+    }
+
+    /**
+     * Seals every document with an uploaded seal image.
+     *
+     * @param sealImage the uploaded seal image, or null to seal without an image
+     * @param documents the PDF files to seal, read as jobs can be started
+     * @return the summary of the batch
+     * @throws IOException          if the output directory can not be created
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary seal(Asset sealImage, Iterator<Path> documents) throws IOException, InterruptedException {
+        Files.createDirectories(outputDirectory);
+        return bulkJobs.runAll(documents, document -> bulkJobs.writingOutput(outputDirectory.resolve(document.getFileName()),
+                outputFile -> asyncPDFServices.uploadAsync(UploadSource.ofFile(document,
+                                PDFServicesMediaType.PDF.getMediaType()))
+                        .thenCompose(asset -> bulkJobs.withRetries(document, () -> sealDocument(asset, sealImage, outputFile))
+                                .whenComplete((written, error) -> bulkJobs.deleteQuietly(asset)))), failureHandler);
+    }
+
+    private CompletableFuture<Void> sealDocument(Asset asset, Asset sealImage, Path outputFile) {
+        return whenPermitted()
+                .thenCompose(permitted -> {
+                    PDFElectronicSealJob pdfElectronicSealJob = new PDFElectronicSealJob(asset, pdfElectronicSealParams);
+                    if (sealImage != null) {
+                        pdfElectronicSealJob.setSealImageAsset(sealImage);
+                    }
+                    return asyncPDFServices.executeAsync(pdfElectronicSealJob, PDFElectronicSealResult.class);
+                })
+                .thenCompose(response -> bulkJobs.download(response.getResult().getAsset(), outputFile));
+    }
+
+    // Completes when the rate limit lets the next job start, without holding a thread while it waits
+    private CompletableFuture<Void> whenPermitted() {
+        long waitNanos = rateLimiter != null ? rateLimiter.reserve() : 0;
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Builds a {@link BulkElectronicSeal} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private final PDFElectronicSealParams pdfElectronicSealParams;
+        private final Path outputDirectory;
+        private int maxConcurrentJobs = 10;
+        private double maxJobsPerSecond;
+        private int maxAttempts = 2;
+        private BiConsumer<Path, Throwable> failureHandler = (document, error) ->
+                LOGGER.error("Exception encountered while sealing {}", document, error);
+
+        private Builder(AsyncPDFServices asyncPDFServices, PDFElectronicSealParams pdfElectronicSealParams,
+                        Path outputDirectory) {
+            if (asyncPDFServices == null || pdfElectronicSealParams == null || outputDirectory == null) {
+                throw new IllegalArgumentException("AsyncPDFServices, sealing parameters and output directory can "
+                        + "not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+            this.pdfElectronicSealParams = pdfElectronicSealParams;
+            this.outputDirectory = outputDirectory;
+        }
+
+        /**
+         * Sets the number of documents sealed at the same time. Default value is 10.
+         *
+         * @param maxConcurrentJobs number of concurrent jobs, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxConcurrentJobs(int maxConcurrentJobs) {
+            if (maxConcurrentJobs < 1) {
+                throw new IllegalArgumentException("Max concurrent jobs must be at least 1");
+            }
+            this.maxConcurrentJobs = maxConcurrentJobs;
+            return this;
+        }
+
+        /**
+         * Sets the number of sealing jobs started per second, retries included, for example to stay within the quota
+         * of the CSC provider. By default, jobs are only limited by {@link #withMaxConcurrentJobs(int)}.
+         *
+         * @param maxJobsPerSecond number of jobs started per second; must be positive
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxJobsPerSecond(double maxJobsPerSecond) {
+            if (!(maxJobsPerSecond > 0)) {
+                throw new IllegalArgumentException("Max jobs per second must be positive");
+            }
+            this.maxJobsPerSecond = maxJobsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets how many times the job of a document is run before giving up. Default value is 2.
+         *
+         * @param maxAttempts number of attempts per document, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each document that failed, and the exception it failed with. By default, the
+         * failure is logged.
+         *
+         * @param failureHandler the failure handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withFailureHandler(BiConsumer<Path, Throwable> failureHandler) {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        /**
+         * Returns a new BulkElectronicSeal instance built from the current state of this builder.
+         *
+         * @return a new BulkElectronicSeal instance
+         */
+        public BulkElectronicSeal build() {
+            return new BulkElectronicSeal(this);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.ExportPDFFormDataJob;
+import com.adobe.pdfservices.operation.pdfjobs.result.ExportPDFFormDataResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.io.CsvRecordWriter;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Exports the form field values of many filled PDF forms into a single table, one Export PDF Form Data job per form
+ * and one CSV row per form.
+ * <p>
+ * The forms are expected to come from the same template, so the columns are found once: from
+ * {@link Builder#withColumns(List)}, or else from the fields of the first form exported. Every row starts with the file
+ * name of its form, followed by the field values in column order; fields missing from a form are left empty, and
+ * fields that are not columns are logged once per name and left out. Fields in nested objects become dotted columns,
+ * such as {@code address.city}, and arrays are written as JSON.
+ * <p>
+ * The JSON result of each job is parsed one field at a time from the downloaded stream and appended to the
+ * {@link CsvRecordWriter}; no file is written per form, and the assets of each form are deleted once it is exported.
+ * At most {@link Builder#withMaxConcurrentJobs(int) maxConcurrentJobs} jobs run at a time, a form whose job fails is
+ * retried on its own, and if it still fails, it is passed to the failure handler and the other forms carry on.
+ */
+public final class BulkExportPDFFormData {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkExportPDFFormData.class);
+
+    private static final String FILE_COLUMN = "file";
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final BulkJobs bulkJobs;
+    private final List<String> fixedColumns;
+    private final BiConsumer<Path, Throwable> failureHandler;
+
+    private BulkExportPDFFormData(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.bulkJobs = new BulkJobs(builder.asyncPDFServices, builder.maxConcurrentJobs, builder.maxAttempts);
+        this.fixedColumns = builder.columns;
+        this.failureHandler = builder.failureHandler;
+    }
+
+    /**
+     * Creates a new BulkExportPDFFormData builder.
+     *
+     * @param asyncPDFServices services the jobs are run with; can not be null.
+     * @return a BulkExportPDFFormData.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices) {
+        return new Builder(asyncPDFServices);
+    }
+
+    /**
+     * Exports the field values of every form as rows of a CSV table. The header row is written before the first form
+     * row, unless no form is exported.
+     *
+     * @param forms  the filled PDF forms, read as jobs can be started
+     * @param output the table the rows are appended to; not closed
+     * @return the summary of the batch
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary export(Iterator<Path> forms, CsvRecordWriter output) throws InterruptedException {
+        Table table = new Table(output, fixedColumns);
+        return bulkJobs.runAll(forms, form -> asyncPDFServices.uploadAsync(UploadSource.ofFile(form,
+                        PDFServicesMediaType.PDF.getMediaType()))
+                .thenCompose(asset -> bulkJobs.withRetries(form, () -> exportForm(asset, form, table))
+                        .whenComplete((exported, error) -> bulkJobs.deleteQuietly(asset))), failureHandler);
+    }
+
+    private CompletableFuture<Void> exportForm(Asset asset, Path form, Table table) {
+        return asyncPDFServices.executeAsync(new ExportPDFFormDataJob(asset), ExportPDFFormDataResult.class)
+                .thenCompose(response -> {
+                    Asset resultAsset = response.getResult().getAsset();
+                    return asyncPDFServices.getContentAsync(resultAsset)
+                            .thenAccept(streamAsset -> {
+                                try (InputStream inputStream = streamAsset.getInputStream()) {
+                                    table.append(form.getFileName().toString(), readFields(inputStream));
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            })
+                            .whenComplete((exported, error) -> bulkJobs.deleteQuietly(resultAsset));
+                });
+    }
+
+    /**
+     * Reads the field values of an exported form, one top-level field at a time.
+     *
+     * @param inputStream the JSON result of an Export PDF Form Data job
+     * @return the field values, by dotted field name, in the order of the fields
+     * @throws IOException if the result is not a JSON object
+     */
+    static Map<String, String> readFields(InputStream inputStream) throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        try {
+            JSONTokener tokener = new JSONTokener(reader);
+            if (tokener.nextClean() != '{') {
+                throw new IOException("Form data is not a JSON object");
+            }
+            char c = tokener.nextClean();
+            while (c != '}') {
+                tokener.back();
+                String name = tokener.nextValue().toString();
+                if (tokener.nextClean() != ':') {
+                    throw new IOException("Expected ':' after field " + name);
+                }
+                // Each value is flattened as it is read, without building an object for the whole form
+                addField(fields, name, tokener.nextValue());
+                c = tokener.nextClean();
+                if (c == ',') {
+                    c = tokener.nextClean();
+                } else if (c != '}') {
+                    throw new IOException("Expected ',' or '}' after field " + name);
+                }
+            }
+        } catch (JSONException e) {
+            throw new IOException("Form data is not valid JSON", e);
+        }
+        return fields;
+    }
+
+    private static void addField(Map<String, String> fields, String name, Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            // JSONObject does not keep the order of its keys, so nested fields are sorted
+            for (String key : new TreeSet<>(object.keySet())) {
+                addField(fields, name + "." + key, object.get(key));
+            }
+        } else if (value instanceof JSONArray) {
+            fields.put(name, value.toString());
+        } else if (value != null && value != JSONObject.NULL) {
+            fields.put(name, value.toString());
+        }
+    }
+
+    // The CSV table of one export, with its columns fixed by the first row
+    private static final class Table {
+
+        private final CsvRecordWriter output;
+        private List<String> columns;
+        // The same columns, to look fields up in constant time
+        private Set<String> columnSet;
+        private boolean headerWritten;
+        private final Set<String> unknownFields = ConcurrentHashMap.newKeySet();
+
+        private Table(CsvRecordWriter output, List<String> columns) {
+            this.output = output;
+            this.columns = columns;
+            this.columnSet = columns != null ? new HashSet<>(columns) : null;
+        }
+
+        private void append(String file, Map<String, String> fields) throws IOException {
+            List<String> rowColumns;
+            Set<String> rowColumnSet;
+            synchronized (this) {
+                if (columns == null) {
+                    columns = Collections.unmodifiableList(new ArrayList<>(fields.keySet()));
+                    columnSet = new HashSet<>(columns);
+                    LOGGER.info("Exporting {} columns: {}", columns.size(), columns);
+                }
+                rowColumns = columns;
+                rowColumnSet = columnSet;
+                if (!headerWritten) {
+                    List<String> header = new ArrayList<>(rowColumns.size() + 1);
+                    header.add(FILE_COLUMN);
+                    header.addAll(rowColumns);
+                    output.writeRow(header);
+                    headerWritten = true;
+                }
+            }
+            List<String> row = new ArrayList<>(rowColumns.size() + 1);
+            row.add(file);
+            for (String column : rowColumns) {
+                row.add(fields.get(column));
+            }
+            for (String name : fields.keySet()) {
+                if (!rowColumnSet.contains(name) && unknownFields.add(name)) {
+                    LOGGER.warn("Field {} of {} is not a column, and is left out", name, file);
+                }
+            }
+            synchronized (this) {
+                output.writeRow(row);
+            }
+        }
+    }
+
+    /**
+     * Builds a {@link BulkExportPDFFormData} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private int maxConcurrentJobs = 10;
+        private int maxAttempts = 2;
+        private List<String> columns;
+        private BiConsumer<Path, Throwable> failureHandler = (form, error) ->
+                LOGGER.error("Exception encountered while exporting the form data of {}", form, error);
+
+        private Builder(AsyncPDFServices asyncPDFServices) {
+            if (asyncPDFServices == null) {
+                throw new IllegalArgumentException("AsyncPDFServices can not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+        }
+
+        /**
+         * Sets the number of jobs running at the same time. Default value is 10.
+         *
+         * @param maxConcurrentJobs number of concurrent jobs, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxConcurrentJobs(int maxConcurrentJobs) {
+            if (maxConcurrentJobs < 1) {
+                throw new IllegalArgumentException("Max concurrent jobs must be at least 1");
+            }
+            this.maxConcurrentJobs = maxConcurrentJobs;
+            return this;
+        }
+
+        /**
+         * Sets how many times the job of a form is run before giving up. Default value is 2.
+         *
+         * @param maxAttempts number of attempts per form, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the field names exported as columns, in column order. By default, the columns are the fields of the
+         * first form exported.
+         *
+         * @param columns the field names, with dots for nested fields
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withColumns(List<String> columns) {
+            this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each form that failed, and the exception it failed with. By default, the
+         * failure is logged.
+         *
+         * @param failureHandler the failure handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withFailureHandler(BiConsumer<Path, Throwable> failureHandler) {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        /**
+         * Returns a new BulkExportPDFFormData instance built from the current state of this builder.
+         *
+         * @return a new BulkExportPDFFormData instance
+         */
+        public BulkExportPDFFormData build() {
+            return new BulkExportPDFFormData(this);
+        }
+    }
+}
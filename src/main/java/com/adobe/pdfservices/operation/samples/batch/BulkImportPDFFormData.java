@@ -0,0 +1,217 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.ImportPDFFormDataJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.importpdfformdata.ImportPDFFormDataParams;
+import com.adobe.pdfservices.operation.pdfjobs.result.ImportPDFFormDataResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Fills one PDF form with many sets of form data, one Import PDF Form Data job per record.
+ * <p>
+ * The form is uploaded once and its {@link Asset} is used by every job. Records are read from an {@link Iterator},
+ * such as the rows of a {@code CsvRecordReader}, only when a job can be started: at most
+ * {@link Builder#withMaxConcurrentJobs(int) maxConcurrentJobs} jobs run at a time, so the memory used does not grow
+ * with the number of records. The data of each record is sent as the form field values of its job, less any fields
+ * left out with {@link Builder#withoutFields(String...)}, and the filled form is written to the output directory,
+ * named after the key of the record. A record whose key was already used in the batch fails instead of overwriting
+ * the first filled form.
+ * <p>
+ * A record whose job fails is retried on its own; if it still fails, it is passed to the failure handler and the
+ * other records carry on. {@link #fill(Asset, Iterator)} returns a {@link BatchSummary} with the throughput and the
+ * latency of the records.
+ */
+public final class BulkImportPDFFormData {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkImportPDFFormData.class);
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final Path outputDirectory;
+    private final Set<String> excludedFields;
+    private final BulkJobs bulkJobs;
+    private final BiConsumer<MergeRecord, Throwable> failureHandler;
+
+    private BulkImportPDFFormData(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.outputDirectory = builder.outputDirectory;
+        this.excludedFields = Collections.unmodifiableSet(new LinkedHashSet<>(builder.excludedFields));
+        this.bulkJobs = new BulkJobs(builder.asyncPDFServices, builder.maxConcurrentJobs, builder.maxAttempts);
+        this.failureHandler = builder.failureHandler;
+    }
+
+    /**
+     * Creates a new BulkImportPDFFormData builder.
+     *
+     * @param asyncPDFServices services the jobs are run with; can not be null.
+     * @param outputDirectory  directory the filled forms are written to; created if missing
+     * @return a BulkImportPDFFormData.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices, Path outputDirectory) {
+        return new Builder(asyncPDFServices, outputDirectory);
+    }
+
+    /**
+     * Uploads a form, fills it with every record, and deletes it once done.
+     *
+     * @param form    the PDF form
+     * @param records the form data of each filled form, read as jobs can be started
+     * @return the summary of the batch
+     * @throws IOException          if the output directory can not be created
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary fill(UploadSource form, Iterator<MergeRecord> records)
+            throws IOException, InterruptedException {
+        Asset formAsset = asyncPDFServices.uploadAsync(form).join();
+        try {
+            return fill(formAsset, records).withSharedUpload(form.getContentLength());
+        } finally {
+            bulkJobs.deleteQuietly(formAsset);
+        }
+    }
+
+    /**
+     * Fills an uploaded form with every record.
+     *
+     * @param form    the uploaded PDF form
+     * @param records the form data of each filled form, read as jobs can be started
+     * @return the summary of the batch
+     * @throws IOException          if the output directory can not be created
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary fill(Asset form, Iterator<MergeRecord> records) throws IOException, InterruptedException {
+        Files.createDirectories(outputDirectory);
+        return bulkJobs.runAll(records, record -> {
+            ImportPDFFormDataParams importPDFFormDataParams = ImportPDFFormDataParams.importPdfFormDataParamsBuilder()
+                    .withJsonFormFieldsData(formDataOf(record))
+                    .build();
+            return bulkJobs.writingOutput(outputDirectory.resolve(record.getKey() + ".pdf"),
+                    outputFile -> bulkJobs.withRetries(record, () -> {
+                        ImportPDFFormDataJob importPDFFormDataJob = new ImportPDFFormDataJob(form);
+                        importPDFFormDataJob.setParams(importPDFFormDataParams);
+                        return asyncPDFServices.executeAsync(importPDFFormDataJob, ImportPDFFormDataResult.class)
+                                .thenCompose(response -> bulkJobs.download(response.getResult().getAsset(), outputFile));
+                    }));
+        }, failureHandler);
+    }
+
+    // Copies the data only when fields are left out, so the record itself is never changed
+    private JSONObject formDataOf(MergeRecord record) {
+        if (excludedFields.isEmpty()) {
+            return record.getData();
+        }
+        JSONObject formData = new JSONObject(record.getData().toMap());
+        for (String field : excludedFields) {
+            formData.remove(field);
+        }
+        return formData;
+    }
+
+    /**
+     * Builds a {@link BulkImportPDFFormData} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private final Path outputDirectory;
+        private int maxConcurrentJobs = 10;
+        private int maxAttempts = 2;
+        private final Set<String> excludedFields = new LinkedHashSet<>();
+        private BiConsumer<MergeRecord, Throwable> failureHandler = (record, error) ->
+                LOGGER.error("Exception encountered while filling the form of record {}", record, error);
+
+        private Builder(AsyncPDFServices asyncPDFServices, Path outputDirectory) {
+            if (asyncPDFServices == null || outputDirectory == null) {
+                throw new IllegalArgumentException("AsyncPDFServices and output directory can not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+            this.outputDirectory = outputDirectory;
+        }
+
+        /**
+         * Sets the number of jobs running at the same time. Default value is 10.
+         *
+         * @param maxConcurrentJobs number of concurrent jobs, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxConcurrentJobs(int maxConcurrentJobs) {
+            if (maxConcurrentJobs < 1) {
+                throw new IllegalArgumentException("Max concurrent jobs must be at least 1");
+            }
+            this.maxConcurrentJobs = maxConcurrentJobs;
+            return this;
+        }
+
+        /**
+         * Sets how many times the job of a record is run before giving up. Default value is 2.
+         *
+         * @param maxAttempts number of attempts per record, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Leaves top-level fields of the records out of the form data sent to the service, such as a key column
+         * that is not a form field. By default, every field is sent.
+         *
+         * @param fields names of the fields to leave out
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withoutFields(String... fields) {
+            excludedFields.addAll(Arrays.asList(fields));
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each record that failed, and the exception it failed with. By default, the
+         * failure is logged.
+         *
+         * @param failureHandler the failure handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withFailureHandler(BiConsumer<MergeRecord, Throwable> failureHandler) {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        /**
+         * Returns a new BulkImportPDFFormData instance built from the current state of this builder.
+         *
+         * @return a new BulkImportPDFFormData instance
+         */
+        public BulkImportPDFFormData build() {
+            return new BulkImportPDFFormData(this);
+        }
+    }
+}
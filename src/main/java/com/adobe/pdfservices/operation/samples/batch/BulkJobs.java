@@ -0,0 +1,250 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Steps shared by the bulk operations, which run one job per item of a batch: taking items only as jobs can be
+ * started, retrying the job of an item on its own, writing results to disk and deleting assets.
+ */
+final class BulkJobs {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkJobs.class);
+
+    /**
+     * Starts the work on one item of a batch.
+     *
+     * @param <T> type of the items
+     */
+    @FunctionalInterface
+    interface ItemTask<T> {
+
+        /**
+         * Starts the work on an item.
+         *
+         * @param item the item
+         * @return a future completed once the item is done
+         * @throws IOException if the item can not be read
+         */
+        CompletableFuture<Void> start(T item) throws IOException;
+    }
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final int maxConcurrentJobs;
+    private final int maxAttempts;
+
+    BulkJobs(AsyncPDFServices asyncPDFServices, int maxConcurrentJobs, int maxAttempts) {
+        this.asyncPDFServices = asyncPDFServices;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Runs a task on every item, with at most maxConcurrentJobs running at a time. The caller's thread waits for a
+     * running task to finish before taking the next item, so the items held in memory are bounded by the number of
+     * running tasks. An item whose task fails, including synchronously, is passed to the failure handler and the other
+     * items carry on.
+     *
+     * @param items          the items, read as tasks can be started
+     * @param task           starts the work on an item
+     * @param failureHandler called with each item that failed and the exception it failed with
+     * @param <T>            type of the items
+     * @return the summary of the batch, with the latency of each item from the start of its task to its end
+     * @throws InterruptedException if interrupted while waiting for a task to finish
+     * @throws RuntimeException     if the items can not be read; it is rethrown once the running tasks have finished
+     */
+    <T> BatchSummary runAll(Iterator<T> items, ItemTask<T> task, BiConsumer<T, Throwable> failureHandler)
+            throws InterruptedException {
+        Semaphore runningTasks = new Semaphore(maxConcurrentJobs);
+        LatencyHistogram latencies = new LatencyHistogram();
+        AtomicLong completedCount = new AtomicLong();
+        AtomicLong failedCount = new AtomicLong();
+        long start = System.nanoTime();
+
+        try {
+            while (true) {
+                // Waits for a free slot before taking the next item, which holds back a reader of a large file
+                runningTasks.acquire();
+                boolean started = false;
+                try {
+                    if (!items.hasNext()) {
+                        break;
+                    }
+                    T item = items.next();
+                    long itemStart = System.nanoTime();
+                    CompletableFuture<Void> done;
+                    try {
+                        done = task.start(item);
+                    } catch (IOException | RuntimeException e) {
+                        // For example a missing file or data the job refuses, which fails this item only
+                        done = CompletableFuture.failedFuture(e);
+                    }
+                    done.whenComplete((result, error) -> {
+                        if (error == null) {
+                            completedCount.incrementAndGet();
+                            latencies.record(Duration.ofNanos(System.nanoTime() - itemStart));
+                        } else {
+                            failedCount.incrementAndGet();
+                            reportFailure(failureHandler, item, error);
+                        }
+                        runningTasks.release();
+                    });
+                    started = true;
+                } finally {
+                    if (!started) {
+                        runningTasks.release();
+                    }
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            // Reading the items failed, for example with an UncheckedIOException from a record reader: the tasks
+            // already started still finish and report their failures before the exception is rethrown
+            runningTasks.acquireUninterruptibly(maxConcurrentJobs);
+            runningTasks.release(maxConcurrentJobs);
+            LOGGER.warn("Stopped reading the items of the batch after {} completed and {} failed",
+                    completedCount.get(), failedCount.get());
+            throw e;
+        }
+
+        // Waits for the last tasks
+        runningTasks.acquire(maxConcurrentJobs);
+        runningTasks.release(maxConcurrentJobs);
+        return new BatchSummary(completedCount.get(), failedCount.get(),
+                Duration.ofNanos(System.nanoTime() - start), latencies);
+    }
+
+    /**
+     * Runs the work of an item, retrying it up to maxAttempts times.
+     *
+     * @param item    the item, for logging
+     * @param attempt runs one attempt
+     * @return a future completed once an attempt succeeded, or failed with the error of the last attempt
+     */
+    CompletableFuture<Void> withRetries(Object item, Supplier<CompletableFuture<Void>> attempt) {
+        return withRetries(item, attempt, 1);
+    }
+
+    /**
+     * Runs the work of an item that writes one output file, after reserving the file by creating it empty. Two items
+     * of a batch with the same output name can therefore never overwrite each other: the later one fails, as does an
+     * item whose output file is left from an earlier run. The reserved file is deleted if the work fails.
+     *
+     * @param outputFile the output file of the item
+     * @param work       starts the work, given the output file to write
+     * @return a future completed once the work is done
+     * @throws IOException if the output file already exists or can not be created
+     */
+    CompletableFuture<Void> writingOutput(Path outputFile, ItemTask<Path> work) throws IOException {
+        try {
+            Files.createFile(outputFile);
+        } catch (FileAlreadyExistsException e) {
+            throw new FileAlreadyExistsException(outputFile.toString(), null,
+                    "Output file already exists, another item of the batch has the same output name");
+        }
+        CompletableFuture<Void> result;
+        try {
+            result = work.start(outputFile);
+        } catch (IOException | RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((written, error) -> {
+            if (error != null) {
+                try {
+                    Files.deleteIfExists(outputFile);
+                } catch (IOException e) {
+                    LOGGER.debug("Could not delete output file {}", outputFile, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Downloads the content of a result asset to a file, and deletes the asset.
+     *
+     * @param resultAsset the result asset
+     * @param outputFile  the file to write
+     * @return a future completed once the file is written
+     */
+    CompletableFuture<Void> download(Asset resultAsset, Path outputFile) {
+        return asyncPDFServices.getContentAsync(resultAsset)
+                .thenAccept(streamAsset -> {
+                    try {
+                        AssetSink.getInstance().write(streamAsset.getInputStream(), outputFile);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .whenComplete((written, error) -> deleteQuietly(resultAsset));
+    }
+
+    void deleteQuietly(Asset asset) {
+        asyncPDFServices.deleteAssetAsync(asset).exceptionally(error -> {
+            // The service removes assets after a while anyway
+            LOGGER.debug("Could not delete asset", error);
+            return null;
+        });
+    }
+
+    private CompletableFuture<Void> withRetries(Object item, Supplier<CompletableFuture<Void>> attempt,
+                                                int attemptNumber) {
+        CompletableFuture<Void> result;
+        try {
+            result = attempt.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result
+                .handle((done, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    if (attemptNumber < maxAttempts) {
+                        LOGGER.warn("Job of {} failed, retrying (attempt {} of {})", item, attemptNumber + 1,
+                                maxAttempts, error);
+                        return withRetries(item, attempt, attemptNumber + 1);
+                    }
+                    return CompletableFuture.<Void>failedFuture(error);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private static <T> void reportFailure(BiConsumer<T, Throwable> failureHandler, T item, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        try {
+            failureHandler.accept(item, cause);
+        } catch (RuntimeException e) {
+            // A handler that throws must not stop the batch
+            LOGGER.warn("Exception encountered in the failure handler of {}", item, e);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.PDFWatermarkJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.PageRanges;
+import com.adobe.pdfservices.operation.pdfjobs.params.pdfwatermark.PDFWatermarkParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.pdfwatermark.WatermarkAppearance;
+import com.adobe.pdfservices.operation.pdfjobs.result.PDFWatermarkResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Applies the same watermark to many PDF documents, one PDF Watermark job per document.
+ * <p>
+ * The watermark is uploaded once and its {@link Asset} is used by every job, and every job shares one
+ * {@link PDFWatermarkParams}. The parameters are built from the pages and appearance set on the {@link Builder}, and
+ * their {@link PageRanges} and {@link WatermarkAppearance} are never handed out, so they can not change while jobs are
+ * running. Each document is uploaded, watermarked, downloaded to the output directory under its own file name, and its
+ * assets are deleted. A document whose file name was already used in the batch fails instead of overwriting the first
+ * output.
+ * <p>
+ * At most {@link Builder#withMaxConcurrentJobs(int) maxConcurrentJobs} documents are watermarked at a time, and
+ * documents are taken from the {@link Iterator} only when one can be started. A document whose job fails is retried
+ * on its own; if it still fails, it is passed to the failure handler and the other documents carry on.
+ * {@link #watermark(UploadSource, Iterator)} returns a {@link BatchSummary} with the throughput and the latency of the
+ * documents, from their upload to their output being written, and the upload bytes saved by sharing the watermark.
+ */
+public final class BulkPDFWatermark {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkPDFWatermark.class);
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final PDFWatermarkParams pdfWatermarkParams;
+    private final Path outputDirectory;
+    private final BulkJobs bulkJobs;
+    private final BiConsumer<Path, Throwable> failureHandler;
+
+    private BulkPDFWatermark(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.pdfWatermarkParams = builder.buildParams();
+        this.outputDirectory = builder.outputDirectory;
+        this.bulkJobs = new BulkJobs(builder.asyncPDFServices, builder.maxConcurrentJobs, builder.maxAttempts);
+        this.failureHandler = builder.failureHandler;
+    }
+
+    /**
+     * Creates a new BulkPDFWatermark builder.
+     *
+     * @param asyncPDFServices services the jobs are run with; can not be null.
+     * @param outputDirectory  directory the watermarked documents are written to; created if missing
+     * @return a BulkPDFWatermark.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices, Path outputDirectory) {
+        return new Builder(asyncPDFServices, outputDirectory);
+    }
+
+    /**
+     * Uploads a watermark, applies it to every document, and deletes it once done.
+     *
+     * @param watermark the watermark PDF file
+     * @param documents the PDF files to watermark, read as jobs can be started
+     * @return the summary of the batch
+     * @throws IOException          if the output directory can not be created
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary watermark(UploadSource watermark, Iterator<Path> documents)
+            throws IOException, InterruptedException {
+        Asset watermarkAsset = asyncPDFServices.uploadAsync(watermark).join();
+        try {
+            return watermark(watermarkAsset, documents).withSharedUpload(watermark.getContentLength());
+        } finally {
+            bulkJobs.deleteQuietly(watermarkAsset);
+        }
+    }
+
+    /**
+     * Applies an uploaded watermark to every document.
+     *
+     * @param watermark the uploaded watermark PDF file
+     * @param documents the PDF files to watermark, read as jobs can be started
+     * @return the summary of the batch
+     * @throws IOException          if the output directory can not be created
+     * @throws InterruptedException if interrupted while waiting for a job to finish
+     */
+    public BatchSummary watermark(Asset watermark, Iterator<Path> documents) throws IOException, InterruptedException {
+        Files.createDirectories(outputDirectory);
+        return bulkJobs.runAll(documents, document -> bulkJobs.writingOutput(outputDirectory.resolve(document.getFileName()),
+                outputFile -> asyncPDFServices.uploadAsync(UploadSource.ofFile(document,
+                                PDFServicesMediaType.PDF.getMediaType()))
+                        .thenCompose(asset -> bulkJobs.withRetries(document, () -> watermarkDocument(asset, watermark, outputFile))
+                                .whenComplete((written, error) -> bulkJobs.deleteQuietly(asset)))), failureHandler);
+    }
+
+    private CompletableFuture<Void> watermarkDocument(Asset asset, Asset watermark, Path outputFile) {
+        PDFWatermarkJob pdfWatermarkJob = new PDFWatermarkJob(asset, watermark).setParams(pdfWatermarkParams);
+        return asyncPDFServices.executeAsync(pdfWatermarkJob, PDFWatermarkResult.class)
+                .thenCompose(response -> bulkJobs.download(response.getResult().getAsset(), outputFile));
+    }
+
+    /**
+     * Builds a {@link BulkPDFWatermark} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private final Path outputDirectory;
+        private final List<int[]> pageRanges = new ArrayList<>();
+        private Integer opacity;
+        private Boolean appearOnForeground;
+        private int maxConcurrentJobs = 10;
+        private int maxAttempts = 2;
+        private BiConsumer<Path, Throwable> failureHandler = (document, error) ->
+                LOGGER.error("Exception encountered while watermarking {}", document, error);
+
+        private Builder(AsyncPDFServices asyncPDFServices, Path outputDirectory) {
+            if (asyncPDFServices == null || outputDirectory == null) {
+                throw new IllegalArgumentException("AsyncPDFServices and output directory can not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+            this.outputDirectory = outputDirectory;
+        }
+
+        /**
+         * Adds a page to watermark. By default, every page is watermarked.
+         *
+         * @param page the page number, starting from 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withPage(int page) {
+            return withPages(page, page);
+        }
+
+        /**
+         * Adds a range of pages to watermark. By default, every page is watermarked.
+         *
+         * @param start the first page number, starting from 1
+         * @param end   the last page number, included
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withPages(int start, int end) {
+            if (start < 1 || end < start) {
+                throw new IllegalArgumentException("Invalid page range " + start + "-" + end);
+            }
+            pageRanges.add(new int[]{start, end});
+            return this;
+        }
+
+        /**
+         * Sets the opacity of the watermark, in percent. By default, the opacity of the service is used.
+         *
+         * @param opacity the opacity, from 0 to 100
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withOpacity(int opacity) {
+            if (opacity < 0 || opacity > 100) {
+                throw new IllegalArgumentException("Opacity must be between 0 and 100");
+            }
+            this.opacity = opacity;
+            return this;
+        }
+
+        /**
+         * Sets whether the watermark is drawn over the page content or under it. By default, the choice of the service
+         * is used.
+         *
+         * @param appearOnForeground true to draw the watermark over the page content
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withAppearOnForeground(boolean appearOnForeground) {
+            this.appearOnForeground = appearOnForeground;
+            return this;
+        }
+
+        /**
+         * Sets the number of documents watermarked at the same time. Default value is 10.
+         *
+         * @param maxConcurrentJobs number of concurrent jobs, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxConcurrentJobs(int maxConcurrentJobs) {
+            if (maxConcurrentJobs < 1) {
+                throw new IllegalArgumentException("Max concurrent jobs must be at least 1");
+            }
+            this.maxConcurrentJobs = maxConcurrentJobs;
+            return this;
+        }
+
+        /**
+         * Sets how many times the job of a document is run before giving up. Default value is 2.
+         *
+         * @param maxAttempts number of attempts per document, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each document that failed, and the exception it failed with. By default, the
+         * failure is logged.
+         *
+         * @param failureHandler the failure handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withFailureHandler(BiConsumer<Path, Throwable> failureHandler) {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        /**
+         * Returns a new BulkPDFWatermark instance built from the current state of this builder.
+         *
+         * @return a new BulkPDFWatermark instance
+         */
+        public BulkPDFWatermark build() {
+            return new BulkPDFWatermark(this);
+        }
+
+        // Builds parameters that only the new instance refers to, so later changes to this builder do not reach them
+        private PDFWatermarkParams buildParams() {
+            PDFWatermarkParams.Builder paramsBuilder = PDFWatermarkParams.pdfWatermarkParamsBuilder();
+            if (!pageRanges.isEmpty()) {
+                PageRanges pages = new PageRanges();
+                for (int[] range : pageRanges) {
+                    if (range[0] == range[1]) {
+                        pages.addSinglePage(range[0]);
+                    } else {
+                        pages.addRange(range[0], range[1]);
+                    }
+                }
+                paramsBuilder.withPageRanges(pages);
+            }
+            if (opacity != null || appearOnForeground != null) {
+                WatermarkAppearance watermarkAppearance = new WatermarkAppearance();
+                if (opacity != null) {
+                    watermarkAppearance.setOpacity(opacity);
+                }
+                if (appearOnForeground != null) {
+                    watermarkAppearance.setAppearOnForeground(appearOnForeground);
+                }
+                paramsBuilder.withWatermarkAppearance(watermarkAppearance);
+            }
+            return paramsBuilder.build();
+        }
+    }
+}
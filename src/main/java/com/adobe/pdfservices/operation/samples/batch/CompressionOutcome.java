@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.pdfjobs.params.compresspdf.CompressionLevel;
+import com.adobe.pdfservices.operation.samples.io.PDFTraits;
+
+import java.time.Duration;
+
+/**
+ * Outcome of compressing one document with an {@link AdaptiveCompressor}: the level chosen, how it was chosen, and
+ * the size of the output.
+ */
+public final class CompressionOutcome {
+
+    /**
+     * How the compression level of a document was chosen.
+     */
+    public enum Source {
+        /**
+         * From the traits of the document, with one job.
+         */
+        TRAITS,
+        /**
+         * By running one job per level and keeping the smallest output finished by the deadline.
+         */
+        TRIAL,
+        /**
+         * From the trials of earlier documents of the same class, with one job.
+         */
+        LEARNED
+    }
+
+    private final PDFTraits traits;
+    private final String documentClass;
+    private final CompressionLevel level;
+    private final Source source;
+    private final int jobCount;
+    private final long outputSize;
+    private final Duration elapsed;
+
+    CompressionOutcome(PDFTraits traits, String documentClass, CompressionLevel level, Source source, int jobCount,
+                       long outputSize, Duration elapsed) {
+        this.traits = traits;
+        this.documentClass = documentClass;
+        this.level = level;
+        this.source = source;
+        this.jobCount = jobCount;
+        this.outputSize = outputSize;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Returns the traits the document was classified by.
+     *
+     * @return the traits of the input file
+     */
+    public PDFTraits getTraits() {
+        return traits;
+    }
+
+    /**
+     * Returns the class of the document.
+     *
+     * @return the document class
+     */
+    public String getDocumentClass() {
+        return documentClass;
+    }
+
+    /**
+     * Returns the level of the output kept.
+     *
+     * @return the compression level
+     */
+    public CompressionLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns how the level was chosen.
+     *
+     * @return the source of the level
+     */
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of Compress PDF jobs started for the document.
+     *
+     * @return the number of jobs
+     */
+    public int getJobCount() {
+        return jobCount;
+    }
+
+    /**
+     * Returns the size of the output file.
+     *
+     * @return the size in bytes
+     */
+    public long getOutputSize() {
+        return outputSize;
+    }
+
+    /**
+     * Returns the size of the output as a share of the size of the input.
+     *
+     * @return the ratio of output size to input size
+     */
+    public double getRatio() {
+        return traits.getFileSize() > 0 ? (double) outputSize / traits.getFileSize() : 1;
+    }
+
+    /**
+     * Returns the time taken to compress the document, from reading its traits to its output being written.
+     *
+     * @return the elapsed time
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s document compressed at %s (%s, %d jobs) from %d to %d bytes (%.0f%%) in %.1fs",
+                documentClass, level, source, jobCount, traits.getFileSize(), outputSize, getRatio() * 100,
+                elapsed.toNanos() / 1e9);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Merges the result ZIP files of Extract PDF jobs run on consecutive shards of a document into one ZIP file, as if a
+ * single job had extracted the whole document.
+ * <p>
+ * Each shard's structuredData.json numbers things from the start of the shard, so they are renumbered while merging:
+ * <ul>
+ * <li>{@code Page} of the elements and {@code page_number} of the pages are offset by the pages of earlier shards;</li>
+ * <li>the index of the top-level node of each element {@code Path}, for example {@code P[3]} in
+ * {@code //Document/P[3]/Sub}, is offset by the number of nodes of that type in earlier shards. Nested indices are
+ * relative to their parent and stay as they are;</li>
+ * <li>{@code ObjectID}s are offset past those of earlier shards;</li>
+ * <li>rendition files, such as {@code figures/fileoutpart0.png}, are renumbered past those of earlier shards, in both
+ * the ZIP entries and the {@code filePaths} of the elements. Other names already used by an earlier shard get the
+ * shard number as a prefix.</li>
+ * </ul>
+ * Renditions are copied to the output as they are read; only the structured data is held in memory until
+ * {@link #close()} writes the merged structuredData.json and finishes the ZIP file.
+ */
+public final class ExtractResultMerger implements AutoCloseable {
+
+    private static final String STRUCTURED_DATA = "structuredData.json";
+    // Top-level node of an element path and its optional index, which is 1 when omitted
+    private static final Pattern ROOT_NODE = Pattern.compile("^(//Document/)([^/\\[]+)(?:\\[(\\d+)])?(.*)$");
+    private static final Pattern FILE_OUT_PART = Pattern.compile("^(.*fileoutpart)(\\d+)(\\.[^/]*)?$");
+
+    private final ZipOutputStream zipOutputStream;
+    private JSONObject mergedStructuredData;
+    private int shardCount;
+    private int pageOffset;
+    private long objectIdOffset;
+    private long fileOutPartOffset;
+    private final Map<String, Integer> nodeOffsets = new HashMap<>();
+    private final Set<String> entryNames = new HashSet<>();
+
+    private ExtractResultMerger(OutputStream outputStream) {
+        this.zipOutputStream = new ZipOutputStream(outputStream);
+    }
+
+    /**
+     * Creates a merger writing the merged ZIP file to a stream, which is closed by {@link #close()}.
+     *
+     * @param outputStream destination of the merged ZIP file
+     * @return an ExtractResultMerger instance
+     */
+    public static ExtractResultMerger create(OutputStream outputStream) {
+        return new ExtractResultMerger(outputStream);
+    }
+
+    /**
+     * Adds the result of the next shard. Shards must be added in page order.
+     *
+     * @param resultZip      the result ZIP file of the shard's Extract PDF job; not closed
+     * @param shardPageCount number of pages of the shard
+     * @throws IOException if the result can not be read or the output can not be written
+     */
+    public void add(InputStream resultZip, int shardPageCount) throws IOException {
+        Set<String> shardEntryNames = new HashSet<>();
+        JSONObject structuredData = null;
+        long maxFileOutPart = -1;
+        ZipInputStream zipInputStream = new ZipInputStream(resultZip);
+        for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            if (STRUCTURED_DATA.equals(entry.getName())) {
+                structuredData = new JSONObject(new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+                continue;
+            }
+            Matcher matcher = FILE_OUT_PART.matcher(entry.getName());
+            if (matcher.matches()) {
+                maxFileOutPart = Math.max(maxFileOutPart, Long.parseLong(matcher.group(2)));
+            }
+            String name = renameFile(entry.getName());
+            shardEntryNames.add(name);
+            zipOutputStream.putNextEntry(new ZipEntry(name));
+            zipInputStream.transferTo(zipOutputStream);
+            zipOutputStream.closeEntry();
+        }
+        if (structuredData == null) {
+            throw new IOException("Result of shard " + (shardCount + 1) + " has no " + STRUCTURED_DATA);
+        }
+        merge(structuredData);
+
+        // Earlier shards now include this one
+        entryNames.addAll(shardEntryNames);
+        pageOffset += shardPageCount;
+        fileOutPartOffset += maxFileOutPart + 1;
+        shardCount++;
+    }
+
+    /**
+     * Returns the number of shards added so far.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Writes the merged structuredData.json and closes the ZIP file.
+     *
+     * @throws IOException if the output can not be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (mergedStructuredData != null) {
+                JSONObject extendedMetadata = mergedStructuredData.optJSONObject("extended_metadata");
+                if (extendedMetadata != null) {
+                    extendedMetadata.put("page_count", pageOffset);
+                }
+                zipOutputStream.putNextEntry(new ZipEntry(STRUCTURED_DATA));
+                zipOutputStream.write(mergedStructuredData.toString().getBytes(StandardCharsets.UTF_8));
+                zipOutputStream.closeEntry();
+            }
+        } finally {
+            zipOutputStream.close();
+        }
+    }
+
+    private void merge(JSONObject structuredData) {
+        JSONArray elements = structuredData.optJSONArray("elements");
+        JSONArray pages = structuredData.optJSONArray("pages");
+        Map<String, Integer> nodeCounts = new HashMap<>();
+        long maxObjectId = objectIdOffset - 1;
+        if (elements != null) {
+            for (int i = 0; i < elements.length(); i++) {
+                maxObjectId = Math.max(maxObjectId, renumber(elements.getJSONObject(i), nodeCounts));
+            }
+        }
+        if (pages != null) {
+            for (int i = 0; i < pages.length(); i++) {
+                JSONObject page = pages.getJSONObject(i);
+                page.put("page_number", page.optInt("page_number") + pageOffset);
+            }
+        }
+        objectIdOffset = maxObjectId + 1;
+        nodeCounts.forEach((type, count) -> nodeOffsets.merge(type, count, Integer::sum));
+
+        if (mergedStructuredData == null) {
+            // The first shard brings the version and the document metadata
+            mergedStructuredData = structuredData;
+            return;
+        }
+        JSONArray mergedElements = mergedStructuredData.optJSONArray("elements");
+        JSONArray mergedPages = mergedStructuredData.optJSONArray("pages");
+        if (elements != null) {
+            if (mergedElements == null) {
+                mergedStructuredData.put("elements", elements);
+            } else {
+                elements.forEach(mergedElements::put);
+            }
+        }
+        if (pages != null) {
+            if (mergedPages == null) {
+                mergedStructuredData.put("pages", pages);
+            } else {
+                pages.forEach(mergedPages::put);
+            }
+        }
+    }
+
+    // Renumbers an element and its kids, counts the top-level nodes of this shard and returns the largest object id
+    private long renumber(JSONObject element, Map<String, Integer> nodeCounts) {
+        long maxObjectId = -1;
+        if (element.has("Page")) {
+            element.put("Page", element.getInt("Page") + pageOffset);
+        }
+        if (element.has("ObjectID")) {
+            long objectId = element.getLong("ObjectID") + objectIdOffset;
+            element.put("ObjectID", objectId);
+            maxObjectId = objectId;
+        }
+        String path = element.optString("Path", null);
+        if (path != null) {
+            Matcher matcher = ROOT_NODE.matcher(path);
+            if (matcher.matches()) {
+                String type = matcher.group(2);
+                int index = matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 1;
+                nodeCounts.merge(type, index, Math::max);
+                int mergedIndex = index + nodeOffsets.getOrDefault(type, 0);
+                element.put("Path", matcher.group(1) + type + (mergedIndex > 1 ? "[" + mergedIndex + "]" : "")
+                        + matcher.group(4));
+            }
+        }
+        JSONArray filePaths = element.optJSONArray("filePaths");
+        if (filePaths != null) {
+            for (int i = 0; i < filePaths.length(); i++) {
+                filePaths.put(i, renameFile(filePaths.getString(i)));
+            }
+        }
+        JSONArray kids = element.optJSONArray("Kids");
+        if (kids != null) {
+            for (int i = 0; i < kids.length(); i++) {
+                if (kids.get(i) instanceof JSONObject) {
+                    maxObjectId = Math.max(maxObjectId, renumber(kids.getJSONObject(i), nodeCounts));
+                }
+            }
+        }
+        return maxObjectId;
+    }
+
+    // Depends only on the name and on earlier shards, so ZIP entries and file paths of a shard are renamed alike
+    private String renameFile(String name) {
+        Matcher matcher = FILE_OUT_PART.matcher(name);
+        if (matcher.matches()) {
+            String extension = matcher.group(3) != null ? matcher.group(3) : "";
+            return matcher.group(1) + (Long.parseLong(matcher.group(2)) + fileOutPartOffset) + extension;
+        }
+        if (!entryNames.contains(name)) {
+            return name;
+        }
+        int slash = name.lastIndexOf('/');
+        return name.substring(0, slash + 1) + (shardCount + 1) + "_" + name.substring(slash + 1);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.CombinePDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.PageRanges;
+import com.adobe.pdfservices.operation.pdfjobs.params.combinepdf.CombinePDFParams;
+import com.adobe.pdfservices.operation.pdfjobs.result.CombinePDFResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Combines any number of PDF files into one, although a single Combine PDF job accepts at most 20 files.
+ * <p>
+ * The inputs are split into consecutive groups of at most 20, of nearly equal size, and each group is combined by its
+ * own job. The group results are then grouped and combined the same way, level by level, until one asset is left.
+ * Intermediate results stay on the service: the next level refers to them by asset, and they are deleted once they
+ * have been combined. A group starts as soon as its own inputs are ready, so the groups of a level run in parallel and
+ * the next level does not wait for the slowest group of the previous one. The page ranges of each input are applied at
+ * the first level; later levels combine every page.
+ * <p>
+ * Jobs are run through an {@link AsyncPDFServices}, so no thread is held while they are in progress.
+ */
+public final class HierarchicalCombiner {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(HierarchicalCombiner.class);
+
+    /**
+     * Maximum number of files combined by a single Combine PDF job.
+     */
+    public static final int MAX_FILES_PER_JOB = 20;
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final int groupSize;
+    private final boolean deleteIntermediateAssets;
+    private final AtomicInteger jobCount = new AtomicInteger();
+
+    private HierarchicalCombiner(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.groupSize = builder.groupSize;
+        this.deleteIntermediateAssets = builder.deleteIntermediateAssets;
+    }
+
+    /**
+     * Creates a new HierarchicalCombiner builder.
+     *
+     * @param asyncPDFServices services the combine jobs are run with; can not be null.
+     * @return a HierarchicalCombiner.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices) {
+        return new Builder(asyncPDFServices);
+    }
+
+    /**
+     * Combines the inputs, in order, into a single PDF file.
+     *
+     * @param inputs files to combine, with their page ranges
+     * @return a future completed with the combined asset, or completed exceptionally if any job failed
+     */
+    public CompletableFuture<Asset> combine(List<Input> inputs) {
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("At least one input is required");
+        }
+        List<CompletableFuture<Input>> level = new ArrayList<>(inputs.size());
+        for (Input input : inputs) {
+            level.add(CompletableFuture.completedFuture(input));
+        }
+        // A single input still needs a job when only some of its pages are kept
+        int depth = 0;
+        do {
+            level = combineLevel(level);
+            depth++;
+        } while (level.size() > 1);
+        LOGGER.debug("Combining {} inputs with {} levels of jobs", inputs.size(), depth);
+        return level.get(0).thenApply(input -> input.asset.join());
+    }
+
+    /**
+     * Returns the number of Combine PDF jobs submitted so far.
+     *
+     * @return the number of jobs
+     */
+    public int getJobCount() {
+        return jobCount.get();
+    }
+
+    private List<CompletableFuture<Input>> combineLevel(List<CompletableFuture<Input>> level) {
+        // Spreading the inputs evenly keeps the tree balanced: 21 inputs make groups of 11 and 10, not 20 and 1
+        int groupCount = (level.size() + groupSize - 1) / groupSize;
+        List<CompletableFuture<Input>> nextLevel = new ArrayList<>(groupCount);
+        int start = 0;
+        for (int group = 0; group < groupCount; group++) {
+            int end = start + (level.size() - start) / (groupCount - group);
+            nextLevel.add(combineGroup(level.subList(start, end)));
+            start = end;
+        }
+        return nextLevel;
+    }
+
+    private CompletableFuture<Input> combineGroup(List<CompletableFuture<Input>> group) {
+        List<CompletableFuture<Input>> members = new ArrayList<>(group);
+        return CompletableFuture.allOf(members.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(ignored -> {
+                    List<Input> inputs = new ArrayList<>(members.size());
+                    for (CompletableFuture<Input> member : members) {
+                        inputs.add(member.join());
+                    }
+                    return CompletableFuture.allOf(inputs.stream().map(input -> input.asset)
+                                    .toArray(CompletableFuture<?>[]::new))
+                            .thenCompose(uploaded -> runJob(inputs));
+                });
+    }
+
+    private CompletableFuture<Input> runJob(List<Input> inputs) {
+        if (inputs.size() == 1 && inputs.get(0).pageRanges == null) {
+            // Nothing to combine or select, pass the asset on to the next level
+            return CompletableFuture.completedFuture(inputs.get(0));
+        }
+        CombinePDFParams.Builder paramsBuilder = CombinePDFParams.combinePDFParamsBuilder();
+        for (Input input : inputs) {
+            if (input.pageRanges != null) {
+                paramsBuilder.addAsset(input.asset.join(), input.pageRanges);
+            } else {
+                paramsBuilder.addAsset(input.asset.join());
+            }
+        }
+        jobCount.incrementAndGet();
+        return asyncPDFServices.executeAsync(new CombinePDFJob(paramsBuilder.build()), CombinePDFResult.class)
+                .thenApply(response -> {
+                    if (deleteIntermediateAssets) {
+                        for (Input input : inputs) {
+                            if (input.intermediate) {
+                                deleteQuietly(input.asset.join());
+                            }
+                        }
+                    }
+                    return new Input(CompletableFuture.completedFuture(response.getResult().getAsset()), null, true);
+                });
+    }
+
+    private void deleteQuietly(Asset asset) {
+        asyncPDFServices.deleteAssetAsync(asset).exceptionally(error -> {
+            // The service removes assets after a while anyway
+            LOGGER.debug("Could not delete intermediate asset", error);
+            return null;
+        });
+    }
+
+    /**
+     * A file to combine, with the pages to keep.
+     */
+    public static final class Input {
+
+        private final CompletableFuture<Asset> asset;
+        private final PageRanges pageRanges;
+        // True for the results of this combiner's jobs, which are the only assets it deletes
+        private final boolean intermediate;
+
+        private Input(CompletableFuture<Asset> asset, PageRanges pageRanges, boolean intermediate) {
+            this.asset = asset;
+            this.pageRanges = pageRanges;
+            this.intermediate = intermediate;
+        }
+
+        /**
+         * Creates an input that keeps every page of an uploaded asset.
+         *
+         * @param asset the uploaded asset
+         * @return an Input instance
+         */
+        public static Input of(Asset asset) {
+            return of(asset, null);
+        }
+
+        /**
+         * Creates an input that keeps the given pages of an uploaded asset.
+         *
+         * @param asset      the uploaded asset
+         * @param pageRanges pages to keep; null to keep every page.
+         * @return an Input instance
+         */
+        public static Input of(Asset asset, PageRanges pageRanges) {
+            return new Input(CompletableFuture.completedFuture(asset), pageRanges, false);
+        }
+
+        /**
+         * Creates an input for an asset still being uploaded. The groups it belongs to start once it is uploaded, so
+         * combining overlaps with the remaining uploads.
+         *
+         * @param asset      a future completed with the uploaded asset
+         * @param pageRanges pages to keep; null to keep every page.
+         * @return an Input instance
+         */
+        public static Input of(CompletableFuture<Asset> asset, PageRanges pageRanges) {
+            return new Input(asset, pageRanges, false);
+        }
+
+        /**
+         * Creates an input for an intermediate result of an earlier job, which is not needed once combined. Unless
+         * disabled with {@link Builder#withDeleteIntermediateAssets(boolean)}, the combiner deletes it once combined.
+         *
+         * @param asset a future completed with the intermediate result
+         * @return an Input instance
+         */
+        public static Input ofIntermediate(CompletableFuture<Asset> asset) {
+            return new Input(asset, null, true);
+        }
+    }
+
+    /**
+     * Builds a {@link HierarchicalCombiner} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private int groupSize = MAX_FILES_PER_JOB;
+        private boolean deleteIntermediateAssets = true;
+
+        private Builder(AsyncPDFServices asyncPDFServices) {
+            if (asyncPDFServices == null) {
+                throw new IllegalArgumentException("AsyncPDFServices can not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+        }
+
+        /**
+         * Sets the maximum number of files combined by each job. Default value is 20, the most the service accepts.
+         *
+         * @param groupSize maximum number of files per job, between 2 and 20
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withGroupSize(int groupSize) {
+            if (groupSize < 2 || groupSize > MAX_FILES_PER_JOB) {
+                throw new IllegalArgumentException("Group size must be between 2 and " + MAX_FILES_PER_JOB);
+            }
+            this.groupSize = groupSize;
+            return this;
+        }
+
+        /**
+         * Sets whether intermediate results are deleted once they have been combined. Inputs are never deleted.
+         * Default value is true.
+         *
+         * @param deleteIntermediateAssets true to delete intermediate results
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withDeleteIntermediateAssets(boolean deleteIntermediateAssets) {
+            this.deleteIntermediateAssets = deleteIntermediateAssets;
+            return this;
+        }
+
+        /**
+         * Returns a new HierarchicalCombiner instance built from the current state of this builder.
+         *
+         * @return a new HierarchicalCombiner instance
+         */
+        public HierarchicalCombiner build() {
+            return new HierarchicalCombiner(this);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of latencies in milliseconds, from which percentiles can be read while recording.
+ * <p>
+ * Keeping every latency of a batch of hundreds of thousands of jobs to sort them at the end takes memory in proportion
+ * to the batch. This histogram instead has a fixed number of buckets: one per millisecond below 64 ms, then 32 buckets
+ * per power of two, so a percentile is reported within about 3% of its true value whatever the number of latencies.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKET_COUNT = 2 * SUB_BUCKET_COUNT;
+    // Enough buckets for any positive long
+    private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    /**
+     * Records a latency. Negative latencies are recorded as 0.
+     *
+     * @param latency the latency
+     */
+    public void record(Duration latency) {
+        long millis = Math.max(0, latency.toMillis());
+        buckets.incrementAndGet(bucketOf(millis));
+        count.incrementAndGet();
+        totalMillis.addAndGet(millis);
+        maxMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return the number of latencies
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the mean of the latencies recorded, or zero if there are none.
+     *
+     * @return the mean latency
+     */
+    public Duration getMean() {
+        long n = count.get();
+        return n == 0 ? Duration.ZERO : Duration.ofMillis(totalMillis.get() / n);
+    }
+
+    /**
+     * Returns the largest latency recorded, or zero if there are none.
+     *
+     * @return the largest latency
+     */
+    public Duration getMax() {
+        return Duration.ofMillis(maxMillis.get());
+    }
+
+    /**
+     * Returns the latency below which the given fraction of the latencies recorded fall, or zero if there are none.
+     *
+     * @param percentile fraction of the latencies, between 0 and 1, for example 0.99
+     * @return the upper bound of the bucket holding the percentile, capped at the largest latency
+     */
+    public Duration getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        }
+        long n = count.get();
+        if (n == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * n));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= rank) {
+                return Duration.ofMillis(Math.min(upperBoundOf(bucket), maxMillis.get()));
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50=%dms p95=%dms p99=%dms max=%dms", getPercentile(0.50).toMillis(),
+                getPercentile(0.95).toMillis(), getPercentile(0.99).toMillis(), getMax().toMillis());
+    }
+
+    private static int bucketOf(long millis) {
+        if (millis < LINEAR_BUCKET_COUNT) {
+            return (int) millis;
+        }
+        // Keeps the highest SUB_BUCKET_BITS + 1 bits of the value
+        int shift = 63 - Long.numberOfLeadingZeros(millis) - SUB_BUCKET_BITS;
+        return LINEAR_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_COUNT + (int) ((millis >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (bucket - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
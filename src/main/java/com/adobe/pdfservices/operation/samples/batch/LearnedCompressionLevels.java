@@ -0,0 +1,266 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.pdfjobs.params.compresspdf.CompressionLevel;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Remembers which compression level gave the smallest output for each class of documents, so that once a class is
+ * known, its documents are compressed with one job instead of one trial job per level.
+ * <p>
+ * Every trial run by an {@link AdaptiveCompressor} records the level it kept for the class of its document. Once a
+ * class has {@link Builder#withMinTrials(int) minTrials} trials, the level kept most often is used for its documents.
+ * Documents can change over time, so a learned class is trialled again once every
+ * {@link Builder#withRetrialInterval(int) retrialInterval} documents, and the new trial counts like the others.
+ * <p>
+ * The trials are saved to a JSON file after each one, written to a temporary file first and then moved into place, so
+ * later runs start from what earlier runs learned. Instances are thread-safe.
+ */
+public final class LearnedCompressionLevels {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(LearnedCompressionLevels.class);
+
+    private static final Path DEFAULT_FILE = Paths.get("cache/compressionLevels.json");
+    private static final String TRIALS = "trials";
+    private static final String KEPT = "kept";
+
+    private static LearnedCompressionLevels defaultInstance;
+
+    private final Path file;
+    private final int minTrials;
+    private final int retrialInterval;
+    // Document class to its trials, in name order so that the file is stable
+    private final Map<String, ClassTrials> classes = new TreeMap<>();
+
+    private LearnedCompressionLevels(Builder builder) {
+        this.file = builder.file;
+        this.minTrials = builder.minTrials;
+        this.retrialInterval = builder.retrialInterval;
+    }
+
+    /**
+     * Returns the shared instance used by the samples, saved in {@code cache/compressionLevels.json}.
+     *
+     * @return the shared LearnedCompressionLevels
+     * @throws IOException if the file exists but can not be read
+     */
+    public static synchronized LearnedCompressionLevels getDefault() throws IOException {
+        if (defaultInstance == null) {
+            defaultInstance = builder().build();
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * Creates a new LearnedCompressionLevels builder.
+     *
+     * @return a LearnedCompressionLevels.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the level learned for a class of documents, for a document about to be compressed.
+     *
+     * @param documentClass the class of the document
+     * @return the learned level, or null if the class needs a trial
+     */
+    public synchronized CompressionLevel get(String documentClass) {
+        ClassTrials trials = classes.get(documentClass);
+        if (trials == null || trials.trialCount < minTrials) {
+            return null;
+        }
+        trials.usesSinceTrial++;
+        if (retrialInterval > 0 && trials.usesSinceTrial >= retrialInterval) {
+            trials.usesSinceTrial = 0;
+            return null;
+        }
+        return trials.getLevel();
+    }
+
+    /**
+     * Records the level kept by a trial for a class of documents, and saves the trials.
+     *
+     * @param documentClass the class of the trialled document
+     * @param level         the level whose output was kept
+     * @throws IOException if the trials can not be saved
+     */
+    public synchronized void recordTrial(String documentClass, CompressionLevel level) throws IOException {
+        ClassTrials trials = classes.computeIfAbsent(documentClass, name -> new ClassTrials());
+        CompressionLevel previousLevel = trials.trialCount >= minTrials ? trials.getLevel() : null;
+        trials.trialCount++;
+        trials.keptCounts.merge(level, 1, Integer::sum);
+        trials.usesSinceTrial = 0;
+        if (trials.trialCount >= minTrials && trials.getLevel() != previousLevel) {
+            LOGGER.info("Documents of class {} are now compressed at level {}", documentClass, trials.getLevel());
+        }
+        save();
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder levels = new StringBuilder();
+        for (Map.Entry<String, ClassTrials> entry : classes.entrySet()) {
+            ClassTrials trials = entry.getValue();
+            levels.append(levels.length() > 0 ? ", " : "").append(entry.getKey()).append('=')
+                    .append(trials.trialCount >= minTrials ? trials.getLevel() : "trialling")
+                    .append(" (").append(trials.trialCount).append(" trials)");
+        }
+        return levels.toString();
+    }
+
+    private void save() throws IOException {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, ClassTrials> entry : classes.entrySet()) {
+            JSONObject kept = new JSONObject();
+            entry.getValue().keptCounts.forEach((level, count) -> kept.put(level.name(), count));
+            json.put(entry.getKey(), new JSONObject().put(TRIALS, entry.getValue().trialCount).put(KEPT, kept));
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, json.toString(2).getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            for (String documentClass : json.keySet()) {
+                JSONObject classJson = json.getJSONObject(documentClass);
+                ClassTrials trials = new ClassTrials();
+                trials.trialCount = classJson.getInt(TRIALS);
+                JSONObject kept = classJson.getJSONObject(KEPT);
+                for (String level : kept.keySet()) {
+                    trials.keptCounts.put(CompressionLevel.valueOf(level), kept.getInt(level));
+                }
+                classes.put(documentClass, trials);
+            }
+        } catch (JSONException | IllegalArgumentException e) {
+            throw new IOException("Invalid compression levels file " + file, e);
+        }
+    }
+
+    // The trials of one class of documents
+    private static final class ClassTrials {
+
+        private final Map<CompressionLevel, Integer> keptCounts = new EnumMap<>(CompressionLevel.class);
+        private int trialCount;
+        private int usesSinceTrial;
+
+        // The level kept most often, the lowest one on ties as it is the quickest to run; levels are declared from
+        // HIGH to LOW
+        private CompressionLevel getLevel() {
+            CompressionLevel level = null;
+            for (Map.Entry<CompressionLevel, Integer> entry : keptCounts.entrySet()) {
+                if (level == null || entry.getValue() >= keptCounts.get(level)) {
+                    level = entry.getKey();
+                }
+            }
+            return level;
+        }
+    }
+
+    /**
+     * Builds a {@link LearnedCompressionLevels} instance.
+     */
+    public static class Builder {
+
+        private Path file = DEFAULT_FILE;
+        private int minTrials = 3;
+        private int retrialInterval = 50;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the file the trials are saved to. It is read if it exists. Default value is
+         * {@code cache/compressionLevels.json}, relative to the working directory.
+         *
+         * @param file the trials file
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withFile(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        /**
+         * Sets the number of trials of a class before its level is used. Default value is 3.
+         *
+         * @param minTrials number of trials, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMinTrials(int minTrials) {
+            if (minTrials < 1) {
+                throw new IllegalArgumentException("Min trials must be at least 1");
+            }
+            this.minTrials = minTrials;
+            return this;
+        }
+
+        /**
+         * Sets how many documents of a learned class are compressed with its level before one is trialled again.
+         * Default value is 50.
+         *
+         * @param retrialInterval number of documents between trials, or 0 to never trial a learned class again
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withRetrialInterval(int retrialInterval) {
+            if (retrialInterval < 0) {
+                throw new IllegalArgumentException("Retrial interval can not be negative");
+            }
+            this.retrialInterval = retrialInterval;
+            return this;
+        }
+
+        /**
+         * Returns a new LearnedCompressionLevels instance with the trials saved in the file, if any.
+         *
+         * @return a new LearnedCompressionLevels instance
+         * @throws IOException if the file exists but can not be read
+         */
+        public LearnedCompressionLevels build() throws IOException {
+            LearnedCompressionLevels learnedCompressionLevels = new LearnedCompressionLevels(this);
+            learnedCompressionLevels.load();
+            return learnedCompressionLevels;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import org.json.JSONObject;
+
+import java.util.Iterator;
+
+/**
+ * Input data for one document of a {@link BulkDocumentMerge} or a {@link BulkImportPDFFormData}, with the key its output
+ * file is named after.
+ */
+public final class MergeRecord {
+
+    private final String key;
+    private final JSONObject data;
+
+    private MergeRecord(String key, JSONObject data) {
+        this.key = key;
+        this.data = data;
+    }
+
+    /**
+     * Creates a record.
+     *
+     * @param key  name of the output file, without extension; unique within the batch, and can not contain path
+     *             separators
+     * @param data JSON data merged with the template, or form field values
+     * @return a MergeRecord instance
+     */
+    public static MergeRecord of(String key, JSONObject data) {
+        if (key == null || !isValidKey(key)) {
+            throw new IllegalArgumentException("Invalid record key: " + key);
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Data of record " + key + " can not be null");
+        }
+        return new MergeRecord(key, data);
+    }
+
+    /**
+     * Returns the records of a sequence of JSON data, such as a {@code JsonRecordReader} or a {@code CsvRecordReader},
+     * keyed by the value of one of their fields. Data without a valid value for the field is keyed by its position
+     * instead, as in {@code record42}. The field should hold a unique value, such as an id: the bulk operations fail a
+     * record whose output file already exists instead of overwriting it. The data is read only as the returned
+     * iterator advances, and no state is kept across records.
+     *
+     * @param data     the JSON data of each record
+     * @param keyField name of the top-level field holding the key, such as an invoice number
+     * @return a lazy iterator over the records
+     */
+    public static Iterator<MergeRecord> keyedBy(Iterator<JSONObject> data, String keyField) {
+        return new Iterator<MergeRecord>() {
+
+            private long position;
+
+            @Override
+            public boolean hasNext() {
+                return data.hasNext();
+            }
+
+            @Override
+            public MergeRecord next() {
+                JSONObject record = data.next();
+                position++;
+                Object value = record.opt(keyField);
+                String key = value instanceof String || value instanceof Number ? value.toString() : null;
+                if (key == null || !isValidKey(key)) {
+                    key = "record" + position;
+                }
+                return new MergeRecord(key, record);
+            }
+        };
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public JSONObject getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    private static boolean isValidKey(String key) {
+        return !key.isEmpty() && !key.equals(".") && !key.equals("..")
+                && key.indexOf('/') < 0 && key.indexOf('\\') < 0 && key.indexOf('\0') < 0;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out operations so that no more than a given number start per second, such as the jobs of a batch that each
+ * call a third-party provider with a quota.
+ * <p>
+ * Each permit is given the next free slot, one interval after the previous one; a caller either waits for its slot with
+ * {@link #acquire()}, or reserves it with {@link #reserve()} and schedules its work for later, which keeps pool
+ * threads from sleeping. Slots left unused while the limiter is idle are not saved up, so starts never come in a burst
+ * above the rate. Instances are thread-safe.
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextSlot;
+
+    private RateLimiter(double permitsPerSecond) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.nextSlot = System.nanoTime();
+    }
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param permitsPerSecond number of permits given per second; must be positive
+     * @return a RateLimiter instance
+     */
+    public static RateLimiter create(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        return new RateLimiter(permitsPerSecond);
+    }
+
+    /**
+     * Takes the next free slot.
+     *
+     * @return the time to wait before the slot, in nanoseconds; 0 if it can be used now
+     */
+    public long reserve() {
+        long now = System.nanoTime();
+        long slot;
+        synchronized (this) {
+            // An idle limiter starts from now instead of handing out the slots it missed
+            slot = nextSlot - now > 0 ? nextSlot : now;
+            nextSlot = slot + intervalNanos;
+        }
+        return slot - now;
+    }
+
+    /**
+     * Takes the next free slot and waits for it.
+     *
+     * @throws InterruptedException if interrupted while waiting; the slot is not given back
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Returns the number of permits given per second.
+     *
+     * @return the rate of this limiter
+     */
+    public double getPermitsPerSecond() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.2f/s", getPermitsPerSecond());
+    }
+}
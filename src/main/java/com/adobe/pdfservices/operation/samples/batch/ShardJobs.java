@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.PDFPropertiesJob;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.SplitPDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.PageRanges;
+import com.adobe.pdfservices.operation.pdfjobs.params.splitpdf.SplitPDFParams;
+import com.adobe.pdfservices.operation.pdfjobs.result.PDFPropertiesResult;
+import com.adobe.pdfservices.operation.pdfjobs.result.SplitPDFResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Steps shared by the sharded operations: counting the pages of a document, splitting it into the shards of a
+ * {@link ShardPlan}, and running a job on each shard with bounded concurrency and retries.
+ */
+final class ShardJobs {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardJobs.class);
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final int maxConcurrentJobs;
+    private final int maxAttempts;
+    private final AtomicInteger jobCount = new AtomicInteger();
+
+    ShardJobs(AsyncPDFServices asyncPDFServices, int maxConcurrentJobs, int maxAttempts) {
+        this.asyncPDFServices = asyncPDFServices;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Gets the page count of an uploaded PDF file with a PDF Properties job.
+     *
+     * @param asset the uploaded PDF file
+     * @return a future completed with the page count
+     */
+    CompletableFuture<Integer> getPageCountAsync(Asset asset) {
+        jobCount.incrementAndGet();
+        return asyncPDFServices.executeAsync(new PDFPropertiesJob(asset), PDFPropertiesResult.class)
+                .thenApply(response -> response.getResult().getPdfProperties().getDocument().getPageCount());
+    }
+
+    /**
+     * Splits a document into the shards of a plan, with one page range per shard.
+     *
+     * @param asset the document
+     * @param plan  the shards
+     * @return a future completed with the shards, in page order
+     */
+    CompletableFuture<List<Asset>> split(Asset asset, ShardPlan plan) {
+        PageRanges pageRanges = new PageRanges();
+        for (int shard = 0; shard < plan.getShardCount(); shard++) {
+            pageRanges.addRange(plan.getFirstPage(shard), plan.getLastPage(shard));
+        }
+        SplitPDFParams splitPDFParams = new SplitPDFParams();
+        splitPDFParams.setPageRanges(pageRanges);
+        jobCount.incrementAndGet();
+        return asyncPDFServices.executeAsync(new SplitPDFJob(asset, splitPDFParams), SplitPDFResult.class)
+                .thenApply(response -> response.getResult().getAssets());
+    }
+
+    /**
+     * Runs a job on each shard, starting them in order with at most maxConcurrentJobs running at a time. A shard whose
+     * job fails is retried on its own up to maxAttempts times; once a shard has failed for good, the shards not yet
+     * started are not run and their futures fail. Each shard is deleted once its job is over.
+     *
+     * @param shards the shards
+     * @param job    submits the job of a shard and returns its result
+     * @param <R>    type of the job results
+     * @return a future per shard, completed with the result of its job
+     */
+    <R> List<CompletableFuture<R>> runEach(List<Asset> shards, Function<Asset, CompletableFuture<R>> job) {
+        List<CompletableFuture<R>> results = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        for (int i = 0; i < Math.min(maxConcurrentJobs, shards.size()); i++) {
+            startNext(shards, job, results, next, failed);
+        }
+        return results;
+    }
+
+    /**
+     * Runs the job of a single shard, retrying it up to maxAttempts times.
+     *
+     * @param shard the shard
+     * @param job   submits the job of a shard and returns its result
+     * @param <R>   type of the job result
+     * @return a future completed with the result of the job
+     */
+    <R> CompletableFuture<R> run(Asset shard, Function<Asset, CompletableFuture<R>> job) {
+        return run(shard, job, 1);
+    }
+
+    /**
+     * Returns the number of jobs submitted so far, including retries.
+     *
+     * @return the number of jobs
+     */
+    int getJobCount() {
+        return jobCount.get();
+    }
+
+    void deleteQuietly(Asset asset) {
+        asyncPDFServices.deleteAssetAsync(asset).exceptionally(error -> {
+            // The service removes assets after a while anyway
+            LOGGER.debug("Could not delete shard asset", error);
+            return null;
+        });
+    }
+
+    private <R> void startNext(List<Asset> shards, Function<Asset, CompletableFuture<R>> job,
+                               List<CompletableFuture<R>> results, AtomicInteger next, AtomicBoolean failed) {
+        int index = next.getAndIncrement();
+        if (index >= shards.size()) {
+            return;
+        }
+        if (failed.get()) {
+            // Another shard failed for good, so the document can not be completed
+            results.get(index).completeExceptionally(new CancellationException("An earlier shard failed"));
+            deleteQuietly(shards.get(index));
+            startNext(shards, job, results, next, failed);
+            return;
+        }
+        run(shards.get(index), job, 1).whenComplete((result, error) -> {
+            deleteQuietly(shards.get(index));
+            if (error != null) {
+                failed.set(true);
+                results.get(index).completeExceptionally(error);
+            } else {
+                results.get(index).complete(result);
+            }
+            startNext(shards, job, results, next, failed);
+        });
+    }
+
+    private <R> CompletableFuture<R> run(Asset shard, Function<Asset, CompletableFuture<R>> job, int attempt) {
+        jobCount.incrementAndGet();
+        return job.apply(shard)
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    if (attempt < maxAttempts) {
+                        LOGGER.warn("Job of a shard failed, retrying (attempt {} of {})", attempt + 1, maxAttempts,
+                                error);
+                        return run(shard, job, attempt + 1);
+                    }
+                    return CompletableFuture.<R>failedFuture(error);
+                })
+                .thenCompose(Function.identity());
+    }
+}
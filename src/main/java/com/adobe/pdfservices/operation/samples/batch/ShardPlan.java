@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import java.time.Duration;
+
+/**
+ * How a document is cut into shards of consecutive pages, as chosen by a {@link ShardPlanner}, with the estimated
+ * wall-clock time of processing it that way and as a single job.
+ */
+public final class ShardPlan {
+
+    private final int pageCount;
+    private final int shardSize;
+    private final int shardCount;
+    private final Duration estimatedDuration;
+    private final Duration estimatedSingleJobDuration;
+
+    ShardPlan(int pageCount, int shardSize, Duration estimatedDuration, Duration estimatedSingleJobDuration) {
+        this.pageCount = pageCount;
+        this.shardSize = shardSize;
+        this.shardCount = (pageCount + shardSize - 1) / shardSize;
+        this.estimatedDuration = estimatedDuration;
+        this.estimatedSingleJobDuration = estimatedSingleJobDuration;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Returns the number of pages of each shard; the last shard may have fewer.
+     *
+     * @return the shard size
+     */
+    public int getShardSize() {
+        return shardSize;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Returns the first page of a shard.
+     *
+     * @param shard index of the shard, from 0
+     * @return the page number, from 1
+     */
+    public int getFirstPage(int shard) {
+        return shard * shardSize + 1;
+    }
+
+    /**
+     * Returns the last page of a shard.
+     *
+     * @param shard index of the shard, from 0
+     * @return the page number, from 1
+     */
+    public int getLastPage(int shard) {
+        return Math.min(pageCount, (shard + 1) * shardSize);
+    }
+
+    /**
+     * Returns whether the document is processed as a single job, without splitting and combining.
+     *
+     * @return true if there is a single shard
+     */
+    public boolean isSingleShard() {
+        return shardCount == 1;
+    }
+
+    /**
+     * Returns the estimated time to split the document, process the shards and combine the results.
+     *
+     * @return the estimated duration of this plan
+     */
+    public Duration getEstimatedDuration() {
+        return estimatedDuration;
+    }
+
+    /**
+     * Returns the estimated time to process the whole document as a single job.
+     *
+     * @return the estimated duration without sharding
+     */
+    public Duration getEstimatedSingleJobDuration() {
+        return estimatedSingleJobDuration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d pages in %d shards of %d pages, estimated %ds instead of %ds", pageCount, shardCount,
+                shardSize, estimatedDuration.getSeconds(), estimatedSingleJobDuration.getSeconds());
+    }
+}
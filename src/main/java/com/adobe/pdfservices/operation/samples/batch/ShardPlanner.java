@@ -0,0 +1,208 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import java.time.Duration;
+
+/**
+ * Chooses how many pages each shard of a document gets, to process the document in the least wall-clock time.
+ * <p>
+ * The choice comes from a simple cost model. Every job costs a fixed overhead (submission, queueing on the service,
+ * status checks and transfers) plus a time per page. With shards of {@code s} pages, a document of {@code n} pages
+ * makes {@code k = ceil(n / s)} shards, processed in {@code ceil(k / c)} waves of at most {@code c} concurrent jobs,
+ * after one split job and, when the results are combined by Combine PDF jobs, before one level of combine jobs per
+ * factor of 20 shards:
+ * <pre>
+ *   T(s) = overhead                                      split
+ *        + ceil(k / c) * (overhead + s * pageTime)       processing, wave by wave
+ *        + ceil(log20(k)) * overhead                     combining
+ * </pre>
+ * A single shard needs no split or combine job, so {@code T(n) = overhead + n * pageTime}. Small shards pay the
+ * overhead many times, large ones leave concurrency unused; the planner evaluates every shard size and keeps the
+ * fastest, preferring fewer jobs when estimates are equal. Documents are split with one page range per shard, and a
+ * split accepts at most 100 page ranges, so plans have at most 100 shards. The defaults are rough figures for OCR of
+ * scanned pages; set them from measurements of the operation and account being used.
+ */
+public final class ShardPlanner {
+
+    /**
+     * Maximum number of shards, the number of page ranges a Split PDF job accepts.
+     */
+    public static final int MAX_SHARD_COUNT = 100;
+
+    private static final int COMBINE_FAN_IN = HierarchicalCombiner.MAX_FILES_PER_JOB;
+
+    private final int maxConcurrentJobs;
+    private final long jobOverheadMillis;
+    private final long pageTimeMillis;
+    private final int maxShardSize;
+    private final boolean combinedWithJobs;
+
+    private ShardPlanner(Builder builder) {
+        this.maxConcurrentJobs = builder.maxConcurrentJobs;
+        this.jobOverheadMillis = builder.jobOverhead.toMillis();
+        this.pageTimeMillis = builder.pageTime.toMillis();
+        this.maxShardSize = builder.maxShardSize;
+        this.combinedWithJobs = builder.combinedWithJobs;
+    }
+
+    /**
+     * Creates a new ShardPlanner builder.
+     *
+     * @return a ShardPlanner.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the maximum number of shard jobs run at the same time, as assumed by the cost model.
+     *
+     * @return the maximum number of concurrent jobs
+     */
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    /**
+     * Chooses the shard size with the least estimated wall-clock time for a document.
+     *
+     * @param pageCount number of pages of the document
+     * @return the chosen plan
+     */
+    public ShardPlan plan(int pageCount) {
+        if (pageCount < 1) {
+            throw new IllegalArgumentException("Page count must be at least 1");
+        }
+        long singleJobMillis = estimateMillis(pageCount, pageCount);
+        int bestShardSize = pageCount;
+        long bestMillis = pageCount <= maxShardSize ? singleJobMillis : Long.MAX_VALUE;
+        // Going down from the largest size keeps the fewest jobs among equal estimates
+        for (int shardSize = Math.min(pageCount - 1, maxShardSize); shardSize >= 1; shardSize--) {
+            if ((pageCount + shardSize - 1) / shardSize > MAX_SHARD_COUNT) {
+                break;
+            }
+            long millis = estimateMillis(pageCount, shardSize);
+            if (millis < bestMillis) {
+                bestMillis = millis;
+                bestShardSize = shardSize;
+            }
+        }
+        if (bestMillis == Long.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("%d pages do not fit in %d shards of at most %d pages",
+                    pageCount, MAX_SHARD_COUNT, maxShardSize));
+        }
+        return new ShardPlan(pageCount, bestShardSize, Duration.ofMillis(bestMillis),
+                Duration.ofMillis(singleJobMillis));
+    }
+
+    private long estimateMillis(int pageCount, int shardSize) {
+        int shardCount = (pageCount + shardSize - 1) / shardSize;
+        long shardMillis = jobOverheadMillis + shardSize * pageTimeMillis;
+        if (shardCount == 1) {
+            return shardMillis;
+        }
+        long waves = (shardCount + maxConcurrentJobs - 1) / maxConcurrentJobs;
+        int combineLevels = 0;
+        for (long combined = 1; combinedWithJobs && combined < shardCount; combined *= COMBINE_FAN_IN) {
+            combineLevels++;
+        }
+        return jobOverheadMillis + waves * shardMillis + combineLevels * jobOverheadMillis;
+    }
+
+    /**
+     * Builds a {@link ShardPlanner} instance.
+     */
+    public static class Builder {
+
+        private int maxConcurrentJobs = 10;
+        private Duration jobOverhead = Duration.ofSeconds(10);
+        private Duration pageTime = Duration.ofSeconds(2);
+        private int maxShardSize = Integer.MAX_VALUE;
+        private boolean combinedWithJobs = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of shard jobs run at the same time. Default value is 10.
+         *
+         * @param maxConcurrentJobs maximum number of concurrent jobs
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxConcurrentJobs(int maxConcurrentJobs) {
+            if (maxConcurrentJobs < 1) {
+                throw new IllegalArgumentException("Max concurrent jobs must be at least 1");
+            }
+            this.maxConcurrentJobs = maxConcurrentJobs;
+            return this;
+        }
+
+        /**
+         * Sets the fixed cost of a job, whatever its size. Default value is 10 seconds.
+         *
+         * @param jobOverhead time spent on a job besides processing its pages
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withJobOverhead(Duration jobOverhead) {
+            this.jobOverhead = jobOverhead;
+            return this;
+        }
+
+        /**
+         * Sets the processing time of one page. Default value is 2 seconds.
+         *
+         * @param pageTime time a job spends on each page
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withPageTime(Duration pageTime) {
+            this.pageTime = pageTime;
+            return this;
+        }
+
+        /**
+         * Sets the largest number of pages a shard may have, for operations with a page limit per job. By default
+         * there is no limit.
+         *
+         * @param maxShardSize maximum number of pages per shard
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxShardSize(int maxShardSize) {
+            if (maxShardSize < 1) {
+                throw new IllegalArgumentException("Max shard size must be at least 1");
+            }
+            this.maxShardSize = maxShardSize;
+            return this;
+        }
+
+        /**
+         * Sets whether the shard results are combined by Combine PDF jobs, which adds a level of jobs per factor of 20
+         * shards, or merged locally at no cost in jobs. Default value is true.
+         *
+         * @param combinedWithJobs true if the results are combined by jobs
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withCombinedWithJobs(boolean combinedWithJobs) {
+            this.combinedWithJobs = combinedWithJobs;
+            return this;
+        }
+
+        /**
+         * Returns a new ShardPlanner instance built from the current state of this builder.
+         *
+         * @return a new ShardPlanner instance
+         */
+        public ShardPlanner build() {
+            return new ShardPlanner(this);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.ExtractPDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractPDFParams;
+import com.adobe.pdfservices.operation.pdfjobs.result.ExtractPDFResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Extracts the content of a large PDF file as several smaller Extract PDF jobs running at the same time.
+ * <p>
+ * The document is split into shards of consecutive pages, one page range each, with a Split PDF job. Each shard is
+ * extracted by its own job with the same {@link ExtractPDFParams}, and the result ZIP files are merged locally by an
+ * {@link ExtractResultMerger} into one ZIP file with a single structuredData.json, renumbered as if the whole document
+ * had been extracted at once. Results are downloaded as soon as their job is done. The shard size comes from a
+ * {@link ShardPlanner}; small documents are extracted by a single job as usual.
+ * <p>
+ * At most {@link ShardPlanner#getMaxConcurrentJobs()} Extract PDF jobs run at a time. A shard whose job fails is
+ * retried on its own; if it still fails, no new shard is started and the returned future fails. Shards are deleted
+ * once extracted.
+ */
+public final class ShardedExtractPDF {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedExtractPDF.class);
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final ExtractPDFParams extractPDFParams;
+    private final ShardPlanner shardPlanner;
+    private final ShardJobs shardJobs;
+
+    private ShardedExtractPDF(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.extractPDFParams = builder.extractPDFParams;
+        this.shardPlanner = builder.shardPlanner;
+        this.shardJobs = new ShardJobs(asyncPDFServices, shardPlanner.getMaxConcurrentJobs(), builder.maxAttempts);
+    }
+
+    /**
+     * Creates a new ShardedExtractPDF builder.
+     *
+     * @param asyncPDFServices services the jobs are run with; can not be null.
+     * @return a ShardedExtractPDF.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices) {
+        return new Builder(asyncPDFServices);
+    }
+
+    /**
+     * Gets the page count of an uploaded PDF file with a PDF Properties job and plans its shards.
+     *
+     * @param asset the uploaded PDF file
+     * @return a future completed with the plan
+     */
+    public CompletableFuture<ShardPlan> planAsync(Asset asset) {
+        return shardJobs.getPageCountAsync(asset).thenApply(shardPlanner::plan);
+    }
+
+    /**
+     * Extracts the content of an uploaded PDF file with the given plan and writes the result ZIP file.
+     *
+     * @param asset      the uploaded PDF file
+     * @param plan       the shards to process, from {@link #planAsync(Asset)} or a {@link ShardPlanner}
+     * @param outputFile destination of the result ZIP file
+     * @return a future completed once the result ZIP file is written
+     */
+    public CompletableFuture<Void> extract(Asset asset, ShardPlan plan, Path outputFile) {
+        if (plan.isSingleShard()) {
+            return shardJobs.run(asset, this::extractShard)
+                    .thenCompose(asyncPDFServices::getContentAsync)
+                    .thenAccept(streamAsset -> {
+                        try {
+                            AssetSink.getInstance().write(streamAsset.getInputStream(), outputFile);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
+        LOGGER.debug("Extracting {}", plan);
+        return shardJobs.split(asset, plan)
+                .thenCompose(shards -> {
+                    List<CompletableFuture<Asset>> results = shardJobs.runEach(shards, this::extractShard);
+                    List<CompletableFuture<StreamAsset>> downloads = new ArrayList<>(results.size());
+                    for (CompletableFuture<Asset> result : results) {
+                        downloads.add(result.thenCompose(asyncPDFServices::getContentAsync));
+                    }
+                    return CompletableFuture.allOf(downloads.toArray(new CompletableFuture<?>[0]))
+                            .thenRun(() -> merge(plan, downloads, outputFile))
+                            .whenComplete((merged, error) -> {
+                                for (CompletableFuture<Asset> result : results) {
+                                    result.thenAccept(shardJobs::deleteQuietly);
+                                }
+                            });
+                });
+    }
+
+    /**
+     * Returns the number of jobs submitted so far, including page count lookups, splits and retries.
+     *
+     * @return the number of jobs
+     */
+    public int getJobCount() {
+        return shardJobs.getJobCount();
+    }
+
+    private CompletableFuture<Asset> extractShard(Asset shard) {
+        ExtractPDFJob extractPDFJob = new ExtractPDFJob(shard);
+        if (extractPDFParams != null) {
+            extractPDFJob.setParams(extractPDFParams);
+        }
+        return asyncPDFServices.executeAsync(extractPDFJob, ExtractPDFResult.class)
+                .thenApply(response -> response.getResult().getResource());
+    }
+
+    private static void merge(ShardPlan plan, List<CompletableFuture<StreamAsset>> downloads, Path outputFile) {
+        try (ExtractResultMerger merger = ExtractResultMerger.create(
+                new BufferedOutputStream(Files.newOutputStream(outputFile)))) {
+            for (int shard = 0; shard < downloads.size(); shard++) {
+                try (InputStream inputStream = downloads.get(shard).join().getInputStream()) {
+                    merger.add(inputStream, plan.getLastPage(shard) - plan.getFirstPage(shard) + 1);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds a {@link ShardedExtractPDF} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private ExtractPDFParams extractPDFParams;
+        private ShardPlanner shardPlanner = ShardPlanner.builder()
+                .withPageTime(Duration.ofSeconds(1))
+                .withCombinedWithJobs(false)
+                .build();
+        private int maxAttempts = 2;
+
+        private Builder(AsyncPDFServices asyncPDFServices) {
+            if (asyncPDFServices == null) {
+                throw new IllegalArgumentException("AsyncPDFServices can not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+        }
+
+        /**
+         * Sets the extraction parameters used for every shard. By default the service defaults are used.
+         *
+         * @param extractPDFParams elements and renditions to extract
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withExtractPDFParams(ExtractPDFParams extractPDFParams) {
+            this.extractPDFParams = extractPDFParams;
+            return this;
+        }
+
+        /**
+         * Sets the planner that chooses the shard size. By default, a planner with a page time of 1 second and no
+         * combine jobs is used, since results are merged locally.
+         *
+         * @param shardPlanner the shard planner
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withShardPlanner(ShardPlanner shardPlanner) {
+            this.shardPlanner = shardPlanner;
+            return this;
+        }
+
+        /**
+         * Sets how many times the Extract PDF job of a shard is run before giving up. Default value is 2.
+         *
+         * @param maxAttempts number of attempts per shard, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Returns a new ShardedExtractPDF instance built from the current state of this builder.
+         *
+         * @return a new ShardedExtractPDF instance
+         */
+        public ShardedExtractPDF build() {
+            return new ShardedExtractPDF(this);
+        }
+    }
+}
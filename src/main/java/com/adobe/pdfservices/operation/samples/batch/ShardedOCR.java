@@ -0,0 +1,192 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.OCRJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.ocr.OCRParams;
+import com.adobe.pdfservices.operation.pdfjobs.result.OCRResult;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs OCR on a large PDF file as several smaller jobs running at the same time.
+ * <p>
+ * A single OCR job processes the pages of a document one after the other, so a scan of a thousand pages is one long
+ * job. Here, the document is split into shards of consecutive pages with a Split PDF job, each shard is processed by
+ * its own OCR job with the same {@link OCRParams}, and the results are combined back in page order by a
+ * {@link HierarchicalCombiner}. The shard size comes from a {@link ShardPlanner}, which weighs the overhead of each
+ * extra job against the concurrency it brings; small documents are processed by a single job as usual.
+ * <p>
+ * At most {@link ShardPlanner#getMaxConcurrentJobs()} OCR jobs run at a time. A shard whose job fails is retried on
+ * its own; if it still fails, no new shard is started and the returned future fails. Shards and intermediate results
+ * are deleted once they are no longer needed.
+ */
+public final class ShardedOCR {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedOCR.class);
+
+    private final AsyncPDFServices asyncPDFServices;
+    private final OCRParams ocrParams;
+    private final ShardPlanner shardPlanner;
+    private final ShardJobs shardJobs;
+    private final AtomicInteger combineJobCount = new AtomicInteger();
+
+    private ShardedOCR(Builder builder) {
+        this.asyncPDFServices = builder.asyncPDFServices;
+        this.ocrParams = builder.ocrParams;
+        this.shardPlanner = builder.shardPlanner;
+        this.shardJobs = new ShardJobs(asyncPDFServices, shardPlanner.getMaxConcurrentJobs(), builder.maxAttempts);
+    }
+
+    /**
+     * Creates a new ShardedOCR builder.
+     *
+     * @param asyncPDFServices services the jobs are run with; can not be null.
+     * @return a ShardedOCR.Builder instance
+     */
+    public static Builder builder(AsyncPDFServices asyncPDFServices) {
+        return new Builder(asyncPDFServices);
+    }
+
+    /**
+     * Gets the page count of an uploaded PDF file with a PDF Properties job and plans its shards.
+     *
+     * @param asset the uploaded PDF file
+     * @return a future completed with the plan
+     */
+    public CompletableFuture<ShardPlan> planAsync(Asset asset) {
+        return shardJobs.getPageCountAsync(asset).thenApply(shardPlanner::plan);
+    }
+
+    /**
+     * Runs OCR on an uploaded PDF file, planning its shards first.
+     *
+     * @param asset the uploaded PDF file
+     * @return a future completed with the searchable PDF file
+     */
+    public CompletableFuture<Asset> ocr(Asset asset) {
+        return planAsync(asset).thenCompose(plan -> ocr(asset, plan));
+    }
+
+    /**
+     * Runs OCR on an uploaded PDF file with the given plan.
+     *
+     * @param asset the uploaded PDF file
+     * @param plan  the shards to process, from {@link #planAsync(Asset)} or a {@link ShardPlanner}
+     * @return a future completed with the searchable PDF file
+     */
+    public CompletableFuture<Asset> ocr(Asset asset, ShardPlan plan) {
+        if (plan.isSingleShard()) {
+            return shardJobs.run(asset, this::ocrShard);
+        }
+        LOGGER.debug("Running OCR on {}", plan);
+        return shardJobs.split(asset, plan)
+                .thenCompose(shards -> {
+                    List<HierarchicalCombiner.Input> inputs = new ArrayList<>();
+                    for (CompletableFuture<Asset> result : shardJobs.runEach(shards, this::ocrShard)) {
+                        inputs.add(HierarchicalCombiner.Input.ofIntermediate(result));
+                    }
+                    HierarchicalCombiner combiner = HierarchicalCombiner.builder(asyncPDFServices).build();
+                    return combiner.combine(inputs)
+                            .whenComplete((combined, error) -> combineJobCount.addAndGet(combiner.getJobCount()));
+                });
+    }
+
+    /**
+     * Returns the number of jobs submitted so far, including page count lookups, splits, retries and combines.
+     *
+     * @return the number of jobs
+     */
+    public int getJobCount() {
+        return shardJobs.getJobCount() + combineJobCount.get();
+    }
+
+    private CompletableFuture<Asset> ocrShard(Asset shard) {
+        OCRJob ocrJob = new OCRJob(shard);
+        if (ocrParams != null) {
+            ocrJob.setParams(ocrParams);
+        }
+        return asyncPDFServices.executeAsync(ocrJob, OCRResult.class)
+                .thenApply(response -> response.getResult().getAsset());
+    }
+
+    /**
+     * Builds a {@link ShardedOCR} instance.
+     */
+    public static class Builder {
+
+        private final AsyncPDFServices asyncPDFServices;
+        private OCRParams ocrParams;
+        private ShardPlanner shardPlanner = ShardPlanner.builder().build();
+        private int maxAttempts = 2;
+
+        private Builder(AsyncPDFServices asyncPDFServices) {
+            if (asyncPDFServices == null) {
+                throw new IllegalArgumentException("AsyncPDFServices can not be null");
+            }
+            this.asyncPDFServices = asyncPDFServices;
+        }
+
+        /**
+         * Sets the OCR parameters used for every shard. By default the service defaults are used.
+         *
+         * @param ocrParams locale and type of the OCR
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withOCRParams(OCRParams ocrParams) {
+            this.ocrParams = ocrParams;
+            return this;
+        }
+
+        /**
+         * Sets the planner that chooses the shard size. By default, a planner with the default cost model is used.
+         *
+         * @param shardPlanner the shard planner
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withShardPlanner(ShardPlanner shardPlanner) {
+            this.shardPlanner = shardPlanner;
+            return this;
+        }
+
+        /**
+         * Sets how many times the OCR job of a shard is run before giving up. Default value is 2.
+         *
+         * @param maxAttempts number of attempts per shard, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Returns a new ShardedOCR instance built from the current state of this builder.
+         *
+         * @return a new ShardedOCR instance
+         */
+        public ShardedOCR build() {
+            return new ShardedOCR(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+/**
+ * Point-in-time snapshot of the counters of one stage of a {@link BatchPipeline}.
+ */
+public final class StageStatistics {
+
+    private final String name;
+    private final int queueDepth;
+    private final int activeCount;
+    private final long processedCount;
+    private final long failedCount;
+
+    StageStatistics(String name, int queueDepth, int activeCount, long processedCount, long failedCount) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.activeCount = activeCount;
+        this.processedCount = processedCount;
+        this.failedCount = failedCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of items waiting in the queue of the stage.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Returns the number of items being processed by the stage.
+     *
+     * @return the number of busy workers
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[queued=%d active=%d processed=%d failed=%d]",
+                name, queueDepth, activeCount, processedCount, failedCount);
+    }
+}
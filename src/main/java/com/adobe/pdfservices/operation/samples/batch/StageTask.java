@@ -0,0 +1,30 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.batch;
+
+/**
+ * The work done on an item by one stage of a {@link BatchPipeline}.
+ *
+ * @param <T> type of the items flowing through the pipeline
+ */
+@FunctionalInterface
+public interface StageTask<T> {
+
+    /**
+     * Processes an item, typically by making one blocking call and recording its outcome on the item for the next
+     * stage.
+     *
+     * @param item the item to process
+     * @throws Exception if the item can not be processed; it then leaves the pipeline as failed
+     */
+    void process(T item) throws Exception;
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import java.time.Instant;
+
+/**
+ * An access token issued by the PDF Services token endpoint, together with the instants at which
+ * {@link AccessTokenManager} refreshes it and stops handing it out.
+ */
+public final class AccessToken {
+
+    private final String value;
+    private final Instant expiresAt;
+    private final Instant refreshAt;
+    private final Instant usableUntil;
+
+    AccessToken(String value, Instant expiresAt, Instant refreshAt, Instant usableUntil) {
+        this.value = value;
+        this.expiresAt = expiresAt;
+        this.refreshAt = refreshAt;
+        this.usableUntil = usableUntil;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    Instant getRefreshAt() {
+        return refreshAt;
+    }
+
+    boolean isUsableAt(Instant instant) {
+        return instant.isBefore(usableUntil);
+    }
+
+    boolean isDueForRefreshAt(Instant instant) {
+        return !instant.isBefore(refreshAt);
+    }
+
+    // The token value is deliberately left out so that tokens can be logged safely
+    @Override
+    public String toString() {
+        return "AccessToken{expiresAt=" + expiresAt + "}";
+    }
+}
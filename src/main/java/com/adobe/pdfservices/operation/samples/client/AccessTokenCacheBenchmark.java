@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.PDFServicesResponse;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.exception.ServiceUsageException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.CreatePDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.result.CreatePDFResult;
+import com.adobe.pdfservices.operation.samples.localserver.LocalPDFServicesServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This sample runs jobs from several threads for a while, with access tokens that expire every few seconds. Before
+ * each job, the thread looks up a token as calls made without the SDK do, and the sample reports the latencies of
+ * these lookups together with the token cache counters of {@link AccessTokenManager}.
+ * <p>
+ * With background refresh, misses only happen while the threads wait for the very first token, which a single fetch
+ * serves, however many tokens expire during the run; the slow token endpoint does not show up in the lookup latency
+ * percentiles.
+ * <p>
+ * Optional arguments: run time in seconds (default 20), number of threads (default 8), token lifetime in seconds
+ * (default 4) and token latency in milliseconds (default 300).
+ */
+public class AccessTokenCacheBenchmark {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessTokenCacheBenchmark.class);
+
+    public static void main(String[] args) {
+        long runSeconds = args.length > 0 ? Long.parseLong(args[0]) : 20;
+        int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long tokenLifetimeSeconds = args.length > 2 ? Long.parseLong(args[2]) : 4;
+        long tokenLatencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 300;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try (LocalPDFServicesServer server = LocalPDFServicesServer.builder()
+                .withTokenExpiresIn(tokenLifetimeSeconds)
+                .withTokenLatency(Duration.ofMillis(tokenLatencyMillis))
+                .build()
+                .start()) {
+            byte[] input = Files.readAllBytes(Paths.get("src/main/resources/createPDFInput.docx"));
+            ClientSettings clientSettings = ClientSettings.builder()
+                    .withCredentials("local-client-id", "local-client-secret")
+                    .withPDFServicesUri(server.getBaseUri())
+                    .build();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(runSeconds);
+            List<Future<List<Long>>> workers = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                workers.add(executor.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        PDFServicesClientRegistry.getInstance().getAccessToken(clientSettings);
+                        latencies.add(System.nanoTime() - start);
+                        runJob(PDFServicesClientRegistry.getInstance().getClient(clientSettings), input);
+                    }
+                    return latencies;
+                }));
+            }
+
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> worker : workers) {
+                latencies.addAll(worker.get());
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            LOGGER.info(String.format("lookups=%d p50=%.1fms p99=%.1fms max=%.1fms token requests=%d",
+                    sorted.length, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                    sorted[sorted.length - 1] / 1e6, server.getTokenRequestCount()));
+            LOGGER.info("Token cache: {}", PDFServicesClientRegistry.getInstance().getTokenStatistics(clientSettings));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (ExecutionException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void runJob(PDFServices pdfServices, byte[] input)
+            throws ServiceApiException, IOException, ServiceUsageException {
+        Asset asset = pdfServices.upload(new ByteArrayInputStream(input), PDFServicesMediaType.DOCX.getMediaType());
+        String location = pdfServices.submit(new CreatePDFJob(asset));
+        PDFServicesResponse<CreatePDFResult> pdfServicesResponse = pdfServices.getJobResult(location, CreatePDFResult.class);
+        StreamAsset streamAsset = pdfServices.getContent(pdfServicesResponse.getResult().getAsset());
+        try (InputStream inputStream = streamAsset.getInputStream()) {
+            inputStream.readAllBytes();
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.exception.SDKException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the access token for a set of {@link ClientSettings} and refreshes it in the background before it expires.
+ * <p>
+ * The SDK's own authenticator fetches a new token on the calling thread once the current one is close to expiry, so
+ * a burst of jobs that straddles the expiry pays the token round trip, possibly once per thread. This manager instead
+ * schedules a refresh ahead of expiry on its own thread and keeps handing out the current token meanwhile, so callers
+ * only ever wait when no usable token exists at all, such as on first use. Concurrent refresh requests share a single
+ * in-flight fetch.
+ * <p>
+ * A failed refresh is retried after {@link Builder#withRetryInterval(Duration) retryInterval}, doubled after each
+ * further failure up to {@link Builder#withMaxRetryInterval(Duration) maxRetryInterval}. While a retry is pending and
+ * no usable token is cached, callers get the last refresh failure at once instead of each calling the token endpoint.
+ * <p>
+ * Instances are thread-safe. Call {@link #close()} to stop the refresh thread.
+ */
+public final class AccessTokenManager implements AutoCloseable {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessTokenManager.class);
+
+    private static final String TOKEN_ENDPOINT = "token";
+    private static final Duration EXPIRY_SKEW = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_REFRESH_MARGIN = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_RETRY_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_MAX_RETRY_INTERVAL = Duration.ofMinutes(5);
+
+    private final ClientSettings clientSettings;
+    private final Duration refreshMargin;
+    private final Duration retryInterval;
+    private final Duration maxRetryInterval;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService refreshExecutor;
+
+    private final AtomicReference<CompletableFuture<AccessToken>> inFlightRefresh = new AtomicReference<>();
+    private volatile AccessToken currentToken;
+    private volatile ScheduledFuture<?> scheduledRefresh;
+    private volatile Exception lastRefreshFailure;
+    // Only used on the refresh thread
+    private int consecutiveFailures;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong totalRefreshNanos = new AtomicLong();
+    private final AtomicLong maxRefreshNanos = new AtomicLong();
+
+    private AccessTokenManager(Builder builder) {
+        this.clientSettings = builder.clientSettings;
+        this.refreshMargin = builder.refreshMargin;
+        this.retryInterval = builder.retryInterval;
+        this.maxRetryInterval = builder.maxRetryInterval;
+        this.httpClient = createHttpClient(clientSettings);
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pdfservices-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a new AccessTokenManager builder.
+     *
+     * @param clientSettings credentials and client configuration to fetch tokens for; can not be null.
+     * @return an AccessTokenManager.Builder instance
+     */
+    public static Builder builder(ClientSettings clientSettings) {
+        return new Builder(clientSettings);
+    }
+
+    /**
+     * Returns a usable access token.
+     * <p>
+     * The cached token is returned without blocking while it is usable; if it is due for refresh and no refresh is
+     * scheduled or running, one is started in the background. The caller only blocks if no usable token is cached.
+     *
+     * @return a usable access token
+     * @throws SDKException if a token had to be fetched and the fetch failed, or if no usable token is cached and the
+     *                      last refresh failed and its retry is still pending
+     */
+    public AccessToken getAccessToken() {
+        AccessToken token = currentToken;
+        Instant now = Instant.now();
+        if (token != null && token.isUsableAt(now)) {
+            hits.increment();
+            if (token.isDueForRefreshAt(now) && lastRefreshFailure == null) {
+                // The scheduled refresh is late; after a failure, its retry is already scheduled
+                refreshAsync();
+            }
+            return token;
+        }
+        misses.increment();
+        Exception failure = lastRefreshFailure;
+        if (failure != null && inFlightRefresh.get() == null) {
+            throw new SDKException("Unable to fetch access token, the last refresh failed", failure);
+        }
+        try {
+            return refreshAsync().join();
+        } catch (CompletionException e) {
+            throw new SDKException("Unable to fetch access token", e.getCause());
+        }
+    }
+
+    /**
+     * Starts a token refresh unless one is already in flight.
+     *
+     * @return a future completed with the refreshed token; shared by all concurrent callers
+     */
+    public CompletableFuture<AccessToken> refreshAsync() {
+        while (true) {
+            CompletableFuture<AccessToken> inFlight = inFlightRefresh.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            CompletableFuture<AccessToken> refresh = new CompletableFuture<>();
+            if (inFlightRefresh.compareAndSet(null, refresh)) {
+                refreshExecutor.execute(() -> refresh(refresh));
+                return refresh;
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the current statistics
+     */
+    public TokenCacheStatistics getStatistics() {
+        return new TokenCacheStatistics(hits.sum(), misses.sum(), refreshes.get(), refreshFailures.get(),
+                totalRefreshNanos.get(), maxRefreshNanos.get());
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void refresh(CompletableFuture<AccessToken> refresh) {
+        long start = System.nanoTime();
+        try {
+            AccessToken token = fetchToken();
+            long elapsed = System.nanoTime() - start;
+            refreshes.incrementAndGet();
+            totalRefreshNanos.addAndGet(elapsed);
+            maxRefreshNanos.accumulateAndGet(elapsed, Math::max);
+            currentToken = token;
+            consecutiveFailures = 0;
+            lastRefreshFailure = null;
+            scheduleRefresh(Duration.between(Instant.now(), token.getRefreshAt()));
+            LOGGER.debug("Access token refreshed in {} ms, expires at {}", elapsed / 1_000_000, token.getExpiresAt());
+            inFlightRefresh.set(null);
+            refresh.complete(token);
+        } catch (IOException | RuntimeException e) {
+            refreshFailures.incrementAndGet();
+            Duration delay = nextRetryDelay();
+            LOGGER.warn("Exception encountered while refreshing access token, retrying in {}", delay, e);
+            lastRefreshFailure = e;
+            scheduleRefresh(delay);
+            inFlightRefresh.set(null);
+            refresh.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlightRefresh.set(null);
+            refresh.completeExceptionally(e);
+        }
+    }
+
+    // Doubles the retry interval after each consecutive failure, up to the maximum
+    private Duration nextRetryDelay() {
+        int doublings = Math.min(consecutiveFailures++, 30);
+        Duration delay = retryInterval.multipliedBy(1L << doublings);
+        return min(delay, maxRetryInterval);
+    }
+
+    private void scheduleRefresh(Duration delay) {
+        ScheduledFuture<?> previous = scheduledRefresh;
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (!refreshExecutor.isShutdown()) {
+            scheduledRefresh = refreshExecutor.schedule(this::refreshAsync,
+                    Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private AccessToken fetchToken() throws IOException, InterruptedException {
+        String form = "client_id=" + URLEncoder.encode(clientSettings.getClientId(), StandardCharsets.UTF_8)
+                + "&client_secret=" + URLEncoder.encode(clientSettings.getClientSecret(), StandardCharsets.UTF_8);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(clientSettings.getPdfServicesUri() + "/" + TOKEN_ENDPOINT))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("x-request-id", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+        if (clientSettings.getSocketTimeout() != null) {
+            request.timeout(Duration.ofMillis(clientSettings.getSocketTimeout()));
+        }
+
+        Instant requestedAt = Instant.now();
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(String.format("Token endpoint returned status %d: %s",
+                    response.statusCode(), response.body()));
+        }
+        JSONObject body = new JSONObject(response.body());
+        Duration lifetime = Duration.ofSeconds(body.getLong("expires_in"));
+
+        // Short-lived tokens are refreshed half way through and retired a quarter before expiry
+        Instant expiresAt = requestedAt.plus(lifetime);
+        Instant refreshAt = expiresAt.minus(min(refreshMargin, lifetime.dividedBy(2)));
+        Instant usableUntil = expiresAt.minus(min(EXPIRY_SKEW, lifetime.dividedBy(4)));
+        return new AccessToken(body.getString("access_token"), expiresAt, refreshAt, usableUntil);
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    // Also used for the other direct HTTP calls, so that they go through the same proxy
+    static HttpClient createHttpClient(ClientSettings clientSettings) {
+        HttpClient.Builder builder = HttpClient.newBuilder();
+        if (clientSettings.getConnectTimeout() != null) {
+            builder.connectTimeout(Duration.ofMillis(clientSettings.getConnectTimeout()));
+        }
+        if (clientSettings.hasProxyServer()) {
+            builder.proxy(ProxySelector.of(new InetSocketAddress(clientSettings.getProxyHost(),
+                    clientSettings.getEffectiveProxyPort())));
+            if (clientSettings.getProxyUsername() != null) {
+                PasswordAuthentication credentials = new PasswordAuthentication(clientSettings.getProxyUsername(),
+                        clientSettings.getProxyPassword() != null ? clientSettings.getProxyPassword().toCharArray() : new char[0]);
+                builder.authenticator(new Authenticator() {
+                    @Override
+                    protected PasswordAuthentication getPasswordAuthentication() {
+                        return getRequestorType() == RequestorType.PROXY ? credentials : null;
+                    }
+                });
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds an {@link AccessTokenManager} instance.
+     */
+    public static class Builder {
+
+        private final ClientSettings clientSettings;
+        private Duration refreshMargin = DEFAULT_REFRESH_MARGIN;
+        private Duration retryInterval = DEFAULT_RETRY_INTERVAL;
+        private Duration maxRetryInterval = DEFAULT_MAX_RETRY_INTERVAL;
+
+        private Builder(ClientSettings clientSettings) {
+            if (clientSettings == null) {
+                throw new IllegalArgumentException("Client settings can not be null");
+            }
+            this.clientSettings = clientSettings;
+        }
+
+        /**
+         * Sets how long before expiry the token is refreshed. Tokens whose lifetime is shorter than twice this margin
+         * are refreshed half way through their lifetime. Default value is 5 minutes.
+         *
+         * @param refreshMargin time before expiry at which to refresh
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withRefreshMargin(Duration refreshMargin) {
+            this.refreshMargin = refreshMargin;
+            return this;
+        }
+
+        /**
+         * Sets how long to wait before retrying a failed background refresh. The delay doubles after each further
+         * failure, up to {@link #withMaxRetryInterval(Duration)}. Default value is 10 seconds.
+         *
+         * @param retryInterval delay before retrying a failed refresh the first time
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withRetryInterval(Duration retryInterval) {
+            this.retryInterval = retryInterval;
+            return this;
+        }
+
+        /**
+         * Sets the longest wait between retries of a refresh that keeps failing. Default value is 5 minutes.
+         *
+         * @param maxRetryInterval upper bound of the delay before retrying a failed refresh
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxRetryInterval(Duration maxRetryInterval) {
+            this.maxRetryInterval = maxRetryInterval;
+            return this;
+        }
+
+        /**
+         * Returns a new AccessTokenManager instance built from the current state of this builder.
+         *
+         * @return a new AccessTokenManager instance
+         */
+        public AccessTokenManager build() {
+            return new AccessTokenManager(this);
+        }
+    }
+}
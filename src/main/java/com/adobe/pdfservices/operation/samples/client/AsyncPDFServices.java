@@ -0,0 +1,225 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesJob;
+import com.adobe.pdfservices.operation.PDFServicesResponse;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Asynchronous facade over {@link PDFServices} that returns {@link CompletableFuture}s instead of blocking the caller.
+ * <p>
+ * {@link PDFServices#getJobResult(String, Class)} sleeps on the calling thread between status checks, so the number
+ * of jobs in flight is bounded by the number of threads. This facade instead checks the job status with
+ * {@link PDFServices#getJobStatus(String)} from a {@link HashedWheelJobPoller}, which schedules the next check after
+ * the retry interval returned by the service; no thread is held while a job is running. The HTTP calls themselves run on
+ * an executor created by {@link BlockingCallExecutors}: virtual threads on Java 21 with the {@code java21} Maven
+ * profile, a bounded pool of platform threads otherwise.
+ * <p>
+ * Each call looks up the client in {@link PDFServicesClientRegistry}, so long-running batches always use the current
+ * access token. Call {@link #close()} to release the threads.
+ */
+public final class AsyncPDFServices implements AutoCloseable {
+
+    private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(1);
+
+    private final ClientSettings clientSettings;
+    private final ExecutorService executor;
+    private final HashedWheelJobPoller poller;
+    private final ChannelAssetUploader uploader;
+
+    private AsyncPDFServices(Builder builder) {
+        this.clientSettings = builder.clientSettings;
+        this.uploader = ChannelAssetUploader.create(clientSettings);
+        this.executor = BlockingCallExecutors.newExecutor("pdfservices-async", builder.maxThreads);
+        this.poller = HashedWheelJobPoller.builder(clientSettings)
+                .withDefaultPollInterval(builder.defaultPollInterval)
+                .withStatusExecutor(executor)
+                .build();
+    }
+
+    /**
+     * Creates a new AsyncPDFServices builder.
+     *
+     * @param clientSettings credentials and client configuration; can not be null.
+     * @return an AsyncPDFServices.Builder instance
+     */
+    public static Builder builder(ClientSettings clientSettings) {
+        return new Builder(clientSettings);
+    }
+
+    /**
+     * Uploads content asynchronously.
+     *
+     * @param inputStream content to upload; closed by the caller once the future completes
+     * @param mediaType   media type of the content
+     * @return a future completed with the uploaded asset
+     */
+    public CompletableFuture<Asset> uploadAsync(InputStream inputStream, String mediaType) {
+        return call(pdfServices -> pdfServices.upload(inputStream, mediaType));
+    }
+
+    /**
+     * Uploads a file or a region of a file asynchronously with a {@link ChannelAssetUploader}, without buffering it
+     * in the heap.
+     *
+     * @param uploadSource content to upload
+     * @return a future completed with the uploaded asset
+     */
+    public CompletableFuture<Asset> uploadAsync(UploadSource uploadSource) {
+        return call(pdfServices -> uploader.upload(uploadSource));
+    }
+
+    /**
+     * Submits a job asynchronously.
+     *
+     * @param job job to submit
+     * @return a future completed with the polling URL of the job
+     */
+    public CompletableFuture<String> submitAsync(PDFServicesJob job) {
+        return call(pdfServices -> pdfServices.submit(job));
+    }
+
+    /**
+     * Waits asynchronously for a submitted job to finish and fetches its result.
+     *
+     * @param location    polling URL returned on submission
+     * @param resultClass class of the job result, for example {@code CreatePDFResult.class}
+     * @param <T>         type of the job result
+     * @return a future completed with the job result, or completed exceptionally with a
+     * {@link ServiceApiException} if the job failed
+     */
+    public <T> CompletableFuture<PDFServicesResponse<T>> getJobResultAsync(String location, Class<T> resultClass) {
+        // Once the job is done, getJobResult returns after a single status request
+        return poller.track(location)
+                .thenCompose(status -> call(pdfServices -> pdfServices.getJobResult(location, resultClass)));
+    }
+
+    /**
+     * Submits a job and asynchronously waits for its result.
+     *
+     * @param job         job to submit
+     * @param resultClass class of the job result, for example {@code CreatePDFResult.class}
+     * @param <T>         type of the job result
+     * @return a future completed with the job result
+     */
+    public <T> CompletableFuture<PDFServicesResponse<T>> executeAsync(PDFServicesJob job, Class<T> resultClass) {
+        return submitAsync(job).thenCompose(location -> getJobResultAsync(location, resultClass));
+    }
+
+    /**
+     * Downloads the content of an asset asynchronously.
+     *
+     * @param asset asset to download
+     * @return a future completed with the content of the asset
+     */
+    public CompletableFuture<StreamAsset> getContentAsync(Asset asset) {
+        return call(pdfServices -> pdfServices.getContent(asset));
+    }
+
+    /**
+     * Deletes an asset asynchronously, for example an intermediate result that is no longer needed.
+     *
+     * @param asset asset to delete
+     * @return a future completed once the asset is deleted
+     */
+    public CompletableFuture<Void> deleteAssetAsync(Asset asset) {
+        return call(pdfServices -> {
+            pdfServices.deleteAsset(asset);
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        poller.close();
+        executor.shutdownNow();
+    }
+
+    private <R> CompletableFuture<R> call(ServiceCall<R> serviceCall) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return serviceCall.call(PDFServicesClientRegistry.getInstance().getClient(clientSettings));
+            } catch (ServiceApiException | IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private interface ServiceCall<R> {
+
+        R call(PDFServices pdfServices) throws ServiceApiException, IOException;
+    }
+
+    /**
+     * Builds an {@link AsyncPDFServices} instance.
+     */
+    public static class Builder {
+
+        private final ClientSettings clientSettings;
+        private int maxThreads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        private Duration defaultPollInterval = DEFAULT_POLL_INTERVAL;
+
+        private Builder(ClientSettings clientSettings) {
+            if (clientSettings == null) {
+                throw new IllegalArgumentException("Client settings can not be null");
+            }
+            this.clientSettings = clientSettings;
+        }
+
+        /**
+         * Sets the number of platform threads making HTTP calls. Ignored when virtual threads are used. Default value
+         * is twice the number of processors, and at least 4.
+         *
+         * @param maxThreads number of platform threads
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxThreads(int maxThreads) {
+            if (maxThreads < 1) {
+                throw new IllegalArgumentException("Max threads must be at least 1");
+            }
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        /**
+         * Sets the interval between status checks when the service does not return one. Default value is 1 second.
+         *
+         * @param defaultPollInterval interval between status checks
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withDefaultPollInterval(Duration defaultPollInterval) {
+            this.defaultPollInterval = defaultPollInterval;
+            return this;
+        }
+
+        /**
+         * Returns a new AsyncPDFServices instance built from the current state of this builder.
+         *
+         * @return a new AsyncPDFServices instance
+         */
+        public AsyncPDFServices build() {
+            return new AsyncPDFServices(this);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.PDFServicesResponse;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.CreatePDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.result.CreatePDFResult;
+import com.adobe.pdfservices.operation.samples.localserver.LocalPDFServicesServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This sample runs the same number of jobs with the same number of threads twice: once blocking a thread in
+ * {@link PDFServices#getJobResult(String, Class)} per job, and once through {@link AsyncPDFServices}, which holds no
+ * thread while a job is in progress.
+ * <p>
+ * Jobs run against an embedded {@link LocalPDFServicesServer} that keeps each job in progress for a while, so no
+ * credentials or network are needed.
+ * <p>
+ * Optional arguments: number of jobs (default 40), number of threads (default 4) and job duration in seconds
+ * (default 2).
+ */
+public class AsyncPDFServicesBenchmark {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncPDFServicesBenchmark.class);
+
+    public static void main(String[] args) {
+        int jobCount = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long jobSeconds = args.length > 2 ? Long.parseLong(args[2]) : 2;
+
+        try (LocalPDFServicesServer server = LocalPDFServicesServer.builder()
+                .withJobDuration(Duration.ofSeconds(jobSeconds))
+                .build()
+                .start()) {
+            byte[] input = Files.readAllBytes(Paths.get("src/main/resources/createPDFInput.docx"));
+            ClientSettings clientSettings = ClientSettings.builder()
+                    .withCredentials("local-client-id", "local-client-secret")
+                    .withPDFServicesUri(server.getBaseUri())
+                    .build();
+
+            long blockingNanos = runBlocking(clientSettings, input, jobCount, threadCount);
+            long asyncNanos = runAsync(clientSettings, input, jobCount, threadCount);
+
+            LOGGER.info(String.format("blocking: %d jobs on %d threads in %.1fs (%.1f jobs/s)",
+                    jobCount, threadCount, blockingNanos / 1e9, jobCount / (blockingNanos / 1e9)));
+            LOGGER.info(String.format("async:    %d jobs on %d threads in %.1fs (%.1f jobs/s)",
+                    jobCount, threadCount, asyncNanos / 1e9, jobCount / (asyncNanos / 1e9)));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (ExecutionException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long runBlocking(ClientSettings clientSettings, byte[] input, int jobCount, int threadCount)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            long start = System.nanoTime();
+            List<Future<CreatePDFResult>> results = new ArrayList<>();
+            for (int i = 0; i < jobCount; i++) {
+                results.add(executor.submit(() -> {
+                    PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
+                    Asset asset = pdfServices.upload(new ByteArrayInputStream(input), PDFServicesMediaType.DOCX.getMediaType());
+                    String location = pdfServices.submit(new CreatePDFJob(asset));
+                    return pdfServices.getJobResult(location, CreatePDFResult.class).getResult();
+                }));
+            }
+            for (Future<CreatePDFResult> result : results) {
+                result.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long runAsync(ClientSettings clientSettings, byte[] input, int jobCount, int threadCount)
+            throws InterruptedException, ExecutionException {
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(clientSettings)
+                .withMaxThreads(threadCount)
+                .build()) {
+            long start = System.nanoTime();
+            List<CompletableFuture<PDFServicesResponse<CreatePDFResult>>> results = new ArrayList<>();
+            for (int i = 0; i < jobCount; i++) {
+                results.add(asyncPDFServices
+                        .uploadAsync(new ByteArrayInputStream(input), PDFServicesMediaType.DOCX.getMediaType())
+                        .thenCompose(asset -> asyncPDFServices.executeAsync(new CreatePDFJob(asset), CreatePDFResult.class)));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get();
+            return System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors on which the blocking SDK calls (upload, submit, status, download) are made.
+ * <p>
+ * When the {@code pdfservices.samples.virtualThreads} system property is true and the runtime supports them (Java 21
+ * and later), every call runs on its own virtual thread. The {@code java21} Maven profile sets this property. Otherwise
+ * a bounded pool of platform daemon threads is used.
+ */
+final class BlockingCallExecutors {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockingCallExecutors.class);
+
+    static final String VIRTUAL_THREADS_PROPERTY = "pdfservices.samples.virtualThreads";
+
+    private BlockingCallExecutors() {
+    }
+
+    /**
+     * Creates an executor for blocking calls.
+     *
+     * @param name       prefix of the thread names
+     * @param maxThreads number of platform threads, when virtual threads are not used
+     * @return a new executor
+     */
+    static ExecutorService newExecutor(String name, int maxThreads) {
+        if (Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY)) {
+            ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor != null) {
+                LOGGER.debug("Using virtual threads for {}", name);
+                return virtualThreadExecutor;
+            }
+            LOGGER.warn("Virtual threads are not supported by this runtime, using {} platform threads for {}",
+                    maxThreads, name);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(maxThreads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Looked up reflectively so that the samples still compile for, and run on, Java 11
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
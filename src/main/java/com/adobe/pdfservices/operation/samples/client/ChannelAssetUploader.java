@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.CloudAsset;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Uploads {@link UploadSource}s to PDF Services without buffering them in the heap.
+ * <p>
+ * The upload follows the same two steps as {@link com.adobe.pdfservices.operation.PDFServices#upload}: it asks the
+ * {@code assets} endpoint for a pre-signed upload URI, then sends the content to that URI. The content is sent with
+ * a fixed {@code Content-Length} straight from the mapped file, where the SDK first reads the whole input stream into
+ * a byte array. The returned {@link Asset} can be used with any SDK job.
+ * <p>
+ * Access tokens come from {@link PDFServicesClientRegistry}, so uploads share the token cache of the pooled clients.
+ */
+public final class ChannelAssetUploader {
+
+    private static final String ASSETS_ENDPOINT = "assets";
+
+    private final ClientSettings clientSettings;
+    private final HttpClient httpClient;
+
+    private ChannelAssetUploader(ClientSettings clientSettings) {
+        this.clientSettings = clientSettings;
+        this.httpClient = AccessTokenManager.createHttpClient(clientSettings);
+    }
+
+    /**
+     * Creates an uploader for the given settings.
+     *
+     * @param clientSettings credentials and client configuration; can not be null.
+     * @return a ChannelAssetUploader instance
+     */
+    public static ChannelAssetUploader create(ClientSettings clientSettings) {
+        if (clientSettings == null) {
+            throw new IllegalArgumentException("Client settings can not be null");
+        }
+        return new ChannelAssetUploader(clientSettings);
+    }
+
+    /**
+     * Uploads the content of the source.
+     *
+     * @param uploadSource content to upload
+     * @return the uploaded asset
+     * @throws ServiceApiException if the service rejects the upload
+     * @throws IOException         if the content can not be read or sent
+     */
+    public Asset upload(UploadSource uploadSource) throws ServiceApiException, IOException {
+        String requestId = UUID.randomUUID().toString();
+        String accessToken = PDFServicesClientRegistry.getInstance().getAccessToken(clientSettings).getValue();
+
+        HttpRequest createAsset = newRequest(URI.create(clientSettings.getPdfServicesUri() + "/" + ASSETS_ENDPOINT))
+                .header("Authorization", "Bearer " + accessToken)
+                .header("x-api-key", clientSettings.getClientId())
+                .header("x-request-id", requestId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        new JSONObject().put("mediaType", uploadSource.getMediaType()).toString()))
+                .build();
+        HttpResponse<String> createAssetResponse = send(createAsset, HttpResponse.BodyHandlers.ofString());
+        if (createAssetResponse.statusCode() / 100 != 2) {
+            throw toServiceApiException(createAssetResponse, requestId);
+        }
+        JSONObject body = new JSONObject(createAssetResponse.body());
+        String uploadUri = body.getString("uploadUri");
+        String assetId = body.getString("assetID");
+
+        HttpRequest uploadContent = newRequest(URI.create(uploadUri))
+                .header("Content-Type", uploadSource.getMediaType())
+                .PUT(uploadSource.toBodyPublisher())
+                .build();
+        HttpResponse<String> uploadResponse = send(uploadContent, HttpResponse.BodyHandlers.ofString());
+        if (uploadResponse.statusCode() / 100 != 2) {
+            throw new SDKException(String.format("Unexpected error while uploading file, status %d",
+                    uploadResponse.statusCode()));
+        }
+        return new CloudAsset(assetId, null);
+    }
+
+    private HttpRequest.Builder newRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if (clientSettings.getSocketTimeout() != null) {
+            builder.timeout(Duration.ofMillis(clientSettings.getSocketTimeout()));
+        }
+        return builder;
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SDKException("Interrupted while uploading file", e);
+        }
+    }
+
+    private static ServiceApiException toServiceApiException(HttpResponse<String> response, String requestId) {
+        try {
+            JSONObject error = new JSONObject(response.body()).getJSONObject("error");
+            return new ServiceApiException(error.optString("message"), requestId, response.statusCode(),
+                    error.optString("code"));
+        } catch (JSONException e) {
+            return new ServiceApiException(response.body(), requestId, response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.Region;
+import com.adobe.pdfservices.operation.config.ClientConfig;
+import com.adobe.pdfservices.operation.config.proxy.ProxyScheme;
+import com.adobe.pdfservices.operation.config.proxy.ProxyServerConfig;
+import com.adobe.pdfservices.operation.config.proxy.UsernamePasswordCredentials;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Immutable description of everything that identifies a PDF Services client: the service principal credentials and
+ * the client configuration (region, timeouts, proxy server and service URI).
+ * <p>
+ * Two instances built from the same values are equal, which makes this class suitable as the key under which
+ * {@link PDFServicesClientRegistry} pools long-lived {@link com.adobe.pdfservices.operation.PDFServices} instances.
+ */
+public final class ClientSettings {
+
+    private static final String US_URI = "https://pdf-services.adobe.io";
+    private static final String EU_URI = "https://pdf-services-ew1.adobe.io";
+
+    private final String clientId;
+    private final String clientSecret;
+    private final Region region;
+    private final Integer connectTimeout;
+    private final Integer socketTimeout;
+    private final String proxyHost;
+    private final Integer proxyPort;
+    private final ProxyScheme proxyScheme;
+    private final String proxyUsername;
+    private final String proxyPassword;
+    private final String pdfServicesUri;
+
+    private ClientSettings(Builder builder) {
+        this.clientId = builder.clientId;
+        this.clientSecret = builder.clientSecret;
+        this.region = builder.region;
+        this.connectTimeout = builder.connectTimeout;
+        this.socketTimeout = builder.socketTimeout;
+        this.proxyHost = builder.proxyHost;
+        this.proxyPort = builder.proxyPort;
+        this.proxyScheme = builder.proxyScheme;
+        this.proxyUsername = builder.proxyUsername;
+        this.proxyPassword = builder.proxyPassword;
+        this.pdfServicesUri = builder.pdfServicesUri;
+    }
+
+    /**
+     * Creates a new ClientSettings builder.
+     *
+     * @return a ClientSettings.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates client settings from the {@code PDF_SERVICES_CLIENT_ID} and {@code PDF_SERVICES_CLIENT_SECRET}
+     * environment variables, with the default client configuration. If the {@code PDF_SERVICES_URI} environment
+     * variable is set, it overrides the base URI of the PDF Services API, for example to run against
+     * {@link com.adobe.pdfservices.operation.samples.localserver.LocalPDFServicesServer}.
+     *
+     * @return a ClientSettings instance
+     */
+    public static ClientSettings fromEnvironment() {
+        return builder()
+                .withCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"))
+                .withPDFServicesUri(System.getenv("PDF_SERVICES_URI"))
+                .build();
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getClientSecret() {
+        return clientSecret;
+    }
+
+    /**
+     * Returns the base URI of the PDF Services API these settings resolve to, taking the region and any explicit
+     * URI override into account.
+     *
+     * @return the base URI, without a trailing slash
+     */
+    public String getPdfServicesUri() {
+        if (pdfServicesUri != null) {
+            return pdfServicesUri;
+        }
+        return region == Region.EU ? EU_URI : US_URI;
+    }
+
+    /**
+     * Returns true if a proxy server is configured.
+     *
+     * @return true if a proxy server is configured
+     */
+    public boolean hasProxyServer() {
+        return proxyHost != null;
+    }
+
+    public String getProxyHost() {
+        return proxyHost;
+    }
+
+    public Integer getProxyPort() {
+        return proxyPort;
+    }
+
+    public ProxyScheme getProxyScheme() {
+        return proxyScheme;
+    }
+
+    /**
+     * Returns the port proxied calls are sent to: the configured port, or else the default port of the proxy scheme.
+     * Both the SDK and the direct HTTP calls use it, so they always reach the same proxy.
+     *
+     * @return the proxy port, 443 for an HTTPS proxy and 80 otherwise when no port is configured
+     */
+    public int getEffectiveProxyPort() {
+        if (proxyPort != null) {
+            return proxyPort;
+        }
+        return getEffectiveProxyScheme() == ProxyScheme.HTTPS ? 443 : 80;
+    }
+
+    private ProxyScheme getEffectiveProxyScheme() {
+        return proxyScheme != null ? proxyScheme : ProxyScheme.HTTP;
+    }
+
+    public String getProxyUsername() {
+        return proxyUsername;
+    }
+
+    public String getProxyPassword() {
+        return proxyPassword;
+    }
+
+    public Integer getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Integer getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    /**
+     * Builds the SDK {@link ClientConfig} described by these settings.
+     * <p>
+     * The SDK builder has no setter for the service URI, so an explicit URI override is passed to it through a
+     * temporary client config file.
+     *
+     * @return a new ClientConfig instance
+     */
+    public ClientConfig toClientConfig() {
+        ClientConfig.Builder builder = ClientConfig.builder();
+        if (pdfServicesUri != null) {
+            builder.fromFile(writeClientConfigFile(pdfServicesUri).toString());
+        } else if (region != null) {
+            builder.setRegion(region);
+        }
+        if (connectTimeout != null) {
+            builder.withConnectTimeout(connectTimeout);
+        }
+        if (socketTimeout != null) {
+            builder.withSocketTimeout(socketTimeout);
+        }
+        if (proxyHost != null) {
+            ProxyServerConfig.Builder proxyBuilder = new ProxyServerConfig.Builder()
+                    .withHost(proxyHost)
+                    .withProxyScheme(getEffectiveProxyScheme())
+                    .withPort(getEffectiveProxyPort());
+            if (proxyUsername != null) {
+                proxyBuilder.withCredentials(new UsernamePasswordCredentials(proxyUsername, proxyPassword));
+            }
+            builder.withProxyServerConfig(proxyBuilder.build());
+        }
+        return builder.build();
+    }
+
+    private static Path writeClientConfigFile(String pdfServicesUri) {
+        JSONObject pdfServices = new JSONObject();
+        pdfServices.put("pdf_services_uri", pdfServicesUri);
+        JSONObject clientConfig = new JSONObject();
+        clientConfig.put("pdf_services", pdfServices);
+        try {
+            Path configFile = Files.createTempFile("pdfservices-client-config", ".json");
+            configFile.toFile().deleteOnExit();
+            Files.write(configFile, clientConfig.toString().getBytes(StandardCharsets.UTF_8));
+            return configFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write client config file", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ClientSettings that = (ClientSettings) o;
+        return Objects.equals(clientId, that.clientId)
+                && Objects.equals(clientSecret, that.clientSecret)
+                && Objects.equals(getPdfServicesUri(), that.getPdfServicesUri())
+                && Objects.equals(connectTimeout, that.connectTimeout)
+                && Objects.equals(socketTimeout, that.socketTimeout)
+                && Objects.equals(proxyHost, that.proxyHost)
+                && Objects.equals(proxyPort, that.proxyPort)
+                && proxyScheme == that.proxyScheme
+                && Objects.equals(proxyUsername, that.proxyUsername)
+                && Objects.equals(proxyPassword, that.proxyPassword);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clientId, clientSecret, getPdfServicesUri(), connectTimeout, socketTimeout,
+                proxyHost, proxyPort, proxyScheme, proxyUsername, proxyPassword);
+    }
+
+    // Secrets are deliberately left out so that settings can be logged safely
+    @Override
+    public String toString() {
+        return "ClientSettings{clientId=" + clientId
+                + ", pdfServicesUri=" + getPdfServicesUri()
+                + ", connectTimeout=" + connectTimeout
+                + ", socketTimeout=" + socketTimeout
+                + ", proxyHost=" + proxyHost
+                + ", proxyPort=" + proxyPort + "}";
+    }
+
+    /**
+     * Builds a {@link ClientSettings} instance.
+     */
+    public static class Builder {
+
+        private String clientId;
+        private String clientSecret;
+        private Region region;
+        private Integer connectTimeout;
+        private Integer socketTimeout;
+        private String proxyHost;
+        private Integer proxyPort;
+        private ProxyScheme proxyScheme;
+        private String proxyUsername;
+        private String proxyPassword;
+        private String pdfServicesUri;
+
+        /**
+         * Sets the service principal credentials.
+         *
+         * @param clientId     client Id; can not be null or empty.
+         * @param clientSecret client secret; can not be null or empty.
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withCredentials(String clientId, String clientSecret) {
+            this.clientId = clientId;
+            this.clientSecret = clientSecret;
+            return this;
+        }
+
+        /**
+         * Sets the region in which documents are processed.
+         *
+         * @param region a Region instance. Default value is US.
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder setRegion(Region region) {
+            this.region = region;
+            return this;
+        }
+
+        /**
+         * Sets the connect timeout in milliseconds.
+         *
+         * @param connectTimeout connect timeout in milliseconds
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withConnectTimeout(Integer connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the socket timeout in milliseconds.
+         *
+         * @param socketTimeout socket timeout in milliseconds
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withSocketTimeout(Integer socketTimeout) {
+            this.socketTimeout = socketTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the proxy server through which all API calls are sent.
+         *
+         * @param host   host name of the proxy server
+         * @param port   port of the proxy server; the scheme's default port is used if null
+         * @param scheme scheme of the proxy server
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withProxyServer(String host, Integer port, ProxyScheme scheme) {
+            this.proxyHost = host;
+            this.proxyPort = port;
+            this.proxyScheme = scheme;
+            return this;
+        }
+
+        /**
+         * Sets the credentials used to authenticate with the proxy server.
+         *
+         * @param username proxy user name
+         * @param password proxy password
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withProxyCredentials(String username, String password) {
+            this.proxyUsername = username;
+            this.proxyPassword = password;
+            return this;
+        }
+
+        /**
+         * Overrides the base URI of the PDF Services API, for example to point the SDK at a local stand-in server.
+         * Takes precedence over the region.
+         *
+         * @param pdfServicesUri base URI of the PDF Services API
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withPDFServicesUri(String pdfServicesUri) {
+            this.pdfServicesUri = pdfServicesUri != null && pdfServicesUri.endsWith("/")
+                    ? pdfServicesUri.substring(0, pdfServicesUri.length() - 1)
+                    : pdfServicesUri;
+            return this;
+        }
+
+        /**
+         * Returns a new ClientSettings instance built from the current state of this builder.
+         *
+         * @return a new ClientSettings instance
+         */
+        public ClientSettings build() {
+            if (clientId == null || clientId.isEmpty() || clientSecret == null || clientSecret.isEmpty()) {
+                throw new IllegalArgumentException("Client id and client secret can not be null or empty");
+            }
+            if (proxyUsername != null && proxyHost == null) {
+                throw new IllegalArgumentException("Proxy credentials require a proxy server");
+            }
+            return new ClientSettings(this);
+        }
+    }
+}
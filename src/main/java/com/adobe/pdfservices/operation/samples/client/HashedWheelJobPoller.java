@@ -0,0 +1,388 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServicesJobStatus;
+import com.adobe.pdfservices.operation.PDFServicesJobStatusResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks any number of submitted jobs until they are done or failed, using a hashed timer wheel to schedule status
+ * checks.
+ * <p>
+ * Polling a job with a loop that sleeps for the retry interval holds one thread per job. Here, each tracked job is a
+ * small entry in one of the wheel's buckets; a single timer thread advances the wheel every tick and hands the jobs
+ * whose check is due to a status executor. After each check, a job that is still in progress is put back on the wheel
+ * after the retry interval returned by the service ({@link PDFServicesJobStatusResponse#getRetryInterval()}).
+ * <p>
+ * By default the status checks are made by a single thread, so the poller uses two threads however many jobs it
+ * tracks. Call {@link #close()} to stop it; jobs still waiting on the wheel are then failed.
+ */
+public final class HashedWheelJobPoller implements AutoCloseable {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelJobPoller.class);
+
+    private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(100);
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(1);
+
+    private final ClientSettings clientSettings;
+    private final long tickNanos;
+    private final long defaultPollIntervalNanos;
+    private final TrackedJob[] wheel;
+    private final int mask;
+    private final Executor statusExecutor;
+    private final ExecutorService ownedStatusExecutor;
+    private final Thread timerThread;
+
+    // Jobs waiting to be placed on the wheel; the wheel itself is only touched by the timer thread
+    private final Queue<TrackedJob> pendingJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger trackedJobs = new AtomicInteger();
+    private final AtomicLong statusRequests = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+    private volatile boolean closed;
+    private long tick;
+
+    private HashedWheelJobPoller(Builder builder) {
+        this.clientSettings = builder.clientSettings;
+        this.tickNanos = builder.tickDuration.toNanos();
+        this.defaultPollIntervalNanos = builder.defaultPollInterval.toNanos();
+        this.wheel = new TrackedJob[builder.wheelSize];
+        this.mask = builder.wheelSize - 1;
+        if (builder.statusExecutor != null) {
+            this.statusExecutor = builder.statusExecutor;
+            this.ownedStatusExecutor = null;
+        } else {
+            this.ownedStatusExecutor = BlockingCallExecutors.newExecutor("pdfservices-poller-status", builder.statusThreads);
+            this.statusExecutor = ownedStatusExecutor;
+        }
+        this.timerThread = new Thread(this::run, "pdfservices-poller-timer");
+        this.timerThread.setDaemon(true);
+        this.timerThread.start();
+    }
+
+    /**
+     * Creates a new HashedWheelJobPoller builder.
+     *
+     * @param clientSettings credentials and client configuration used for status checks; can not be null.
+     * @return a HashedWheelJobPoller.Builder instance
+     */
+    public static Builder builder(ClientSettings clientSettings) {
+        return new Builder(clientSettings);
+    }
+
+    /**
+     * Starts tracking a submitted job. Its status is first checked on the next tick.
+     *
+     * @param location polling URL returned on submission
+     * @return a future completed with the final status once the job is done, or completed exceptionally once the job
+     * has failed
+     */
+    public CompletableFuture<PDFServicesJobStatusResponse> track(String location) {
+        CompletableFuture<PDFServicesJobStatusResponse> future = new CompletableFuture<>();
+        track(location, new JobCompletionListener() {
+            @Override
+            public void onDone(String jobLocation, PDFServicesJobStatusResponse status) {
+                future.complete(status);
+            }
+
+            @Override
+            public void onFailed(String jobLocation, Throwable error) {
+                future.completeExceptionally(error);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Starts tracking a submitted job, reporting its outcome to the given listener. Its status is first checked on
+     * the next tick.
+     *
+     * @param location polling URL returned on submission
+     * @param listener listener notified once the job is done or has failed
+     */
+    public void track(String location, JobCompletionListener listener) {
+        if (closed) {
+            throw new IllegalStateException("Poller is closed");
+        }
+        trackedJobs.incrementAndGet();
+        schedule(new TrackedJob(location, listener), 0);
+    }
+
+    /**
+     * Returns the number of jobs currently tracked.
+     *
+     * @return the number of jobs not yet done or failed
+     */
+    public int getTrackedJobCount() {
+        return trackedJobs.get();
+    }
+
+    /**
+     * Returns the number of status requests made so far.
+     *
+     * @return the number of status requests
+     */
+    public long getStatusRequestCount() {
+        return statusRequests.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        timerThread.interrupt();
+        if (ownedStatusExecutor != null) {
+            ownedStatusExecutor.shutdownNow();
+        }
+    }
+
+    private void schedule(TrackedJob job, long delayNanos) {
+        job.deadlineNanos = System.nanoTime() - startNanos + delayNanos;
+        pendingJobs.add(job);
+        // A status check still running when the poller is closed can reschedule its job after the timer thread has
+        // failed the remaining jobs; whichever thread removes the job from the queue first completes it
+        if (closed && pendingJobs.remove(job)) {
+            complete(job, null, new IllegalStateException("Poller closed before the job finished"));
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                waitForNextTick();
+                transferPendingJobs();
+                expireBucket((int) (tick & mask));
+                tick++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failRemainingJobs();
+    }
+
+    private void waitForNextTick() throws InterruptedException {
+        long deadline = tickNanos * (tick + 1);
+        long sleepNanos = deadline - (System.nanoTime() - startNanos);
+        if (sleepNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        }
+    }
+
+    private void transferPendingJobs() {
+        TrackedJob job;
+        while ((job = pendingJobs.poll()) != null) {
+            // Jobs due in the past go to the current bucket, so they are checked on this tick
+            long dueTick = Math.max(job.deadlineNanos / tickNanos, tick);
+            job.remainingRounds = (dueTick - tick) / wheel.length;
+            int bucket = (int) (dueTick & mask);
+            job.next = wheel[bucket];
+            wheel[bucket] = job;
+        }
+    }
+
+    private void expireBucket(int bucket) {
+        TrackedJob remaining = null;
+        TrackedJob job = wheel[bucket];
+        while (job != null) {
+            TrackedJob next = job.next;
+            if (job.remainingRounds <= 0) {
+                job.next = null;
+                checkStatus(job);
+            } else {
+                job.remainingRounds--;
+                job.next = remaining;
+                remaining = job;
+            }
+            job = next;
+        }
+        wheel[bucket] = remaining;
+    }
+
+    private void checkStatus(TrackedJob job) {
+        try {
+            statusExecutor.execute(() -> {
+                PDFServicesJobStatusResponse status;
+                try {
+                    statusRequests.incrementAndGet();
+                    status = PDFServicesClientRegistry.getInstance().getClient(clientSettings).getJobStatus(job.location);
+                } catch (Exception e) {
+                    // The service reports failed jobs as a ServiceApiException
+                    complete(job, null, e);
+                    return;
+                }
+                if (PDFServicesJobStatus.IN_PROGRESS.getValue().equals(status.getStatus())) {
+                    Integer retryInterval = status.getRetryInterval();
+                    schedule(job, retryInterval != null ? TimeUnit.SECONDS.toNanos(retryInterval) : defaultPollIntervalNanos);
+                } else {
+                    complete(job, status, null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            complete(job, null, e);
+        }
+    }
+
+    private void complete(TrackedJob job, PDFServicesJobStatusResponse status, Throwable error) {
+        trackedJobs.decrementAndGet();
+        try {
+            if (error == null) {
+                job.listener.onDone(job.location, status);
+            } else {
+                job.listener.onFailed(job.location, error);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Exception encountered in job completion listener", e);
+        }
+    }
+
+    private void failRemainingJobs() {
+        IllegalStateException error = new IllegalStateException("Poller closed before the job finished");
+        for (int i = 0; i < wheel.length; i++) {
+            for (TrackedJob job = wheel[i]; job != null; job = job.next) {
+                complete(job, null, error);
+            }
+            wheel[i] = null;
+        }
+        TrackedJob job;
+        while ((job = pendingJobs.poll()) != null) {
+            complete(job, null, error);
+        }
+    }
+
+    private static final class TrackedJob {
+
+        private final String location;
+        private final JobCompletionListener listener;
+        private long deadlineNanos;
+        private long remainingRounds;
+        private TrackedJob next;
+
+        private TrackedJob(String location, JobCompletionListener listener) {
+            this.location = location;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Builds a {@link HashedWheelJobPoller} instance.
+     */
+    public static class Builder {
+
+        private final ClientSettings clientSettings;
+        private Duration tickDuration = DEFAULT_TICK_DURATION;
+        private int wheelSize = DEFAULT_WHEEL_SIZE;
+        private Duration defaultPollInterval = DEFAULT_POLL_INTERVAL;
+        private int statusThreads = 1;
+        private Executor statusExecutor;
+
+        private Builder(ClientSettings clientSettings) {
+            if (clientSettings == null) {
+                throw new IllegalArgumentException("Client settings can not be null");
+            }
+            this.clientSettings = clientSettings;
+        }
+
+        /**
+         * Sets the resolution of the wheel. Status checks are made up to one tick late. Default value is 100
+         * milliseconds.
+         *
+         * @param tickDuration duration of a tick
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withTickDuration(Duration tickDuration) {
+            if (tickDuration.toNanos() <= 0) {
+                throw new IllegalArgumentException("Tick duration must be positive");
+            }
+            this.tickDuration = tickDuration;
+            return this;
+        }
+
+        /**
+         * Sets the number of buckets of the wheel, rounded up to a power of two. Default value is 512, which with the
+         * default tick covers 51.2 seconds per round.
+         *
+         * @param wheelSize number of buckets
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withWheelSize(int wheelSize) {
+            if (wheelSize < 1 || wheelSize > (1 << 30)) {
+                throw new IllegalArgumentException("Wheel size must be between 1 and 2^30");
+            }
+            int size = 1;
+            while (size < wheelSize) {
+                size <<= 1;
+            }
+            this.wheelSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the interval between status checks when the service does not return one. Default value is 1 second.
+         *
+         * @param defaultPollInterval interval between status checks
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withDefaultPollInterval(Duration defaultPollInterval) {
+            this.defaultPollInterval = defaultPollInterval;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads making status checks. Ignored if an executor is set. Default value is 1.
+         *
+         * @param statusThreads number of status threads
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withStatusThreads(int statusThreads) {
+            if (statusThreads < 1) {
+                throw new IllegalArgumentException("Status threads must be at least 1");
+            }
+            this.statusThreads = statusThreads;
+            return this;
+        }
+
+        /**
+         * Sets the executor on which status checks are made, for example to share the threads of an
+         * {@link AsyncPDFServices}. The executor is not shut down when the poller is closed.
+         *
+         * @param statusExecutor executor for status checks
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withStatusExecutor(Executor statusExecutor) {
+            this.statusExecutor = statusExecutor;
+            return this;
+        }
+
+        /**
+         * Returns a new HashedWheelJobPoller instance built from the current state of this builder. The poller starts
+         * its timer thread immediately.
+         *
+         * @return a new HashedWheelJobPoller instance
+         */
+        public HashedWheelJobPoller build() {
+            return new HashedWheelJobPoller(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServicesJobStatusResponse;
+
+/**
+ * Receives the outcome of a job tracked by {@link HashedWheelJobPoller}.
+ * <p>
+ * Callbacks run on a poller thread and must not block.
+ */
+public interface JobCompletionListener {
+
+    /**
+     * Called once the job is done.
+     *
+     * @param location polling URL of the job
+     * @param status   final status of the job
+     */
+    void onDone(String location, PDFServicesJobStatusResponse status);
+
+    /**
+     * Called once the job has failed, or its status could not be fetched.
+     *
+     * @param location polling URL of the job
+     * @param error    the failure; a {@link com.adobe.pdfservices.operation.exception.ServiceApiException} if the
+     *                 service reported the job as failed
+     */
+    void onFailed(String location, Throwable error);
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.PDFServicesJobStatusResponse;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.CreatePDFJob;
+import com.adobe.pdfservices.operation.samples.localserver.LocalPDFServicesServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This sample submits thousands of jobs and tracks all of them at once with a {@link HashedWheelJobPoller}, then
+ * reports the threads and heap used while tracking, the number of status requests and the time until the last job
+ * completed.
+ * <p>
+ * Jobs run against an embedded {@link LocalPDFServicesServer} that keeps each job in progress for a while, so no
+ * credentials or network are needed.
+ * <p>
+ * Optional arguments: number of jobs (default 10000) and job duration in seconds (default 15).
+ */
+public class JobPollerBenchmark {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobPollerBenchmark.class);
+
+    public static void main(String[] args) {
+        int jobCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        long jobSeconds = args.length > 1 ? Long.parseLong(args[1]) : 15;
+
+        try (LocalPDFServicesServer server = LocalPDFServicesServer.builder()
+                .withJobDuration(Duration.ofSeconds(jobSeconds))
+                .build()
+                .start()) {
+            ClientSettings clientSettings = ClientSettings.builder()
+                    .withCredentials("local-client-id", "local-client-secret")
+                    .withPDFServicesUri(server.getBaseUri())
+                    .build();
+            List<String> locations = submitJobs(clientSettings, jobCount);
+
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            try (HashedWheelJobPoller poller = HashedWheelJobPoller.builder(clientSettings).build()) {
+                List<CompletableFuture<PDFServicesJobStatusResponse>> results = new ArrayList<>(jobCount);
+                for (String location : locations) {
+                    results.add(poller.track(location));
+                }
+
+                // Measure once every job has had its first status check and is waiting on the wheel
+                while (poller.getStatusRequestCount() < jobCount) {
+                    TimeUnit.MILLISECONDS.sleep(100);
+                }
+                int trackedJobs = poller.getTrackedJobCount();
+                long heapWhileTracking = usedHeap();
+                long pollerThreads = Thread.getAllStackTraces().keySet().stream()
+                        .filter(thread -> thread.getName().startsWith("pdfservices-poller"))
+                        .count();
+
+                CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get();
+                long elapsed = System.nanoTime() - start;
+
+                LOGGER.info(String.format("tracked %d jobs with %d poller threads, heap while tracking: %.1f MB",
+                        trackedJobs, pollerThreads, (heapWhileTracking - heapBefore) / (1024.0 * 1024.0)));
+                LOGGER.info(String.format("all %d jobs done after %.1fs with %d status requests",
+                        jobCount, elapsed / 1e9, poller.getStatusRequestCount()));
+            }
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (ExecutionException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The jobs all reference the same uploaded asset, which is enough for the stand-in server
+    private static List<String> submitJobs(ClientSettings clientSettings, int jobCount)
+            throws IOException, InterruptedException, ExecutionException {
+        byte[] input = Files.readAllBytes(Paths.get("src/main/resources/createPDFInput.docx"));
+        PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
+        Asset asset;
+        try {
+            asset = pdfServices.upload(new ByteArrayInputStream(input), PDFServicesMediaType.DOCX.getMediaType());
+        } catch (ServiceApiException e) {
+            throw new ExecutionException(e);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> submissions = new ArrayList<>(jobCount);
+            for (int i = 0; i < jobCount; i++) {
+                submissions.add(executor.submit(() -> pdfServices.submit(new CreatePDFJob(asset))));
+            }
+            List<String> locations = new ArrayList<>(jobCount);
+            for (Future<String> submission : submissions) {
+                locations.add(submission.get());
+            }
+            return locations;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide registry of long-lived {@link PDFServices} instances.
+ * <p>
+ * A {@link PDFServices} instance caches its access token and shares the SDK's HTTP connection pool, so creating one
+ * per job pays the token round trip and connection setup on every job. This registry hands out one instance per
+ * distinct {@link ClientSettings} (credentials plus client configuration) and keeps it for the lifetime of the
+ * process. Instances are safe to share between threads, and are built from the public
+ * {@link ServicePrincipalCredentials} and {@code ClientConfig} of the settings, so the SDK fetches and renews their
+ * access token itself.
+ * <p>
+ * Calls made without the SDK get their token from {@link #getAccessToken(ClientSettings)}, served by an
+ * {@link AccessTokenManager} per settings, which refreshes it in the background before it expires.
+ */
+public final class PDFServicesClientRegistry {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(PDFServicesClientRegistry.class);
+
+    private static final PDFServicesClientRegistry INSTANCE = new PDFServicesClientRegistry();
+
+    private final ConcurrentMap<ClientSettings, PooledClient> clients = new ConcurrentHashMap<>();
+
+    private PDFServicesClientRegistry() {
+    }
+
+    /**
+     * Returns the process-wide registry.
+     *
+     * @return the registry instance
+     */
+    public static PDFServicesClientRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the pooled {@link PDFServices} instance for the given settings, creating it on first use.
+     *
+     * @param clientSettings credentials and client configuration; can not be null.
+     * @return a shared PDFServices instance
+     */
+    public PDFServices getClient(ClientSettings clientSettings) {
+        return clients.computeIfAbsent(clientSettings, PooledClient::new).pdfServices;
+    }
+
+    /**
+     * Returns the pooled {@link PDFServices} instance for the credentials found in the environment.
+     *
+     * @return a shared PDFServices instance
+     * @see ClientSettings#fromEnvironment()
+     */
+    public PDFServices getDefaultClient() {
+        return getClient(ClientSettings.fromEnvironment());
+    }
+
+    /**
+     * Returns a valid access token for the given settings, from the same cache as the pooled clients. Used for calls
+     * made without the SDK.
+     *
+     * @param clientSettings credentials and client configuration; can not be null.
+     * @return a valid access token
+     */
+    public AccessToken getAccessToken(ClientSettings clientSettings) {
+        return clients.computeIfAbsent(clientSettings, PooledClient::new).tokenManager.getAccessToken();
+    }
+
+    /**
+     * Returns the token cache counters for the given settings.
+     *
+     * @param clientSettings credentials and client configuration
+     * @return the token cache statistics of {@link #getAccessToken(ClientSettings)}, or null if no client was created
+     *         for these settings
+     */
+    public TokenCacheStatistics getTokenStatistics(ClientSettings clientSettings) {
+        PooledClient pooledClient = clients.get(clientSettings);
+        return pooledClient != null ? pooledClient.tokenManager.getStatistics() : null;
+    }
+
+    /**
+     * Drops the pooled instance for the given settings, so that the next call to {@link #getClient(ClientSettings)}
+     * creates a fresh one. Useful after rotating credentials.
+     *
+     * @param clientSettings settings of the instance to drop
+     */
+    public void evict(ClientSettings clientSettings) {
+        PooledClient pooledClient = clients.remove(clientSettings);
+        if (pooledClient != null) {
+            pooledClient.tokenManager.close();
+        }
+    }
+
+    /**
+     * Drops all pooled instances.
+     */
+    public void clear() {
+        clients.keySet().forEach(this::evict);
+    }
+
+    /**
+     * Returns the number of pooled instances.
+     *
+     * @return the number of pooled instances
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    private static final class PooledClient {
+
+        private final PDFServices pdfServices;
+        private final AccessTokenManager tokenManager;
+
+        private PooledClient(ClientSettings clientSettings) {
+            LOGGER.debug("Creating PDF Services client for {}", clientSettings);
+            this.pdfServices = new PDFServices(new ServicePrincipalCredentials(clientSettings.getClientId(),
+                    clientSettings.getClientSecret()), clientSettings.toClientConfig());
+            this.tokenManager = AccessTokenManager.builder(clientSettings).build();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.PDFServicesResponse;
+import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
+import com.adobe.pdfservices.operation.config.ClientConfig;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.exception.ServiceUsageException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.CreatePDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.result.CreatePDFResult;
+import com.adobe.pdfservices.operation.samples.localserver.LocalPDFServicesServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * This sample measures per-job latency with a cold PDF Services client (new credentials and client per job, as the
+ * other samples used to do) against a client pooled by {@link PDFServicesClientRegistry}.
+ * <p>
+ * Jobs run against an embedded {@link LocalPDFServicesServer}, so no credentials or network are needed. The token
+ * endpoint of the stand-in server is slowed down to emulate the identity service round trip.
+ * <p>
+ * Optional arguments: number of jobs per mode (default 50) and token latency in milliseconds (default 150).
+ */
+public class PDFServicesClientRegistryBenchmark {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(PDFServicesClientRegistryBenchmark.class);
+
+    public static void main(String[] args) {
+        int jobCount = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        long tokenLatencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 150;
+
+        try (LocalPDFServicesServer server = LocalPDFServicesServer.builder()
+                .withTokenLatency(Duration.ofMillis(tokenLatencyMillis))
+                .build()
+                .start()) {
+            byte[] input = Files.readAllBytes(Paths.get("src/main/resources/createPDFInput.docx"));
+
+            ClientSettings clientSettings = ClientSettings.builder()
+                    .withCredentials("local-client-id", "local-client-secret")
+                    .withPDFServicesUri(server.getBaseUri())
+                    .build();
+            ClientConfig clientConfig = clientSettings.toClientConfig();
+
+            // Warm up class loading and the JIT on both paths before measuring
+            for (int i = 0; i < 5; i++) {
+                runJob(new PDFServices(new ServicePrincipalCredentials("local-client-id", "local-client-secret"), clientConfig), input);
+                runJob(PDFServicesClientRegistry.getInstance().getClient(clientSettings), input);
+            }
+
+            long tokensBefore = server.getTokenRequestCount();
+            long[] cold = new long[jobCount];
+            for (int i = 0; i < jobCount; i++) {
+                long start = System.nanoTime();
+                PDFServices pdfServices = new PDFServices(
+                        new ServicePrincipalCredentials("local-client-id", "local-client-secret"), clientConfig);
+                runJob(pdfServices, input);
+                cold[i] = System.nanoTime() - start;
+            }
+            long coldTokens = server.getTokenRequestCount() - tokensBefore;
+
+            tokensBefore = server.getTokenRequestCount();
+            long[] pooled = new long[jobCount];
+            for (int i = 0; i < jobCount; i++) {
+                long start = System.nanoTime();
+                PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
+                runJob(pdfServices, input);
+                pooled[i] = System.nanoTime() - start;
+            }
+            long pooledTokens = server.getTokenRequestCount() - tokensBefore;
+
+            report("cold client", cold, coldTokens);
+            report("pooled client", pooled, pooledTokens);
+        } catch (ServiceApiException | IOException | SDKException | ServiceUsageException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        }
+    }
+
+    private static void runJob(PDFServices pdfServices, byte[] input) throws ServiceApiException, IOException {
+        Asset asset = pdfServices.upload(new ByteArrayInputStream(input), PDFServicesMediaType.DOCX.getMediaType());
+        String location = pdfServices.submit(new CreatePDFJob(asset));
+        PDFServicesResponse<CreatePDFResult> pdfServicesResponse = pdfServices.getJobResult(location, CreatePDFResult.class);
+        StreamAsset streamAsset = pdfServices.getContent(pdfServicesResponse.getResult().getAsset());
+        try (InputStream inputStream = streamAsset.getInputStream()) {
+            inputStream.readAllBytes();
+        }
+    }
+
+    private static void report(String mode, long[] latencies, long tokenRequests) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        LOGGER.info(String.format("%-13s jobs=%d mean=%.1fms p50=%.1fms p95=%.1fms max=%.1fms token requests=%d",
+                mode, sorted.length, Arrays.stream(sorted).average().orElse(0) / 1e6,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.95) / 1e6,
+                sorted[sorted.length - 1] / 1e6, tokenRequests));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+/**
+ * Point-in-time snapshot of the counters kept by an {@link AccessTokenManager}.
+ * <p>
+ * A hit is a request served from the cache without waiting; a miss is a request that had to wait for a token to be
+ * fetched. Once the first token is cached, a miss count that stays flat shows that no caller waits for
+ * authentication.
+ */
+public final class TokenCacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long refreshes;
+    private final long refreshFailures;
+    private final long totalRefreshNanos;
+    private final long maxRefreshNanos;
+
+    TokenCacheStatistics(long hits, long misses, long refreshes, long refreshFailures,
+                         long totalRefreshNanos, long maxRefreshNanos) {
+        this.hits = hits;
+        this.misses = misses;
+        this.refreshes = refreshes;
+        this.refreshFailures = refreshFailures;
+        this.totalRefreshNanos = totalRefreshNanos;
+        this.maxRefreshNanos = maxRefreshNanos;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of successful token fetches.
+     *
+     * @return the number of successful refreshes
+     */
+    public long getRefreshes() {
+        return refreshes;
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures;
+    }
+
+    /**
+     * Returns the mean duration of successful token fetches, in milliseconds.
+     *
+     * @return the mean refresh latency in milliseconds, or 0 if no refresh happened yet
+     */
+    public double getMeanRefreshMillis() {
+        return refreshes == 0 ? 0 : totalRefreshNanos / 1e6 / refreshes;
+    }
+
+    /**
+     * Returns the longest duration of a successful token fetch, in milliseconds.
+     *
+     * @return the maximum refresh latency in milliseconds
+     */
+    public double getMaxRefreshMillis() {
+        return maxRefreshNanos / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d refreshes=%d refreshFailures=%d meanRefresh=%.1fms maxRefresh=%.1fms",
+                hits, misses, refreshes, refreshFailures, getMeanRefreshMillis(), getMaxRefreshMillis());
+    }
+}
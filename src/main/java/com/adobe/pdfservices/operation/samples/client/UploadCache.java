@@ -0,0 +1,321 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.samples.io.ContentDigest;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uploads content once and reuses the returned {@link Asset} for later uploads of the same bytes.
+ * <p>
+ * Content is identified by its SHA-256 digest, computed while the content is read, and its media type. Batch jobs
+ * that upload the same watermark, seal image or document template for every input then upload it only once. Identical
+ * uploads made concurrently wait for the first one instead of uploading again.
+ * <p>
+ * Uploaded assets are only kept by the service for a limited time, so cached assets expire after a time to live
+ * counted from their upload. The cache also keeps at most a maximum number of assets, dropping the least recently
+ * used first. Do not delete cached assets with {@link com.adobe.pdfservices.operation.PDFServices#deleteAsset(Asset)}
+ * while they are still in the cache.
+ */
+public final class UploadCache {
+
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(1);
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final ClientSettings clientSettings;
+    private final long timeToLiveNanos;
+    private final Map<String, CachedAsset> entries;
+    private final ConcurrentMap<String, CompletableFuture<Asset>> inFlightUploads = new ConcurrentHashMap<>();
+    private final ChannelAssetUploader channelAssetUploader;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong bytesUploaded = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    private UploadCache(Builder builder) {
+        this.clientSettings = builder.clientSettings;
+        this.timeToLiveNanos = builder.timeToLive.toNanos();
+        this.channelAssetUploader = ChannelAssetUploader.create(clientSettings);
+        int maxEntries = builder.maxEntries;
+        // Access order makes the eldest entry the least recently used one
+        this.entries = new LinkedHashMap<String, CachedAsset>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAsset> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the shared cache for the credentials found in the environment, with the default time to live and
+     * maximum size.
+     *
+     * @return the shared UploadCache
+     * @see ClientSettings#fromEnvironment()
+     */
+    public static UploadCache getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a new UploadCache builder.
+     *
+     * @param clientSettings credentials and client configuration; can not be null.
+     * @return an UploadCache.Builder instance
+     */
+    public static Builder builder(ClientSettings clientSettings) {
+        return new Builder(clientSettings);
+    }
+
+    /**
+     * Uploads the content of a stream, unless the same content was uploaded before and its asset is still cached.
+     * The stream is read to the end either way, but is not closed.
+     *
+     * @param inputStream content to upload
+     * @param mediaType   media type of the content
+     * @return the uploaded or cached asset
+     * @throws ServiceApiException if the service rejects the upload
+     * @throws IOException         if the content can not be read
+     */
+    public Asset upload(InputStream inputStream, String mediaType) throws ServiceApiException, IOException {
+        MessageDigest digest = ContentDigest.newSha256();
+        byte[] content;
+        try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, digest) {
+            @Override
+            public void close() {
+                // Leave the stream to the caller
+            }
+        }) {
+            content = digestInputStream.readAllBytes();
+        }
+        return upload(key(digest, mediaType), content.length, () -> PDFServicesClientRegistry.getInstance()
+                .getClient(clientSettings)
+                .upload(new ByteArrayInputStream(content), mediaType));
+    }
+
+    /**
+     * Uploads a file, unless the same content was uploaded before and its asset is still cached. New content is
+     * uploaded with a {@link ChannelAssetUploader}, so it is not buffered in the heap.
+     *
+     * @param file      the file to upload
+     * @param mediaType media type of the file
+     * @return the uploaded or cached asset
+     * @throws ServiceApiException if the service rejects the upload
+     * @throws IOException         if the file can not be read
+     */
+    public Asset upload(Path file, String mediaType) throws ServiceApiException, IOException {
+        MessageDigest digest = ContentDigest.newSha256();
+        ContentDigest.update(digest, file);
+        UploadSource uploadSource = UploadSource.ofFile(file, mediaType);
+        return upload(key(digest, mediaType), uploadSource.getContentLength(),
+                () -> channelAssetUploader.upload(uploadSource));
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    public UploadCacheStatistics getStatistics() {
+        return new UploadCacheStatistics(hits.get(), misses.get(), expirations.get(), evictions.get(),
+                bytesUploaded.get(), bytesSaved.get());
+    }
+
+    /**
+     * Drops all cached assets, for example after the service reported a cached asset as missing.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached assets, including expired ones not dropped yet.
+     *
+     * @return the number of cached assets
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Asset upload(String key, long size, Upload upload) throws ServiceApiException, IOException {
+        Asset cached = lookup(key);
+        if (cached != null) {
+            return hit(cached, size);
+        }
+        CompletableFuture<Asset> pending = new CompletableFuture<>();
+        CompletableFuture<Asset> inFlight = inFlightUploads.putIfAbsent(key, pending);
+        if (inFlight != null) {
+            return hit(await(inFlight), size);
+        }
+        try {
+            // The upload that was in flight during the lookup may have completed since
+            Asset asset = lookup(key);
+            if (asset != null) {
+                hit(asset, size);
+            } else {
+                asset = upload.run();
+                store(key, asset);
+                misses.incrementAndGet();
+                bytesUploaded.addAndGet(size);
+            }
+            pending.complete(asset);
+            return asset;
+        } catch (ServiceApiException | IOException | RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightUploads.remove(key, pending);
+        }
+    }
+
+    private Asset hit(Asset asset, long size) {
+        hits.incrementAndGet();
+        bytesSaved.addAndGet(size);
+        return asset;
+    }
+
+    private synchronized Asset lookup(String key) {
+        CachedAsset cachedAsset = entries.get(key);
+        if (cachedAsset == null) {
+            return null;
+        }
+        if (System.nanoTime() - cachedAsset.expiresAtNanos > 0) {
+            entries.remove(key);
+            expirations.incrementAndGet();
+            return null;
+        }
+        return cachedAsset.asset;
+    }
+
+    private synchronized void store(String key, Asset asset) {
+        entries.put(key, new CachedAsset(asset, System.nanoTime() + timeToLiveNanos));
+    }
+
+    private static Asset await(CompletableFuture<Asset> inFlight) throws ServiceApiException, IOException {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ServiceApiException) {
+                throw (ServiceApiException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SDKException("Exception encountered while uploading content", cause);
+        }
+    }
+
+    private static String key(MessageDigest digest, String mediaType) {
+        return mediaType + ':' + ContentDigest.toHex(digest.digest());
+    }
+
+    private interface Upload {
+
+        Asset run() throws ServiceApiException, IOException;
+    }
+
+    private static final class CachedAsset {
+
+        private final Asset asset;
+        private final long expiresAtNanos;
+
+        private CachedAsset(Asset asset, long expiresAtNanos) {
+            this.asset = asset;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    // Created on first use, so that the environment is only read by samples that use the cache
+    private static final class DefaultHolder {
+
+        private static final UploadCache INSTANCE = builder(ClientSettings.fromEnvironment()).build();
+    }
+
+    /**
+     * Builds an {@link UploadCache} instance.
+     */
+    public static class Builder {
+
+        private final ClientSettings clientSettings;
+        private Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+        private Builder(ClientSettings clientSettings) {
+            if (clientSettings == null) {
+                throw new IllegalArgumentException("Client settings can not be null");
+            }
+            this.clientSettings = clientSettings;
+        }
+
+        /**
+         * Sets how long an uploaded asset is reused, counted from its upload. Keep it below the time the service keeps
+         * uploaded assets. Default value is 1 hour.
+         *
+         * @param timeToLive time an asset is reused for
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached assets. Default value is 1000.
+         *
+         * @param maxEntries maximum number of cached assets
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxEntries(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("Max entries must be at least 1");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Returns a new UploadCache instance built from the current state of this builder.
+         *
+         * @return a new UploadCache instance
+         */
+        public UploadCache build() {
+            return new UploadCache(this);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.exception.ServiceUsageException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.DocumentMergeJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.DocumentMergeParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.OutputFormat;
+import com.adobe.pdfservices.operation.pdfjobs.result.DocumentMergeResult;
+import com.adobe.pdfservices.operation.samples.localserver.LocalPDFServicesServer;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This sample runs the same batch of Document Merge jobs twice against an embedded {@link LocalPDFServicesServer}:
+ * once uploading the template for every job, as the samples used to, and once through an {@link UploadCache}. It
+ * reports the number of uploads and bytes received by the server and the elapsed time of each run.
+ * <p>
+ * Optional argument: number of jobs (default 50).
+ */
+public class UploadCacheBenchmark {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadCacheBenchmark.class);
+
+    private static final Path TEMPLATE_FILE = Paths.get("src/main/resources/salesOrderTemplate.docx");
+    private static final Path DATA_FILE = Paths.get("src/main/resources/salesOrder.json");
+
+    public static void main(String[] args) {
+        int jobCount = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+
+        try (LocalPDFServicesServer server = LocalPDFServicesServer.builder().build().start()) {
+            ClientSettings clientSettings = ClientSettings.builder()
+                    .withCredentials("local-client-id", "local-client-secret")
+                    .withPDFServicesUri(server.getBaseUri())
+                    .build();
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
+            DocumentMergeParams documentMergeParams = DocumentMergeParams.documentMergeParamsBuilder()
+                    .withJsonDataForMerge(new JSONObject(Files.readString(DATA_FILE)))
+                    .withOutputFormat(OutputFormat.PDF)
+                    .build();
+
+            long uploadsBefore = server.getUploadCount();
+            long bytesBefore = server.getUploadedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < jobCount; i++) {
+                try (InputStream templateInputStream = Files.newInputStream(TEMPLATE_FILE)) {
+                    Asset templateAsset = pdfServices.upload(templateInputStream, PDFServicesMediaType.DOCX.getMediaType());
+                    runJob(pdfServices, templateAsset, documentMergeParams);
+                }
+            }
+            long uncachedNanos = System.nanoTime() - start;
+            long uncachedUploads = server.getUploadCount() - uploadsBefore;
+            long uncachedBytes = server.getUploadedBytes() - bytesBefore;
+
+            UploadCache uploadCache = UploadCache.builder(clientSettings).build();
+            uploadsBefore = server.getUploadCount();
+            bytesBefore = server.getUploadedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < jobCount; i++) {
+                Asset templateAsset = uploadCache.upload(TEMPLATE_FILE, PDFServicesMediaType.DOCX.getMediaType());
+                runJob(pdfServices, templateAsset, documentMergeParams);
+            }
+            long cachedNanos = System.nanoTime() - start;
+            long cachedUploads = server.getUploadCount() - uploadsBefore;
+            long cachedBytes = server.getUploadedBytes() - bytesBefore;
+
+            LOGGER.info(String.format("without cache: %d uploads, %d bytes uploaded, %d ms",
+                    uncachedUploads, uncachedBytes, uncachedNanos / 1_000_000));
+            LOGGER.info(String.format("with cache:    %d uploads, %d bytes uploaded, %d ms",
+                    cachedUploads, cachedBytes, cachedNanos / 1_000_000));
+            LOGGER.info("Upload cache statistics: {}", uploadCache.getStatistics());
+        } catch (IOException | ServiceApiException | SDKException | ServiceUsageException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        }
+    }
+
+    private static void runJob(PDFServices pdfServices, Asset templateAsset, DocumentMergeParams documentMergeParams)
+            throws ServiceApiException, ServiceUsageException {
+        String location = pdfServices.submit(new DocumentMergeJob(templateAsset, documentMergeParams));
+        pdfServices.getJobResult(location, DocumentMergeResult.class);
+    }
+}
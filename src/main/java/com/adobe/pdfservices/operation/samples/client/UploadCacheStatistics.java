@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+/**
+ * Point-in-time snapshot of the counters kept by an {@link UploadCache}.
+ * <p>
+ * A hit is an upload answered with a previously uploaded asset, including uploads that waited for an identical
+ * upload already in progress; a miss is an upload sent to the service.
+ */
+public final class UploadCacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long expirations;
+    private final long evictions;
+    private final long bytesUploaded;
+    private final long bytesSaved;
+
+    UploadCacheStatistics(long hits, long misses, long expirations, long evictions, long bytesUploaded,
+                          long bytesSaved) {
+        this.hits = hits;
+        this.misses = misses;
+        this.expirations = expirations;
+        this.evictions = evictions;
+        this.bytesUploaded = bytesUploaded;
+        this.bytesSaved = bytesSaved;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of cached assets dropped because their time to live elapsed.
+     *
+     * @return the number of expired entries
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * Returns the number of cached assets dropped to keep the cache within its maximum size.
+     *
+     * @return the number of evicted entries
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getBytesUploaded() {
+        return bytesUploaded;
+    }
+
+    /**
+     * Returns the number of bytes not uploaded because the content was already cached.
+     *
+     * @return the number of bytes saved
+     */
+    public long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d expirations=%d evictions=%d bytesUploaded=%d bytesSaved=%d",
+                hits, misses, expirations, evictions, bytesUploaded, bytesSaved);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.client;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import com.adobe.pdfservices.operation.samples.localserver.LocalPDFServicesServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This sample uploads the same large file several times with {@link PDFServices#upload(InputStream, String)} and with
+ * {@link ChannelAssetUploader}, and reports the heap allocated per uploaded GB by each.
+ * <p>
+ * Allocation is counted on the threads of the client, not on those of the embedded {@link LocalPDFServicesServer}
+ * that receives the uploads, so no credentials or network are needed. The JVM must support per-thread allocation
+ * counters, as HotSpot does.
+ * <p>
+ * Optional arguments: file size in MB (default 256) and number of uploads (default 4).
+ */
+public class UploadSourceBenchmark {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadSourceBenchmark.class);
+
+    private static final String SERVER_THREAD_NAME = "local-pdfservices-server";
+    private static final double BYTES_PER_GB = 1024.0 * 1024.0 * 1024.0;
+
+    public static void main(String[] args) {
+        int fileMegabytes = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int uploadCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        Path file = null;
+        try (LocalPDFServicesServer server = LocalPDFServicesServer.builder().build().start()) {
+            file = Files.createTempFile("pdfservices-upload", ".pdf");
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+                randomAccessFile.setLength(fileMegabytes * 1024L * 1024L);
+            }
+            ClientSettings clientSettings = ClientSettings.builder()
+                    .withCredentials("local-client-id", "local-client-secret")
+                    .withPDFServicesUri(server.getBaseUri())
+                    .build();
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
+            ChannelAssetUploader uploader = ChannelAssetUploader.create(clientSettings);
+            UploadSource uploadSource = UploadSource.ofFile(file, PDFServicesMediaType.PDF.getMediaType());
+
+            // One warm-up upload each, so that class loading and connection setup are not counted
+            pdfServices.deleteAsset(uploadWithSdk(pdfServices, file));
+            pdfServices.deleteAsset(uploader.upload(uploadSource));
+
+            long sdkBytes = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < uploadCount; i++) {
+                long before = clientAllocatedBytes();
+                Asset asset = uploadWithSdk(pdfServices, file);
+                sdkBytes += clientAllocatedBytes() - before;
+                pdfServices.deleteAsset(asset);
+            }
+            long sdkNanos = System.nanoTime() - start;
+
+            long channelBytes = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < uploadCount; i++) {
+                long before = clientAllocatedBytes();
+                Asset asset = uploader.upload(uploadSource);
+                channelBytes += clientAllocatedBytes() - before;
+                pdfServices.deleteAsset(asset);
+            }
+            long channelNanos = System.nanoTime() - start;
+
+            double uploadedGigabytes = uploadCount * (double) Files.size(file) / BYTES_PER_GB;
+            LOGGER.info(String.format("input stream upload:   %.1f MB allocated per uploaded GB, %.0f MB/s",
+                    sdkBytes / uploadedGigabytes / (1024 * 1024), uploadedGigabytes * 1024 / (sdkNanos / 1e9)));
+            LOGGER.info(String.format("mapped channel upload: %.1f MB allocated per uploaded GB, %.0f MB/s",
+                    channelBytes / uploadedGigabytes / (1024 * 1024), uploadedGigabytes * 1024 / (channelNanos / 1e9)));
+        } catch (IOException | ServiceApiException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } finally {
+            if (file != null) {
+                file.toFile().delete();
+            }
+        }
+    }
+
+    // The same call the samples make, with the input opened the same way
+    private static Asset uploadWithSdk(PDFServices pdfServices, Path file) throws IOException, ServiceApiException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
+        }
+    }
+
+    private static long clientAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (!thread.getName().startsWith(SERVER_THREAD_NAME)) {
+                total += Math.max(0, threadMXBean.getThreadAllocatedBytes(thread.getId()));
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.combinepdf;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.pdfjobs.params.PageRanges;
+import com.adobe.pdfservices.operation.samples.batch.HierarchicalCombiner;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This sample illustrates how to combine more PDF files than the 20 a single Combine PDF job accepts.
+ * <p>
+ * The files are combined in groups of at most 20 by a {@link HierarchicalCombiner}, and the group results are combined
+ * again, level by level, without being downloaded. Groups start as soon as their files are uploaded.
+ * <p>
+ * Optional argument: a directory whose PDF files are combined in name order. By default, the sample inputs of
+ * CombinePDF and CombinePDFWithPageRanges are repeated to make 100 files, keeping the same pages of the page range
+ * inputs as CombinePDFWithPageRanges.
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class CombineManyPDFFiles {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(CombineManyPDFFiles.class);
+
+    private static final int DEFAULT_FILE_COUNT = 100;
+
+    public static void main(String[] args) {
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build()) {
+            // Creates an asset(s) from source file(s) and upload, all at the same time
+            List<HierarchicalCombiner.Input> inputs = new ArrayList<>();
+            if (args.length > 0) {
+                for (Path file : listPDFFiles(Paths.get(args[0]))) {
+                    inputs.add(HierarchicalCombiner.Input.of(upload(asyncPDFServices, file), null));
+                }
+            } else {
+                for (int i = 0; i < DEFAULT_FILE_COUNT; i++) {
+                    inputs.add(getDefaultInput(asyncPDFServices, i));
+                }
+            }
+
+            // Combines the files in groups of at most 20, then combines the groups
+            HierarchicalCombiner combiner = HierarchicalCombiner.builder(asyncPDFServices).build();
+            long start = System.nanoTime();
+            Asset resultAsset = combiner.combine(inputs).join();
+            LOGGER.info(String.format("Combined %d files with %d jobs in %.1fs", inputs.size(),
+                    combiner.getJobCount(), (System.nanoTime() - start) / 1e9));
+
+            // Get content from the resulting asset(s)
+            StreamAsset streamAsset = asyncPDFServices.getContentAsync(resultAsset).join();
+
+            // Writes the stream asset's content to the output file
+            String outputFilePath = createOutputFilePath();
+            LOGGER.info(String.format("Saving asset at %s", outputFilePath));
+
+            AssetSink.getInstance().write(streamAsset, outputFilePath);
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        }
+    }
+
+    private static HierarchicalCombiner.Input getDefaultInput(AsyncPDFServices asyncPDFServices, int index)
+            throws IOException {
+        switch (index % 4) {
+            case 0:
+                return HierarchicalCombiner.Input.of(upload(asyncPDFServices,
+                        Paths.get("src/main/resources/combineFilesInput1.pdf")), null);
+            case 1:
+                return HierarchicalCombiner.Input.of(upload(asyncPDFServices,
+                        Paths.get("src/main/resources/combineFilesInput2.pdf")), null);
+            case 2:
+                // Pages 1 to 4 of the first page range input
+                PageRanges pageRangesForFirstFile = new PageRanges();
+                pageRangesForFirstFile.addRange(1, 4);
+                return HierarchicalCombiner.Input.of(upload(asyncPDFServices,
+                        Paths.get("src/main/resources/combineFileWithPageRangeInput1.pdf")), pageRangesForFirstFile);
+            default:
+                // All pages including and after page 3 of the second page range input
+                PageRanges pageRangesForSecondFile = new PageRanges();
+                pageRangesForSecondFile.addAllFrom(3);
+                return HierarchicalCombiner.Input.of(upload(asyncPDFServices,
+                        Paths.get("src/main/resources/combineFileWithPageRangeInput2.pdf")), pageRangesForSecondFile);
+        }
+    }
+
+    private static CompletableFuture<Asset> upload(AsyncPDFServices asyncPDFServices, Path file)
+            throws IOException {
+        return asyncPDFServices.uploadAsync(UploadSource.ofFile(file, PDFServicesMediaType.PDF.getMediaType()));
+    }
+
+    private static List<Path> listPDFFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pdf"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Generates a string containing a directory structure and file name for the output file
+    public static String createOutputFilePath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        Files.createDirectories(Paths.get("output/CombineManyPDFFiles"));
+        return ("output/CombineManyPDFFiles/combine" + timeStamp + ".pdf");
+    }
+}
@@ -14,8 +14,6 @@ package com.adobe.pdfservices.operation.samples.combinepdf;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -24,14 +22,14 @@ import com.adobe.pdfservices.operation.io.StreamAsset;
 import com.adobe.pdfservices.operation.pdfjobs.jobs.CombinePDFJob;
 import com.adobe.pdfservices.operation.pdfjobs.params.combinepdf.CombinePDFParams;
 import com.adobe.pdfservices.operation.pdfjobs.result.CombinePDFResult;
-import org.apache.commons.io.IOUtils;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -55,11 +53,8 @@ public class CombinePDF {
         try (
                 InputStream inputStream1 = Files.newInputStream(new File("src/main/resources/combineFilesInput1.pdf").toPath());
                 InputStream inputStream2 = Files.newInputStream(new File("src/main/resources/combineFilesInput2.pdf").toPath())) {
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"));
-
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getDefaultClient();
 
             // Creates an asset(s) from source file(s) and upload
             List<StreamAsset> streamAssets = new ArrayList<>();
@@ -84,13 +79,11 @@ public class CombinePDF {
             Asset resultAsset = pdfServicesResponse.getResult().getAsset();
             StreamAsset streamAsset = pdfServices.getContent(resultAsset);
 
-            // Creates an output stream and copy stream asset's content to it
+            // Writes the stream asset's content to the output file
             String outputFilePath = createOutputFilePath();
             LOGGER.info(String.format("Saving asset at %s", outputFilePath));
 
-            OutputStream outputStream = Files.newOutputStream(new File(outputFilePath).toPath());
-            IOUtils.copy(streamAsset.getInputStream(), outputStream);
-            outputStream.close();
+            AssetSink.getInstance().write(streamAsset, outputFilePath);
         } catch (IOException | ServiceApiException | SDKException | ServiceUsageException e) {
             LOGGER.error("Exception encountered while executing operation", e);
         }
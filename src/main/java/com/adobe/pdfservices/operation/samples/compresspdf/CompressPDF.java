@@ -14,8 +14,6 @@ package com.adobe.pdfservices.operation.samples.compresspdf;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -23,14 +21,16 @@ import com.adobe.pdfservices.operation.io.Asset;
 import com.adobe.pdfservices.operation.io.StreamAsset;
 import com.adobe.pdfservices.operation.pdfjobs.jobs.CompressPDFJob;
 import com.adobe.pdfservices.operation.pdfjobs.result.CompressPDFResult;
-import org.apache.commons.io.IOUtils;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.ResultCache;
+import com.adobe.pdfservices.operation.samples.io.ResultKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -49,11 +49,18 @@ public class CompressPDF {
 
         try (
                 InputStream inputStream = Files.newInputStream(new File("src/main/resources/compressPDFInput.pdf").toPath())) {
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"));
+            // Compressing the same file gives the same result, so a result produced before is reused without calling the service
+            // Reads the settings from the environment; their service URI is part of the cache key
+            ClientSettings clientSettings = ClientSettings.fromEnvironment();
+            ResultKey resultKey = ResultKey.of(clientSettings, CompressPDFJob.class, null, Paths.get("src/main/resources/compressPDFInput.pdf"));
+            String outputFilePath = createOutputFilePath();
+            if (ResultCache.getDefault().copyTo(resultKey, outputFilePath)) {
+                LOGGER.info(String.format("Saving cached result at %s", outputFilePath));
+                return;
+            }
 
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
+            // Gets the shared PDF Services instance for these settings
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
 
             // Creates an asset(s) from source file(s) and upload
             Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
@@ -69,13 +76,10 @@ public class CompressPDF {
             Asset resultAsset = pdfServicesResponse.getResult().getAsset();
             StreamAsset streamAsset = pdfServices.getContent(resultAsset);
 
-            // Creating an output stream and copying stream asset content to it
-            String outputFilePath = createOutputFilePath();
+            // Writes the stream asset's content to the output file and keeps it in the result cache
             LOGGER.info(String.format("Saving asset at %s", outputFilePath));
 
-            OutputStream outputStream = Files.newOutputStream(new File(outputFilePath).toPath());
-            IOUtils.copy(streamAsset.getInputStream(), outputStream);
-            outputStream.close();
+            ResultCache.getDefault().write(resultKey, streamAsset, outputFilePath);
         } catch (ServiceApiException | IOException | SDKException | ServiceUsageException ex) {
             LOGGER.error("Exception encountered while executing operation", ex);
         }
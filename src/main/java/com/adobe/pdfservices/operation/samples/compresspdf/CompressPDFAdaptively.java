@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.compresspdf;
+
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.samples.batch.AdaptiveCompressor;
+import com.adobe.pdfservices.operation.samples.batch.CompressionOutcome;
+import com.adobe.pdfservices.operation.samples.batch.LearnedCompressionLevels;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This sample illustrates how to compress every PDF file in a directory at a compression level chosen for each file,
+ * instead of one fixed level.
+ * <p>
+ * Each file is classified from traits read locally, such as its size, page count and share of image data. Until a
+ * class of files has been learned, its files are compressed at every level concurrently, and the smallest output
+ * finished by the deadline is kept. The level kept for each class is saved in cache/compressionLevels.json, so later
+ * files of a learned class, including in later runs, are compressed with a single job.
+ * <p>
+ * Optional arguments: input directory (default src/main/resources), file name pattern (default *.pdf) and deadline
+ * of the trials in seconds (default 60).
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class CompressPDFAdaptively {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompressPDFAdaptively.class);
+
+    public static void main(String[] args) {
+        Path inputDirectory = Paths.get(args.length > 0 ? args[0] : "src/main/resources");
+        String pattern = args.length > 1 ? args[1] : "*.pdf";
+        Duration deadline = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build();
+             DirectoryStream<Path> documents = Files.newDirectoryStream(inputDirectory, pattern)) {
+            LearnedCompressionLevels learnedLevels = LearnedCompressionLevels.getDefault();
+            AdaptiveCompressor adaptiveCompressor = AdaptiveCompressor.builder(asyncPDFServices)
+                    .withDeadline(deadline)
+                    .withLearnedLevels(learnedLevels)
+                    .build();
+
+            Path outputDirectory = createOutputDirectoryPath();
+            long inputSize = 0;
+            long outputSize = 0;
+            int failedCount = 0;
+            try {
+                for (Path document : documents) {
+                    try {
+                        CompressionOutcome outcome = adaptiveCompressor.compress(document,
+                                outputDirectory.resolve(document.getFileName()));
+                        LOGGER.info("{}: {}", document.getFileName(), outcome);
+                        inputSize += outcome.getTraits().getFileSize();
+                        outputSize += outcome.getOutputSize();
+                    } catch (IOException | CompletionException | UncheckedIOException ex) {
+                        // For example an encrypted file the service refuses; the other documents carry on
+                        failedCount++;
+                        LOGGER.error("Exception encountered while compressing {}", document.getFileName(),
+                                ex instanceof IOException ? ex : ex.getCause());
+                    }
+                }
+            } finally {
+                // Trials still running need the client, which is closed on leaving this block
+                adaptiveCompressor.awaitLateTrials();
+            }
+            LOGGER.info("Compressed {} bytes to {} bytes, {} documents failed, learned levels: {}", inputSize,
+                    outputSize, failedCount, learnedLevels);
+            LOGGER.info(String.format("Saving assets in %s", outputDirectory));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException | UncheckedIOException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while compressing documents", ex);
+        }
+    }
+
+    // Generates a string containing a directory structure for the output files
+    public static Path createOutputDirectoryPath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        return Files.createDirectories(Paths.get("output/CompressPDFAdaptively/compress" + timeStamp));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.createpdf;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.CreatePDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.result.CreatePDFResult;
+import com.adobe.pdfservices.operation.samples.batch.BatchPipeline;
+import com.adobe.pdfservices.operation.samples.client.ChannelAssetUploader;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.client.HashedWheelJobPoller;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This sample illustrates how to create PDF files from every DOCX and PPTX file in a directory tree.
+ * <p>
+ * Each file goes through four stages: upload, submit, poll and download. Every stage has its own workers and a bounded
+ * queue, so uploads, job submissions, status checks and downloads of different files overlap, and a slow stage holds
+ * back the ones before it instead of letting work pile up in memory. Files are uploaded from mapped files with
+ * {@link ChannelAssetUploader}, and running jobs are tracked by a {@link HashedWheelJobPoller}. Progress, in files per
+ * second and queue depth per stage, is logged every 5 seconds.
+ * <p>
+ * Optional arguments: input directory (default src/main/resources) and output directory (default a new directory
+ * under output/CreatePDFFromDirectory). The output tree mirrors the input tree, and each output keeps the name of its
+ * input with .pdf appended, as in report.docx.pdf.
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class CreatePDFFromDirectory {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(CreatePDFFromDirectory.class);
+
+    private static final int UPLOAD_CONCURRENCY = 8;
+    private static final int SUBMIT_CONCURRENCY = 4;
+    // Number of jobs tracked at the same time, which bounds the jobs running on the service
+    private static final int POLL_CONCURRENCY = 128;
+    private static final int DOWNLOAD_CONCURRENCY = 8;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long PROGRESS_INTERVAL_SECONDS = 5;
+
+    public static void main(String[] args) {
+        Path inputDirectory = Paths.get(args.length > 0 ? args[0] : "src/main/resources");
+
+        ClientSettings clientSettings = ClientSettings.fromEnvironment();
+        ScheduledExecutorService progressReporter = Executors.newSingleThreadScheduledExecutor();
+        try (HashedWheelJobPoller poller = HashedWheelJobPoller.builder(clientSettings).build();
+             Stream<Path> files = Files.walk(inputDirectory)) {
+            Path outputDirectory = args.length > 1 ? Paths.get(args[1]) : createOutputDirectoryPath();
+
+            // A batch can outlive an access token, so each call gets the shared PDF Services instance for the current
+            // token from the registry instead of holding on to one
+            PDFServicesClientRegistry registry = PDFServicesClientRegistry.getInstance();
+            ChannelAssetUploader uploader = ChannelAssetUploader.create(clientSettings);
+
+            // Creates the pipeline; each stage records its outcome on the conversion for the next one
+            BatchPipeline<Conversion> pipeline = BatchPipeline.<Conversion>builder()
+                    .addStage("upload", UPLOAD_CONCURRENCY, QUEUE_CAPACITY, conversion ->
+                            conversion.asset = uploader.upload(UploadSource.ofFile(conversion.input, conversion.mediaType)))
+                    .addStage("submit", SUBMIT_CONCURRENCY, QUEUE_CAPACITY, conversion ->
+                            conversion.location = registry.getClient(clientSettings).submit(new CreatePDFJob(conversion.asset)))
+                    // Running jobs wait in the poller, not on a thread each; the conversion moves on once its job is done
+                    .addAsyncStage("poll", POLL_CONCURRENCY, QUEUE_CAPACITY, conversion ->
+                            poller.track(conversion.location))
+                    .addStage("download", DOWNLOAD_CONCURRENCY, QUEUE_CAPACITY, conversion -> {
+                        // The job is done, so this returns after a single status request
+                        Asset resultAsset = registry.getClient(clientSettings)
+                                .getJobResult(conversion.location, CreatePDFResult.class).getResult().getAsset();
+                        StreamAsset streamAsset = registry.getClient(clientSettings).getContent(resultAsset);
+                        Files.createDirectories(conversion.output.getParent());
+                        AssetSink.getInstance().write(streamAsset.getInputStream(), conversion.output);
+                    })
+                    .withFailureHandler((conversion, error) ->
+                            LOGGER.error(String.format("Exception encountered while converting %s", conversion.input), error))
+                    .build();
+
+            long start = System.nanoTime();
+            progressReporter.scheduleAtFixedRate(() -> logProgress(pipeline, start),
+                    PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+            // Walks the tree lazily, so submission waits for room in the upload queue
+            long fileCount = 0;
+            Iterator<Path> inputs = files.filter(Files::isRegularFile).iterator();
+            while (inputs.hasNext()) {
+                Path input = inputs.next();
+                String mediaType = mediaTypeOf(input);
+                if (mediaType != null) {
+                    // Keeps the source extension, so report.docx and report.pptx do not both become report.pdf
+                    Path output = outputDirectory.resolve(inputDirectory.relativize(input).resolveSibling(
+                            input.getFileName() + ".pdf").toString());
+                    pipeline.submit(new Conversion(input, mediaType, output));
+                    fileCount++;
+                }
+            }
+            pipeline.awaitCompletion();
+            pipeline.close();
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            LOGGER.info(String.format("Converted %d of %d files in %.1fs (%.2f files/s), %d failed; saved in %s",
+                    pipeline.getCompletedCount(), fileCount, seconds, pipeline.getCompletedCount() / seconds,
+                    pipeline.getFailedCount(), outputDirectory));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (UncheckedIOException ex) {
+            // Walking the tree fails this way, for example on a directory that can not be read
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while converting files", ex);
+        } finally {
+            progressReporter.shutdownNow();
+        }
+    }
+
+    private static void logProgress(BatchPipeline<Conversion> pipeline, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        String queues = pipeline.getStageStatistics().stream()
+                .map(stage -> stage.getName() + "=" + stage.getQueueDepth() + "/" + stage.getActiveCount())
+                .collect(Collectors.joining(" "));
+        LOGGER.info(String.format("%d files converted (%.2f files/s), %d failed; queued/active per stage: %s",
+                pipeline.getCompletedCount(), pipeline.getCompletedCount() / seconds, pipeline.getFailedCount(),
+                queues));
+    }
+
+    private static String mediaTypeOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".docx")) {
+            return PDFServicesMediaType.DOCX.getMediaType();
+        } else if (name.endsWith(".pptx")) {
+            return PDFServicesMediaType.PPTX.getMediaType();
+        }
+        return null;
+    }
+
+    // Generates a string containing a directory structure for the output files
+    public static Path createOutputDirectoryPath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        return Files.createDirectories(Paths.get("output/CreatePDFFromDirectory/create" + timeStamp));
+    }
+
+    // A file on its way through the pipeline
+    private static final class Conversion {
+
+        private final Path input;
+        private final String mediaType;
+        private final Path output;
+        private Asset asset;
+        private String location;
+
+        private Conversion(Path input, String mediaType, Path output) {
+            this.input = input;
+            this.mediaType = mediaType;
+            this.output = output;
+        }
+
+        @Override
+        public String toString() {
+            return input.toString();
+        }
+    }
+}
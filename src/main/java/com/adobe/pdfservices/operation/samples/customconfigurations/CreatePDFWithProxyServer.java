@@ -14,11 +14,7 @@ package com.adobe.pdfservices.operation.samples.customconfigurations;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
-import com.adobe.pdfservices.operation.config.ClientConfig;
 import com.adobe.pdfservices.operation.config.proxy.ProxyScheme;
-import com.adobe.pdfservices.operation.config.proxy.ProxyServerConfig;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -26,14 +22,15 @@ import com.adobe.pdfservices.operation.io.Asset;
 import com.adobe.pdfservices.operation.io.StreamAsset;
 import com.adobe.pdfservices.operation.pdfjobs.jobs.CreatePDFJob;
 import com.adobe.pdfservices.operation.pdfjobs.result.CreatePDFResult;
-import org.apache.commons.io.IOUtils;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -55,32 +52,23 @@ public class CreatePDFWithProxyServer {
 
         try (
                 InputStream inputStream = Files.newInputStream(new File("src/main/resources/createPDFInput.docx").toPath())) {
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"));
-
             /*
-            Initial setup, creates proxy server config instance for client config
+            Initial setup, creates client settings instance with credentials and proxy server config.
             Replace the values of PROXY_HOSTNAME with the proxy server hostname.
             If the scheme of proxy server is not HTTP then, replace ProxyScheme parameter with HTTPS.
             If the port for proxy server is diff than the default port for HTTP and HTTPS, then please set the
             PROXY_PORT,
-            else, remove its setter statement.
+            else, pass null as the port.
              */
-            ProxyServerConfig proxyServerConfig = new ProxyServerConfig.Builder()
-                    .withHost("PROXY_HOSTNAME")
-                    .withProxyScheme(ProxyScheme.HTTP)
-                    .withPort(443)
-                    .build();
-
-            // Creates client config instance
-            ClientConfig clientConfig = ClientConfig.builder()
+            ClientSettings clientSettings = ClientSettings.builder()
+                    .withCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"))
                     .withConnectTimeout(10000)
                     .withSocketTimeout(40000)
-                    .withProxyServerConfig(proxyServerConfig)
+                    .withProxyServer("PROXY_HOSTNAME", 443, ProxyScheme.HTTP)
                     .build();
 
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials, clientConfig);
+            // Gets the shared PDF Services instance for these settings
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
 
             // Creates an asset(s) from source file(s) and upload
             Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.DOCX.getMediaType());
@@ -96,13 +84,11 @@ public class CreatePDFWithProxyServer {
             Asset resultAsset = pdfServicesResponse.getResult().getAsset();
             StreamAsset streamAsset = pdfServices.getContent(resultAsset);
 
-            // Creates an output stream and copy stream asset's content to it
+            // Writes the stream asset's content to the output file
             String outputFilePath = createOutputFilePath();
             LOGGER.info(String.format("Saving asset at %s", outputFilePath));
 
-            OutputStream outputStream = Files.newOutputStream(new File(outputFilePath).toPath());
-            IOUtils.copy(streamAsset.getInputStream(), outputStream);
-            outputStream.close();
+            AssetSink.getInstance().write(streamAsset, outputFilePath);
         } catch (ServiceApiException | IOException | SDKException | ServiceUsageException ex) {
             LOGGER.error("Exception encountered while executing operation", ex);
         }
@@ -14,8 +14,6 @@ package com.adobe.pdfservices.operation.samples.documentmerge;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -25,7 +23,9 @@ import com.adobe.pdfservices.operation.pdfjobs.jobs.DocumentMergeJob;
 import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.DocumentMergeParams;
 import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.OutputFormat;
 import com.adobe.pdfservices.operation.pdfjobs.result.DocumentMergeResult;
-import org.apache.commons.io.IOUtils;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.client.UploadCache;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +33,6 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -57,14 +56,11 @@ public class MergeDocumentToPDF {
 
         try (
                 InputStream inputStream = Files.newInputStream(new File("src/main/resources/salesOrderTemplate.docx").toPath())) {
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"));
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getDefaultClient();
 
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
-
-            // Creates an asset(s) from source file(s) and upload
-            Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.DOCX.getMediaType());
+            // Creates an asset(s) from source file(s) and upload; the template is reused until its cached asset expires
+            Asset asset = UploadCache.getDefault().upload(inputStream, PDFServicesMediaType.DOCX.getMediaType());
 
             // Setup input data for the document merge process
             String content = new String(Files.readAllBytes(Paths.get("src/main/resources/salesOrder.json")));
@@ -87,13 +83,11 @@ public class MergeDocumentToPDF {
             Asset resultAsset = pdfServicesResponse.getResult().getAsset();
             StreamAsset streamAsset = pdfServices.getContent(resultAsset);
 
-            // Creates an output stream and copy stream asset's content to it
+            // Writes the stream asset's content to the output file
             String outputFilePath = createOutputFilePath();
             LOGGER.info(String.format("Saving asset at %s", outputFilePath));
 
-            OutputStream outputStream = Files.newOutputStream(new File(outputFilePath).toPath());
-            IOUtils.copy(streamAsset.getInputStream(), outputStream);
-            outputStream.close();
+            AssetSink.getInstance().write(streamAsset, outputFilePath);
         } catch (ServiceApiException | IOException | SDKException | ServiceUsageException ex) {
             LOGGER.error("Exception encountered while executing operation", ex);
         }
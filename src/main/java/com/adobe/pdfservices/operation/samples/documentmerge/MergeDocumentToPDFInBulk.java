@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.documentmerge;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.OutputFormat;
+import com.adobe.pdfservices.operation.samples.batch.BatchSummary;
+import com.adobe.pdfservices.operation.samples.batch.BulkDocumentMerge;
+import com.adobe.pdfservices.operation.samples.batch.MergeRecord;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.io.EncodedImageCache;
+import com.adobe.pdfservices.operation.samples.io.ImageEmbedder;
+import com.adobe.pdfservices.operation.samples.io.JsonRecordReader;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This sample illustrates how to merge one Word based document template with many sets of JSON data, generating one
+ * PDF document per set.
+ * <p>
+ * The template is uploaded once and shared by every Document Merge job, and a bounded number of jobs run at the same
+ * time. The records are sales orders read one at a time from a JSON Lines file, or from a JSON file holding an array of
+ * orders or a single order such as salesOrder.json, so the file can be much larger than the heap. Malformed records are
+ * skipped and logged. The logo of each order is a file name, such as salesOrderLogo.png, replaced with the base64
+ * encoded image when the job of the order is started; a logo shared by many orders is encoded only once. Each output
+ * file is named after the agreement number of its order. The throughput and the latency of the merges are logged at
+ * the end.
+ * <p>
+ * Optional arguments: the records file (default src/main/resources/salesOrders.jsonl) and number of concurrent jobs
+ * (default 10).
+ * <p>
+ * To know more about document generation and document templates, please see the
+ * <a href="http://www.adobe.com/go/dcdocgen_overview_doc">documentation</a>
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class MergeDocumentToPDFInBulk {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergeDocumentToPDFInBulk.class);
+
+    public static void main(String[] args) {
+        Path recordsFile = Paths.get(args.length > 0 ? args[0] : "src/main/resources/salesOrders.jsonl");
+        int maxConcurrentJobs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build();
+             JsonRecordReader jsonRecordReader = JsonRecordReader.builder(recordsFile).build()) {
+            Path outputDirectory = createOutputDirectoryPath();
+            BulkDocumentMerge bulkDocumentMerge = BulkDocumentMerge.builder(asyncPDFServices, outputDirectory)
+                    .withOutputFormat(OutputFormat.PDF)
+                    .withMaxConcurrentJobs(maxConcurrentJobs)
+                    .withImageEmbedder(ImageEmbedder.builder()
+                            .withImageReference("logo", Paths.get("src/main/resources"))
+                            .build())
+                    .build();
+
+            // Uploads the template once and merges it with every record, read as jobs can be started
+            BatchSummary summary = bulkDocumentMerge.merge(UploadSource.ofFile(
+                    Paths.get("src/main/resources/salesOrderTemplate.docx"),
+                    PDFServicesMediaType.DOCX.getMediaType()), MergeRecord.keyedBy(jsonRecordReader, "agreementNum"));
+            LOGGER.info("Merged {} records, {} skipped: {}", jsonRecordReader.getRecordCount(),
+                    jsonRecordReader.getSkippedCount(), summary);
+            LOGGER.info("Encoded images: {}", EncodedImageCache.getDefault().getStatistics());
+            LOGGER.info(String.format("Saving assets in %s", outputDirectory));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException | UncheckedIOException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while merging records", ex);
+        }
+    }
+
+    // Generates a string containing a directory structure for the output files
+    public static Path createOutputDirectoryPath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        return Files.createDirectories(Paths.get("output/MergeDocumentToPDFInBulk/merge" + timeStamp));
+    }
+}
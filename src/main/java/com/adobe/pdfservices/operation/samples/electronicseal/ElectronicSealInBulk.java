@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.electronicseal;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.pdfjobs.params.electronicseal.CSCAuthContext;
+import com.adobe.pdfservices.operation.pdfjobs.params.electronicseal.CertificateCredentials;
+import com.adobe.pdfservices.operation.pdfjobs.params.electronicseal.DocumentLevelPermission;
+import com.adobe.pdfservices.operation.pdfjobs.params.electronicseal.FieldLocation;
+import com.adobe.pdfservices.operation.pdfjobs.params.electronicseal.FieldOptions;
+import com.adobe.pdfservices.operation.pdfjobs.params.electronicseal.PDFElectronicSealParams;
+import com.adobe.pdfservices.operation.samples.batch.BatchSummary;
+import com.adobe.pdfservices.operation.samples.batch.BulkElectronicSeal;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This sample illustrates how to apply the same electronic seal to every PDF document in a directory.
+ * <p>
+ * The seal image is uploaded once, and the certificate credentials and field options are built once and shared by
+ * every Electronic Seal job. A bounded number of documents are sealed at the same time, and jobs are started at no more
+ * than a given rate, since each of them calls the CSC provider. Documents are listed as jobs can be started, so the
+ * directory can hold any number of them. The throughput and the latency percentiles of the documents are logged at the
+ * end.
+ * <p>
+ * Optional arguments: input directory (default src/main/resources), number of concurrent jobs (default 10) and
+ * number of jobs started per second (default 5).
+ * <p>
+ * To know more about PDF Electronic Seal, please see the
+ * <a href="https://www.adobe.com/go/dc_eseal_overview_doc" target="_blank">documentation</a>.
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class ElectronicSealInBulk {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElectronicSealInBulk.class);
+
+    public static void main(String[] args) {
+        Path inputDirectory = Paths.get(args.length > 0 ? args[0] : "src/main/resources");
+        int maxConcurrentJobs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        double maxJobsPerSecond = args.length > 2 ? Double.parseDouble(args[2]) : 5;
+
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build();
+             DirectoryStream<Path> documents = Files.newDirectoryStream(inputDirectory, "*.pdf")) {
+            // Create FieldOptions instance with required details, shared by every document
+            FieldOptions fieldOptions = new FieldOptions.Builder("Signature1")
+                    .setFieldLocation(new FieldLocation(150, 250, 350, 200))
+                    .setPageNumber(1)
+                    .setVisible(true)
+                    .build();
+
+            // Create CertificateCredentials instance with required certificate details, shared by every document
+            CertificateCredentials certificateCredentials = CertificateCredentials.cscCredentialBuilder()
+                    .withProviderName("<PROVIDER_NAME>")
+                    .withCredentialID("<CREDENTIAL_ID>")
+                    .withPin("<PIN>")
+                    .withCSCAuthContext(new CSCAuthContext("<ACCESS_TOKEN>", "Bearer"))
+                    .build();
+
+            // Create parameters for the jobs
+            PDFElectronicSealParams pdfElectronicSealParams = PDFElectronicSealParams.pdfElectronicSealParamsBuilder(certificateCredentials, fieldOptions)
+                    .withDocumentLevelPermission(DocumentLevelPermission.FORM_FILLING)
+                    .build();
+
+            Path outputDirectory = createOutputDirectoryPath();
+            BulkElectronicSeal bulkElectronicSeal = BulkElectronicSeal.builder(asyncPDFServices, pdfElectronicSealParams, outputDirectory)
+                    .withMaxConcurrentJobs(maxConcurrentJobs)
+                    .withMaxJobsPerSecond(maxJobsPerSecond)
+                    .build();
+
+            // Uploads the seal image once and seals every document with it
+            BatchSummary summary = bulkElectronicSeal.seal(UploadSource.ofFile(
+                    Paths.get("src/main/resources/sampleSealImage.png"), PDFServicesMediaType.PNG.getMediaType()),
+                    documents.iterator());
+            LOGGER.info("Sealed documents: {}", summary);
+            LOGGER.info(String.format("Saving assets in %s", outputDirectory));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException | UncheckedIOException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while sealing documents", ex);
+        }
+    }
+
+    // Generates a string containing a directory structure for the output files
+    public static Path createOutputDirectoryPath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        return Files.createDirectories(Paths.get("output/ElectronicSealInBulk/seal" + timeStamp));
+    }
+}
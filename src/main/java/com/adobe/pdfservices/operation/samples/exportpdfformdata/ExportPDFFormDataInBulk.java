@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.exportpdfformdata;
+
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.samples.batch.BatchSummary;
+import com.adobe.pdfservices.operation.samples.batch.BulkExportPDFFormData;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.io.CsvRecordWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This sample illustrates how to export the form data of many filled PDF forms into a single CSV table, with one row
+ * per form.
+ * <p>
+ * Export PDF Form Data jobs run concurrently, and the JSON result of each job is read from the downloaded stream and
+ * appended to the table as a row; no file is written per form. The columns are the fields of the first form exported,
+ * so the forms should come from the same template. Forms are listed as jobs can be started, so the directory can hold
+ * any number of them.
+ * <p>
+ * Optional arguments: input directory (default src/main/resources), file name pattern of the forms (default
+ * exportPdfFormData*.pdf) and number of concurrent jobs (default 10).
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class ExportPDFFormDataInBulk {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportPDFFormDataInBulk.class);
+
+    public static void main(String[] args) {
+        Path inputDirectory = Paths.get(args.length > 0 ? args[0] : "src/main/resources");
+        String pattern = args.length > 1 ? args[1] : "exportPdfFormData*.pdf";
+        int maxConcurrentJobs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build();
+             DirectoryStream<Path> forms = Files.newDirectoryStream(inputDirectory, pattern)) {
+            BulkExportPDFFormData bulkExportPDFFormData = BulkExportPDFFormData.builder(asyncPDFServices)
+                    .withMaxConcurrentJobs(maxConcurrentJobs)
+                    .build();
+
+            // Appends the form data of each form to the table as its job completes
+            Path outputFile = createOutputFilePath();
+            try (CsvRecordWriter csvRecordWriter = CsvRecordWriter.builder(outputFile).build()) {
+                BatchSummary summary = bulkExportPDFFormData.export(forms.iterator(), csvRecordWriter);
+                LOGGER.info("Exported forms: {}", summary);
+            }
+            LOGGER.info(String.format("Saving asset at %s", outputFile));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException | UncheckedIOException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while exporting form data", ex);
+        }
+    }
+
+    // Generates a string containing a directory structure and file name for the output file
+    public static Path createOutputFilePath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        Files.createDirectories(Paths.get("output/ExportPDFFormDataInBulk"));
+        return Paths.get("output/ExportPDFFormDataInBulk/formData" + timeStamp + ".csv");
+    }
+}
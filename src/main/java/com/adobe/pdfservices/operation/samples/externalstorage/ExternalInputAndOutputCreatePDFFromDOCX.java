@@ -12,10 +12,6 @@
 package com.adobe.pdfservices.operation.samples.externalstorage;
 
 import com.adobe.pdfservices.operation.PDFServices;
-import com.adobe.pdfservices.operation.PDFServicesJobStatus;
-import com.adobe.pdfservices.operation.PDFServicesJobStatusResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -23,10 +19,13 @@ import com.adobe.pdfservices.operation.io.Asset;
 import com.adobe.pdfservices.operation.io.ExternalAsset;
 import com.adobe.pdfservices.operation.io.ExternalStorageType;
 import com.adobe.pdfservices.operation.pdfjobs.jobs.CreatePDFJob;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.client.HashedWheelJobPoller;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This sample illustrates how to use external storage as input and output in PDF Services.
@@ -41,12 +40,11 @@ public class ExternalInputAndOutputCreatePDFFromDOCX {
 
     public static void main(String[] args) {
 
-        try {
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"));
-
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
+        // Creates a poller that checks the job status without holding a thread while the job is in progress
+        ClientSettings clientSettings = ClientSettings.fromEnvironment();
+        try (HashedWheelJobPoller poller = HashedWheelJobPoller.builder(clientSettings).build()) {
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
 
             // Creating external assets from pre signed URLs.
             String inputPreSignedURL = "INPUT_PRESIGNED_URL";
@@ -60,18 +58,14 @@ public class ExternalInputAndOutputCreatePDFFromDOCX {
             // Submit the job and gets the job result
             String location = pdfServices.submit(createPDFJob);
 
-            // Poll to check job status and wait until job is done
-            PDFServicesJobStatusResponse pdfServicesJobStatusResponse = null;
-            while (pdfServicesJobStatusResponse == null || PDFServicesJobStatus.IN_PROGRESS.getValue().equals(pdfServicesJobStatusResponse.getStatus())) {
-                pdfServicesJobStatusResponse = pdfServices.getJobStatus(location);
-                // get retry interval from response
-                Integer retryAfter = pdfServicesJobStatusResponse.getRetryInterval();
-                TimeUnit.SECONDS.sleep(retryAfter);
-            }
+            // Track the job status, honoring the retry interval returned by the service, and wait until job is done
+            poller.track(location).get();
 
             LOGGER.info("Output is now available on the provided output external storage.");
         } catch (ServiceApiException | SDKException | ServiceUsageException | InterruptedException ex) {
             LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (ExecutionException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
         }
     }
 }
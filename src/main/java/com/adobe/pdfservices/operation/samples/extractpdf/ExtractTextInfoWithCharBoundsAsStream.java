@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.extractpdf;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.PDFServicesResponse;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.exception.ServiceUsageException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.ExtractPDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractElementType;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractPDFParams;
+import com.adobe.pdfservices.operation.pdfjobs.result.ExtractPDFResult;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.ExtractResultReader;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+
+/**
+ * This sample illustrates how to extract Text Information and bounding boxes for characters from PDF, and read the
+ * extracted elements as they are downloaded instead of saving the zip file and loading structuredData.json at once.
+ * <p>
+ * The elements are read one at a time with an {@link ExtractResultReader}, so the memory used does not grow with the
+ * size of the document. The text of each element is written to a text file as it is read.
+ * <p>
+ * Refer to README.md for instructions on how to run the samples & understand output zip file.
+ */
+public class ExtractTextInfoWithCharBoundsAsStream {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExtractTextInfoWithCharBoundsAsStream.class);
+
+    public static void main(String[] args) {
+
+        try (
+                InputStream inputStream = Files.newInputStream(new File("src/main/resources/extractPdfInput.pdf").toPath())) {
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getDefaultClient();
+
+            // Creates an asset(s) from source file(s) and upload
+            Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
+
+            // Create parameters for the job
+            ExtractPDFParams extractPDFParams = ExtractPDFParams.extractPDFParamsBuilder()
+                    .addElementToExtract(ExtractElementType.TEXT)
+                    .addCharInfo(true)
+                    .build();
+
+            // Creates a new job instance
+            ExtractPDFJob extractPDFJob = new ExtractPDFJob(asset).setParams(extractPDFParams);
+
+            // Submit the job and gets the job result
+            String location = pdfServices.submit(extractPDFJob);
+            PDFServicesResponse<ExtractPDFResult> pdfServicesResponse = pdfServices.getJobResult(location, ExtractPDFResult.class);
+
+            // Get content from the resulting asset(s)
+            Asset resultAsset = pdfServicesResponse.getResult().getResource();
+            StreamAsset streamAsset = pdfServices.getContent(resultAsset);
+
+            // Reads the elements from the downloaded stream and writes their text to the output file
+            String outputFilePath = createOutputFilePath();
+            LOGGER.info(String.format("Saving text at %s", outputFilePath));
+
+            try (ExtractResultReader reader = ExtractResultReader.open(streamAsset.getInputStream());
+                 Writer writer = Files.newBufferedWriter(Paths.get(outputFilePath), StandardCharsets.UTF_8)) {
+                long characterCount = 0;
+                Iterator<JSONObject> elements = reader.elements();
+                while (elements.hasNext()) {
+                    JSONObject element = elements.next();
+                    String text = element.optString("Text", null);
+                    if (text != null) {
+                        writer.write(text);
+                        writer.write(System.lineSeparator());
+                        characterCount += text.length();
+                    }
+                }
+                LOGGER.info(String.format("Read %d elements with %d characters of text from %d pages",
+                        reader.getElementCount(), characterCount,
+                        reader.getHeader().optJSONObject("extended_metadata", new JSONObject()).optInt("page_count")));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } catch (ServiceApiException | IOException | SDKException | ServiceUsageException e) {
+            LOGGER.error("Exception encountered while executing operation", e);
+        }
+    }
+
+    // Generates a string containing a directory structure and file name for the output file
+    public static String createOutputFilePath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        Files.createDirectories(Paths.get("output/ExtractTextInfoWithCharBoundsAsStream"));
+        return ("output/ExtractTextInfoWithCharBoundsAsStream/extract" + timeStamp + ".txt");
+    }
+}
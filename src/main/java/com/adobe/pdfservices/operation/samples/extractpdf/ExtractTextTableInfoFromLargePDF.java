@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.extractpdf;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractElementType;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractPDFParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.extractpdf.ExtractRenditionsElementType;
+import com.adobe.pdfservices.operation.samples.batch.ShardPlan;
+import com.adobe.pdfservices.operation.samples.batch.ShardedExtractPDF;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This sample illustrates how to extract Text, Table Elements Information and renditions of Tables and Figures from a
+ * large PDF file in less time, by extracting parts of the file at the same time.
+ * <p>
+ * The file is split into shards of consecutive pages, the shards are extracted by concurrent jobs with the same
+ * parameters, and the result zip files are merged into one zip file with a single structuredData.json. Page numbers,
+ * element paths and rendition file names are renumbered as if the whole file had been extracted by one job. Small files
+ * are extracted by a single job.
+ * <p>
+ * Optional argument: the PDF file (default src/main/resources/extractPdfInput.pdf).
+ * <p>
+ * Refer to README.md for instructions on how to run the samples & understand output zip file.
+ */
+public class ExtractTextTableInfoFromLargePDF {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExtractTextTableInfoFromLargePDF.class);
+
+    public static void main(String[] args) {
+        String inputFile = args.length > 0 ? args[0] : "src/main/resources/extractPdfInput.pdf";
+
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build()) {
+            // Creates an asset(s) from source file(s) and upload
+            Asset asset = asyncPDFServices.uploadAsync(UploadSource.ofFile(Paths.get(inputFile),
+                    PDFServicesMediaType.PDF.getMediaType())).join();
+
+            // Create parameters for the job, used for every shard
+            ExtractPDFParams extractPDFParams = ExtractPDFParams.extractPDFParamsBuilder()
+                    .addElementsToExtract(Arrays.asList(ExtractElementType.TEXT, ExtractElementType.TABLES))
+                    .addElementsToExtractRenditions(Arrays.asList(ExtractRenditionsElementType.TABLES,
+                            ExtractRenditionsElementType.FIGURES))
+                    .build();
+            ShardedExtractPDF shardedExtractPDF = ShardedExtractPDF.builder(asyncPDFServices)
+                    .withExtractPDFParams(extractPDFParams)
+                    .build();
+
+            // Chooses the shard size from the page count of the file
+            ShardPlan plan = shardedExtractPDF.planAsync(asset).join();
+            LOGGER.info("Extracting {}", plan);
+
+            // Splits the file, extracts the shards and merges the results into the output file
+            String outputFilePath = createOutputFilePath();
+            long start = System.nanoTime();
+            shardedExtractPDF.extract(asset, plan, Paths.get(outputFilePath)).join();
+            LOGGER.info(String.format("Extraction of %d pages took %.1fs with %d jobs", plan.getPageCount(),
+                    (System.nanoTime() - start) / 1e9, shardedExtractPDF.getJobCount()));
+            LOGGER.info(String.format("Saving asset at %s", outputFilePath));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        }
+    }
+
+    // Generates a string containing a directory structure and file name for the output file
+    public static String createOutputFilePath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        Files.createDirectories(Paths.get("output/ExtractTextTableInfoFromLargePDF"));
+        return ("output/ExtractTextTableInfoFromLargePDF/extract" + timeStamp + ".zip");
+    }
+}
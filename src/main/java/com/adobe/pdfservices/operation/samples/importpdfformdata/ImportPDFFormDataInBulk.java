@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.importpdfformdata;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.samples.batch.BatchSummary;
+import com.adobe.pdfservices.operation.samples.batch.BulkImportPDFFormData;
+import com.adobe.pdfservices.operation.samples.batch.MergeRecord;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.io.CsvRecordReader;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This sample illustrates how to fill one PDF form many times, with the form data of each row of a CSV file.
+ * <p>
+ * The form is uploaded once and shared by every Import PDF Form Data job, and a bounded number of jobs run at the
+ * same time. Rows are read one at a time as jobs can be started, so the CSV file can be much larger than the heap. The
+ * first row holds the names of the form fields; malformed rows are skipped and logged, and a row whose job fails does
+ * not hold back the others. Each filled form is named after the applicant_id column of its row, which is unique,
+ * rather than a column such as the name that two rows can share. The form has no applicant_id field, so the column is
+ * left out of the form data sent to the service.
+ * <p>
+ * Optional arguments: the CSV file (default src/main/resources/importPdfFormDataRows.csv) and number of concurrent
+ * jobs (default 10).
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class ImportPDFFormDataInBulk {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportPDFFormDataInBulk.class);
+
+    public static void main(String[] args) {
+        Path csvFile = Paths.get(args.length > 0 ? args[0] : "src/main/resources/importPdfFormDataRows.csv");
+        int maxConcurrentJobs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build();
+             CsvRecordReader csvRecordReader = CsvRecordReader.builder(csvFile).build()) {
+            Path outputDirectory = createOutputDirectoryPath();
+            BulkImportPDFFormData bulkImportPDFFormData = BulkImportPDFFormData.builder(asyncPDFServices, outputDirectory)
+                    .withMaxConcurrentJobs(maxConcurrentJobs)
+                    .withoutFields("applicant_id")
+                    .build();
+
+            // Uploads the form once and fills it with every row, read as jobs can be started
+            LOGGER.info("Form fields: {}", csvRecordReader.getHeader());
+            BatchSummary summary = bulkImportPDFFormData.fill(UploadSource.ofFile(
+                    Paths.get("src/main/resources/importPdfFormDataInput.pdf"),
+                    PDFServicesMediaType.PDF.getMediaType()), MergeRecord.keyedBy(csvRecordReader, "applicant_id"));
+            LOGGER.info("Filled {} rows, {} skipped: {}", csvRecordReader.getRecordCount(),
+                    csvRecordReader.getSkippedCount(), summary);
+            LOGGER.info(String.format("Saving assets in %s", outputDirectory));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException | UncheckedIOException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while filling forms", ex);
+        }
+    }
+
+    // Generates a string containing a directory structure for the output files
+    public static Path createOutputDirectoryPath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        return Files.createDirectories(Paths.get("output/ImportPDFFormDataInBulk/fill" + timeStamp));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import com.adobe.pdfservices.operation.io.StreamAsset;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes the content of {@link StreamAsset}s to files through NIO channels.
+ * <p>
+ * Content is read into direct buffers taken from a pool and written to a {@link FileChannel}. Large results are written
+ * in few system calls, with no per-download allocation, and without the extra copy into a temporary direct buffer that
+ * {@link FileChannel#write(ByteBuffer)} makes for heap buffers. When the content is backed by a file, it is copied
+ * with {@link FileChannel#transferFrom}, which lets the operating system copy the bytes directly.
+ * <p>
+ * Instances are thread-safe; concurrent writes each take their own buffer from the pool.
+ */
+public final class AssetSink {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    private static final int DEFAULT_MAX_POOLED_BUFFERS = Runtime.getRuntime().availableProcessors();
+    private static final long MAX_TRANSFER_SIZE = 64L * 1024 * 1024;
+
+    private static final AssetSink INSTANCE = builder().build();
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> bufferPool;
+
+    private AssetSink(Builder builder) {
+        this.bufferSize = builder.bufferSize;
+        this.bufferPool = new ArrayBlockingQueue<>(builder.maxPooledBuffers);
+    }
+
+    /**
+     * Returns the shared sink used by the samples.
+     *
+     * @return the shared AssetSink
+     */
+    public static AssetSink getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a new AssetSink builder.
+     *
+     * @return an AssetSink.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Writes the content of a stream asset to a file, replacing the file if it exists, and closes the content stream.
+     *
+     * @param streamAsset    the downloaded asset
+     * @param outputFilePath path of the output file
+     * @return the number of bytes written
+     * @throws IOException if the content can not be read or the file can not be written
+     */
+    public long write(StreamAsset streamAsset, String outputFilePath) throws IOException {
+        return write(streamAsset.getInputStream(), Paths.get(outputFilePath));
+    }
+
+    /**
+     * Writes the content of a stream to a file, replacing the file if it exists, and closes the stream.
+     *
+     * @param inputStream content to write
+     * @param outputFile  the output file
+     * @return the number of bytes written
+     * @throws IOException if the content can not be read or the file can not be written
+     */
+    public long write(InputStream inputStream, Path outputFile) throws IOException {
+        try (InputStream source = inputStream;
+             FileChannel target = FileChannel.open(outputFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (source instanceof FileInputStream) {
+                return transfer(((FileInputStream) source).getChannel(), target);
+            }
+            return copy(Channels.newChannel(source), target);
+        }
+    }
+
+    private static long transfer(FileChannel source, FileChannel target) throws IOException {
+        long position = 0;
+        long transferred;
+        while ((transferred = target.transferFrom(source, position, MAX_TRANSFER_SIZE)) > 0) {
+            position += transferred;
+        }
+        return position;
+    }
+
+    private long copy(ReadableByteChannel source, FileChannel target) throws IOException {
+        ByteBuffer buffer = acquireBuffer();
+        try {
+            long written = 0;
+            boolean endOfStream = false;
+            while (!endOfStream) {
+                endOfStream = source.read(buffer) < 0;
+                // Only write once the buffer is full, so that a large result takes few writes
+                if (endOfStream || !buffer.hasRemaining()) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        written += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            return written;
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    // Buffers beyond the pool size are dropped and freed by the garbage collector
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        bufferPool.offer(buffer);
+    }
+
+    /**
+     * Builds an {@link AssetSink} instance.
+     */
+    public static class Builder {
+
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        private int maxPooledBuffers = DEFAULT_MAX_POOLED_BUFFERS;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the size of the direct buffers content is copied through. Default value is 1 MB.
+         *
+         * @param bufferSize buffer size in bytes
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withBufferSize(int bufferSize) {
+            if (bufferSize < 1) {
+                throw new IllegalArgumentException("Buffer size must be at least 1");
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of direct buffers kept for reuse between writes. Default value is the number of processors.
+         *
+         * @param maxPooledBuffers number of buffers kept for reuse
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxPooledBuffers(int maxPooledBuffers) {
+            if (maxPooledBuffers < 1) {
+                throw new IllegalArgumentException("Max pooled buffers must be at least 1");
+            }
+            this.maxPooledBuffers = maxPooledBuffers;
+            return this;
+        }
+
+        /**
+         * Returns a new AssetSink instance built from the current state of this builder.
+         *
+         * @return a new AssetSink instance
+         */
+        public AssetSink build() {
+            return new AssetSink(this);
+        }
+    }
+}
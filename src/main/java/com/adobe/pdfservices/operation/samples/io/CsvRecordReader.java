@@ -0,0 +1,383 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Reads the rows of a CSV file one at a time as JSON objects, for example the form data of a bulk form fill.
+ * <p>
+ * The first row holds the column names, and each following row becomes an object mapping the column names to the
+ * values of the row, as strings; empty values are left out. Rows are read as the iterator advances, so the heap used
+ * depends on the size of the largest row, not on the size of the file. Fields follow RFC 4180: they can be quoted, and
+ * quoted fields can hold delimiters, line breaks and quotes written twice ({@code ""}). Blank lines are ignored.
+ * <p>
+ * A row that does not have one value per column, has characters after a closing quote, or is longer than
+ * {@link Builder#withMaxRecordLength(int) maxRecordLength} is skipped and passed to the
+ * {@link JsonRecordReader.SkipHandler}, which logs it by default, and reading carries on with the next row.
+ */
+public final class CsvRecordReader implements Iterator<JSONObject>, AutoCloseable {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(CsvRecordReader.class);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int END = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final int maxRecordLength;
+    private final JsonRecordReader.SkipHandler skipHandler;
+    private List<String> header;
+
+    private final char[] buffer = new char[READ_BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int pushedBack = END;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int recordLength;
+    private String malformed;
+    private long recordLine;
+
+    private boolean ended;
+    private long lineNumber = 1;
+    private long recordNumber;
+    private long skippedCount;
+    private JSONObject next;
+
+    private CsvRecordReader(Builder builder, Reader reader) {
+        this.reader = reader;
+        this.delimiter = builder.delimiter;
+        this.maxRecordLength = builder.maxRecordLength;
+        this.skipHandler = builder.skipHandler;
+    }
+
+    /**
+     * Creates a new CsvRecordReader builder for a file.
+     *
+     * @param file the file to read, in UTF-8
+     * @return a CsvRecordReader.Builder instance
+     */
+    public static Builder builder(Path file) {
+        return new Builder(file, null);
+    }
+
+    /**
+     * Creates a new CsvRecordReader builder for a character stream.
+     *
+     * @param reader the rows; closed by {@link #close()}
+     * @return a CsvRecordReader.Builder instance
+     */
+    public static Builder builder(Reader reader) {
+        return new Builder(null, reader);
+    }
+
+    /**
+     * Returns whether there is another row, reading the file up to the end of that row. Read errors are thrown as
+     * {@link UncheckedIOException}.
+     *
+     * @return true if there is another row
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null && !ended) {
+                next = readRecord();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return next != null;
+    }
+
+    @Override
+    public JSONObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JSONObject record = next;
+        next = null;
+        return record;
+    }
+
+    /**
+     * Returns the column names, from the first row of the file.
+     *
+     * @return the column names
+     */
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * Returns the number of rows read so far, not counting the column names, and including those skipped.
+     *
+     * @return the number of rows
+     */
+    public long getRecordCount() {
+        return recordNumber;
+    }
+
+    /**
+     * Returns the number of rows skipped so far.
+     *
+     * @return the number of skipped rows
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ended = true;
+        reader.close();
+    }
+
+    // Reads the column names, which must be present, non-empty and unique
+    private void readHeader() throws IOException {
+        int c = read();
+        if (c != '\uFEFF') {
+            pushBack(c);
+        }
+        if (!scanRecord()) {
+            throw new IOException("There are no column names");
+        }
+        if (malformed != null) {
+            throw new IOException("Can not read the column names at line " + recordLine + ": " + malformed);
+        }
+        Set<String> names = new HashSet<>();
+        for (String name : fields) {
+            if (name.isEmpty() || !names.add(name)) {
+                throw new IOException("Column names must be non-empty and unique: " + fields);
+            }
+        }
+        header = Collections.unmodifiableList(new ArrayList<>(fields));
+    }
+
+    // Returns the next valid row, or null if the row read was skipped or the end was reached
+    private JSONObject readRecord() throws IOException {
+        if (!scanRecord()) {
+            ended = true;
+            return null;
+        }
+        recordNumber++;
+        if (malformed != null) {
+            return skip(malformed);
+        }
+        if (fields.size() != header.size()) {
+            return skip(fields.size() + " values for " + header.size() + " columns");
+        }
+        JSONObject record = new JSONObject();
+        for (int i = 0; i < fields.size(); i++) {
+            if (!fields.get(i).isEmpty()) {
+                record.put(header.get(i), fields.get(i));
+            }
+        }
+        return record;
+    }
+
+    private JSONObject skip(String reason) {
+        skippedCount++;
+        try {
+            skipHandler.skipped(recordNumber, recordLine, reason);
+        } catch (RuntimeException e) {
+            // A handler that throws must not stop the reader
+            LOGGER.warn("Exception encountered in the skip handler of row {}", recordNumber, e);
+        }
+        return null;
+    }
+
+    // Reads the fields of the next non-blank row; returns false at the end of the file
+    private boolean scanRecord() throws IOException {
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            c = read();
+        }
+        if (c == END) {
+            return false;
+        }
+        recordLine = lineNumber;
+        fields.clear();
+        recordLength = 0;
+        malformed = null;
+        while (true) {
+            field.setLength(0);
+            if (c == '"') {
+                c = scanQuotedField();
+                while (c != delimiter && c != '\n' && c != '\r' && c != END) {
+                    if (malformed == null) {
+                        malformed = "Unexpected characters after a closing quote";
+                    }
+                    c = read();
+                }
+            } else {
+                while (c != delimiter && c != '\n' && c != '\r' && c != END) {
+                    append(c);
+                    c = read();
+                }
+            }
+            fields.add(field.toString());
+            if (c != delimiter) {
+                return true;
+            }
+            append(c);
+            c = read();
+        }
+    }
+
+    // Reads a quoted field after its opening quote; returns the character after the closing quote
+    private int scanQuotedField() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == END) {
+                malformed = "Unexpected end of file in a quoted value";
+                return END;
+            }
+            if (c == '"') {
+                c = read();
+                if (c != '"') {
+                    return c;
+                }
+            }
+            append(c);
+        }
+    }
+
+    private void append(int c) {
+        if (++recordLength <= maxRecordLength) {
+            field.append((char) c);
+        } else if (malformed == null) {
+            malformed = "Longer than " + maxRecordLength + " characters";
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != END) {
+            int c = pushedBack;
+            pushedBack = END;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return END;
+            }
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private void pushBack(int c) {
+        pushedBack = c;
+    }
+
+    /**
+     * Builds a {@link CsvRecordReader} instance.
+     */
+    public static class Builder {
+
+        private final Path file;
+        private final Reader reader;
+        private char delimiter = ',';
+        private int maxRecordLength = 1024 * 1024;
+        private JsonRecordReader.SkipHandler skipHandler = (recordNumber, lineNumber, reason) ->
+                LOGGER.warn("Skipping row {} at line {}: {}", recordNumber, lineNumber, reason);
+
+        private Builder(Path file, Reader reader) {
+            this.file = file;
+            this.reader = reader;
+        }
+
+        /**
+         * Sets the character between the fields of a row. Default value is a comma.
+         *
+         * @param delimiter the field delimiter; can not be a quote or a line break
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withDelimiter(char delimiter) {
+            if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+                throw new IllegalArgumentException("Invalid delimiter");
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Sets the length above which a row is skipped, in characters. Default value is 1M characters.
+         *
+         * @param maxRecordLength largest row length, at least 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxRecordLength(int maxRecordLength) {
+            if (maxRecordLength < 1) {
+                throw new IllegalArgumentException("Max record length must be at least 1");
+            }
+            this.maxRecordLength = maxRecordLength;
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each row that is skipped. By default, the row is logged.
+         *
+         * @param skipHandler the skip handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withSkipHandler(JsonRecordReader.SkipHandler skipHandler) {
+            this.skipHandler = skipHandler;
+            return this;
+        }
+
+        /**
+         * Returns a new CsvRecordReader instance, opening the file if the builder was created for one, and reading
+         * the column names.
+         *
+         * @return a new CsvRecordReader instance
+         * @throws IOException if the file can not be opened, or does not start with valid column names
+         */
+        public CsvRecordReader build() throws IOException {
+            Reader source = file != null
+                    ? new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)
+                    : reader;
+            CsvRecordReader csvRecordReader = new CsvRecordReader(this, source);
+            try {
+                csvRecordReader.readHeader();
+            } catch (IOException | RuntimeException e) {
+                source.close();
+                throw e;
+            }
+            return csvRecordReader;
+        }
+    }
+}
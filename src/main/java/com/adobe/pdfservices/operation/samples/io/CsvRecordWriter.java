@@ -0,0 +1,163 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Appends rows to a CSV file, one row per call, as read back by {@link CsvRecordReader}.
+ * <p>
+ * Values are quoted only when they hold the delimiter, a quote or a line break, following RFC 4180, and null values
+ * are written as empty fields. Rows are written through a buffer and never held in memory, and rows written from
+ * several threads are never interleaved, so concurrent jobs can append their results to the same file.
+ */
+public final class CsvRecordWriter implements AutoCloseable {
+
+    private final Writer writer;
+    private final char delimiter;
+    private long rowCount;
+
+    private CsvRecordWriter(Builder builder, Writer writer) {
+        this.writer = writer;
+        this.delimiter = builder.delimiter;
+    }
+
+    /**
+     * Creates a new CsvRecordWriter builder for a file.
+     *
+     * @param file the file to write, in UTF-8; replaced if it exists
+     * @return a CsvRecordWriter.Builder instance
+     */
+    public static Builder builder(Path file) {
+        return new Builder(file, null);
+    }
+
+    /**
+     * Creates a new CsvRecordWriter builder for a character stream.
+     *
+     * @param writer the output; closed by {@link #close()}
+     * @return a CsvRecordWriter.Builder instance
+     */
+    public static Builder builder(Writer writer) {
+        return new Builder(null, writer);
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param values the values of the row, in column order
+     * @throws IOException if the row can not be written
+     */
+    public synchronized void writeRow(List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writeValue(values.get(i));
+        }
+        writer.write("\r\n");
+        rowCount++;
+    }
+
+    /**
+     * Returns the number of rows written so far.
+     *
+     * @return the number of rows
+     */
+    public synchronized long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the buffered rows to the file.
+     *
+     * @throws IOException if the rows can not be written
+     */
+    public synchronized void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeValue(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int quote = value.indexOf('"'); quote >= 0; quote = value.indexOf('"', start)) {
+            // Quotes are written twice
+            writer.write(value, start, quote + 1 - start);
+            writer.write('"');
+            start = quote + 1;
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    /**
+     * Builds a {@link CsvRecordWriter} instance.
+     */
+    public static class Builder {
+
+        private final Path file;
+        private final Writer writer;
+        private char delimiter = ',';
+
+        private Builder(Path file, Writer writer) {
+            this.file = file;
+            this.writer = writer;
+        }
+
+        /**
+         * Sets the character between the fields of a row. Default value is a comma.
+         *
+         * @param delimiter the field delimiter; can not be a quote or a line break
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withDelimiter(char delimiter) {
+            if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+                throw new IllegalArgumentException("Invalid delimiter");
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Returns a new CsvRecordWriter instance, creating the file if the builder was created for one.
+         *
+         * @return a new CsvRecordWriter instance
+         * @throws IOException if the file can not be created
+         */
+        public CsvRecordWriter build() throws IOException {
+            Writer target = file != null ? Files.newBufferedWriter(file, StandardCharsets.UTF_8) : writer;
+            return new CsvRecordWriter(this, target);
+        }
+    }
+}
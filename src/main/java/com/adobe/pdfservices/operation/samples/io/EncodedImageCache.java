@@ -0,0 +1,298 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Encodes image files as base64 data URIs, such as {@code data:image/png;base64,iVBORw0...}, for the JSON data of
+ * document merge jobs, and keeps the encoded images for later records.
+ * <p>
+ * A record that embeds a logo or a signature shared with the other records would otherwise read and encode the same
+ * file again, building a string a third larger than the image each time. Here an image is encoded once, and every
+ * record gets the same {@link String} instance. The file is encoded as it is read, in small chunks, straight into a
+ * buffer of the exact size of the data URI, which becomes the string; neither the whole file nor intermediate copies
+ * of the encoded image are held in memory. Identical requests made concurrently wait for the first one instead of
+ * encoding again.
+ * <p>
+ * Images are identified by their path, size and modification time, so a file that changes is encoded again. The
+ * cache holds at most a maximum number of characters of encoded images, dropping the least recently used first.
+ */
+public final class EncodedImageCache {
+
+    private static final long DEFAULT_MAX_CHARACTERS = 64L * 1024 * 1024;
+    private static final Map<String, String> MEDIA_TYPES = Map.of(
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg",
+            "gif", "image/gif",
+            "bmp", "image/bmp");
+
+    private final long maxCharacters;
+    private final Map<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlightEncodings = new ConcurrentHashMap<>();
+    private long cachedCharacters;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong charactersEncoded = new AtomicLong();
+    private final AtomicLong charactersSaved = new AtomicLong();
+
+    private EncodedImageCache(Builder builder) {
+        this.maxCharacters = builder.maxCharacters;
+    }
+
+    /**
+     * Returns the shared cache, with the default maximum size.
+     *
+     * @return the shared EncodedImageCache
+     */
+    public static EncodedImageCache getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a new EncodedImageCache builder.
+     *
+     * @return an EncodedImageCache.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the data URI of an image file, encoding it unless it is cached. The media type is found from the file
+     * extension: .png, .jpg, .jpeg, .gif or .bmp.
+     *
+     * @param image the image file
+     * @return the data URI of the image
+     * @throws IOException if the file can not be read
+     */
+    public String getDataUri(Path image) throws IOException {
+        String mediaType = mediaTypeOf(image);
+        BasicFileAttributes attributes = Files.readAttributes(image, BasicFileAttributes.class);
+        String key = image.toAbsolutePath().normalize() + ":" + attributes.size() + ":"
+                + attributes.lastModifiedTime().toMillis();
+
+        String cached = lookup(key);
+        if (cached != null) {
+            return hit(cached);
+        }
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = inFlightEncodings.putIfAbsent(key, pending);
+        if (inFlight != null) {
+            return hit(await(inFlight));
+        }
+        try {
+            // The encoding that was in flight during the lookup may have completed since
+            String dataUri = lookup(key);
+            if (dataUri != null) {
+                hit(dataUri);
+            } else {
+                dataUri = encode(image, mediaType, attributes.size());
+                store(key, dataUri);
+                misses.incrementAndGet();
+                charactersEncoded.addAndGet(dataUri.length());
+            }
+            pending.complete(dataUri);
+            return dataUri;
+        } catch (IOException | RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightEncodings.remove(key, pending);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    public EncodedImageCacheStatistics getStatistics() {
+        return new EncodedImageCacheStatistics(hits.get(), misses.get(), evictions.get(), charactersEncoded.get(),
+                charactersSaved.get());
+    }
+
+    /**
+     * Drops all cached images.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        cachedCharacters = 0;
+    }
+
+    /**
+     * Returns the number of cached images.
+     *
+     * @return the number of cached images
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private String hit(String dataUri) {
+        hits.incrementAndGet();
+        charactersSaved.addAndGet(dataUri.length());
+        return dataUri;
+    }
+
+    private synchronized String lookup(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(String key, String dataUri) {
+        if (dataUri.length() > maxCharacters) {
+            // Larger than the whole cache: returned, but not kept
+            return;
+        }
+        String previous = entries.put(key, dataUri);
+        cachedCharacters += dataUri.length() - (previous != null ? previous.length() : 0);
+        // Iteration order is access order, so the least recently used images come first
+        Iterator<String> eldest = entries.values().iterator();
+        while (cachedCharacters > maxCharacters) {
+            cachedCharacters -= eldest.next().length();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    // Encodes the file into a byte array of the final length, which is then turned into a Latin-1 string in one copy
+    private static String encode(Path image, String mediaType, long size) throws IOException {
+        byte[] prefix = ("data:" + mediaType + ";base64,").getBytes(StandardCharsets.US_ASCII);
+        long length = prefix.length + 4 * ((size + 2) / 3);
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Image is too large to embed: " + image);
+        }
+        byte[] dataUri = new byte[(int) length];
+        System.arraycopy(prefix, 0, dataUri, 0, prefix.length);
+        FixedArrayOutputStream sink = new FixedArrayOutputStream(dataUri, prefix.length, image);
+        try (InputStream inputStream = Files.newInputStream(image);
+             OutputStream base64 = Base64.getEncoder().wrap(sink)) {
+            inputStream.transferTo(base64);
+        }
+        if (sink.position != dataUri.length) {
+            throw new IOException("Image changed while it was encoded: " + image);
+        }
+        return new String(dataUri, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String mediaTypeOf(Path image) {
+        String name = image.getFileName().toString();
+        String mediaType = MEDIA_TYPES.get(name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT));
+        if (mediaType == null) {
+            throw new IllegalArgumentException("Unsupported image type: " + image);
+        }
+        return mediaType;
+    }
+
+    private static String await(CompletableFuture<String> inFlight) throws IOException {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UncheckedIOException(new IOException("Exception encountered while encoding an image", cause));
+        }
+    }
+
+    // Writes into a preallocated array, failing instead of growing if the file is longer than expected
+    private static final class FixedArrayOutputStream extends OutputStream {
+
+        private final byte[] target;
+        private final Path image;
+        private int position;
+
+        private FixedArrayOutputStream(byte[] target, int position, Path image) {
+            this.target = target;
+            this.position = position;
+            this.image = image;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > target.length - position) {
+                throw new IOException("Image changed while it was encoded: " + image);
+            }
+            System.arraycopy(bytes, offset, target, position, length);
+            position += length;
+        }
+    }
+
+    // Created on first use
+    private static final class DefaultHolder {
+
+        private static final EncodedImageCache INSTANCE = builder().build();
+    }
+
+    /**
+     * Builds an {@link EncodedImageCache} instance.
+     */
+    public static class Builder {
+
+        private long maxCharacters = DEFAULT_MAX_CHARACTERS;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of characters of the cached data URIs, which take one byte each in the heap. Default
+         * value is 64M characters.
+         *
+         * @param maxCharacters maximum size of the cache, in characters
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxCharacters(long maxCharacters) {
+            if (maxCharacters < 0) {
+                throw new IllegalArgumentException("Max characters can not be negative");
+            }
+            this.maxCharacters = maxCharacters;
+            return this;
+        }
+
+        /**
+         * Returns a new EncodedImageCache instance built from the current state of this builder.
+         *
+         * @return a new EncodedImageCache instance
+         */
+        public EncodedImageCache build() {
+            return new EncodedImageCache(this);
+        }
+    }
+}
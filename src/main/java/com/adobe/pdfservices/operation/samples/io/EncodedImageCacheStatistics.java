@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+/**
+ * Point-in-time snapshot of the counters kept by an {@link EncodedImageCache}.
+ * <p>
+ * A hit is an image answered with a previously encoded data URI, including requests that waited for an identical
+ * encoding already in progress; a miss is an image read and encoded.
+ */
+public final class EncodedImageCacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long charactersEncoded;
+    private final long charactersSaved;
+
+    EncodedImageCacheStatistics(long hits, long misses, long evictions, long charactersEncoded, long charactersSaved) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.charactersEncoded = charactersEncoded;
+        this.charactersSaved = charactersSaved;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of encoded images dropped to keep the cache within its maximum size.
+     *
+     * @return the number of evicted entries
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getCharactersEncoded() {
+        return charactersEncoded;
+    }
+
+    /**
+     * Returns the number of data URI characters not built again because the image was already cached.
+     *
+     * @return the number of characters saved
+     */
+    public long getCharactersSaved() {
+        return charactersSaved;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d evictions=%d charactersEncoded=%d charactersSaved=%d",
+                hits, misses, evictions, charactersEncoded, charactersSaved);
+    }
+}
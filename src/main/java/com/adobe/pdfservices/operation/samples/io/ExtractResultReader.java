@@ -0,0 +1,317 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the result ZIP file of an Extract PDF job as a stream, one element at a time.
+ * <p>
+ * Saving the ZIP file and then parsing structuredData.json as a whole takes as much heap as the JSON, which reaches
+ * gigabytes for long documents extracted with character bounds. This reader instead consumes the ZIP stream with a
+ * {@link ZipInputStream} and parses structuredData.json with a {@link JSONTokener} reading from it, so only the
+ * element being returned is held in memory, whatever the size of the document, and nothing is written to disk.
+ * <p>
+ * The elements are returned in document order by {@link #elements()} or {@link #stream()}, which can be used once.
+ * The top-level fields before the elements array, such as {@code version} and {@code extended_metadata} in the output
+ * of the service, are available from {@link #getHeader()} as soon as the reader is open; those after it, such as
+ * {@code pages}, from {@link #getTrailer()} once every element has been read. Renditions and other files of the ZIP
+ * file are passed to the {@link EntryHandler}, if any, as they are reached: those before structuredData.json while
+ * opening, those after it once every element has been read.
+ */
+public final class ExtractResultReader implements AutoCloseable {
+
+    private static final String STRUCTURED_DATA = "structuredData.json";
+    private static final String ELEMENTS = "elements";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final ZipInputStream zipInputStream;
+    private final EntryHandler entryHandler;
+    private final JSONObject header = new JSONObject();
+    private final JSONObject trailer = new JSONObject();
+    private JSONTokener tokener;
+    private State state;
+    private boolean iteratorCreated;
+    private long elementCount;
+
+    /**
+     * Receives the files of the result ZIP file other than structuredData.json.
+     */
+    @FunctionalInterface
+    public interface EntryHandler {
+
+        /**
+         * Handles a file of the result ZIP file.
+         *
+         * @param name        path of the file in the ZIP file, for example {@code figures/fileoutpart0.png}
+         * @param inputStream content of the file; read up to the end of the file only, and must not be closed
+         * @throws IOException if the content can not be read or handled
+         */
+        void handle(String name, InputStream inputStream) throws IOException;
+    }
+
+    private enum State {
+        BEFORE_FIRST_ELEMENT, IN_ELEMENTS, DONE
+    }
+
+    private ExtractResultReader(InputStream resultZip, EntryHandler entryHandler) {
+        this.zipInputStream = new ZipInputStream(resultZip);
+        this.entryHandler = entryHandler;
+    }
+
+    /**
+     * Opens a result ZIP file and reads it up to the first element.
+     *
+     * @param resultZip the result ZIP file, for example the content of {@code ExtractPDFResult.getResource()}; closed
+     *                  by {@link #close()}
+     * @return an ExtractResultReader instance
+     * @throws IOException if the ZIP file can not be read or has no structuredData.json
+     */
+    public static ExtractResultReader open(InputStream resultZip) throws IOException {
+        return open(resultZip, null);
+    }
+
+    /**
+     * Opens a result ZIP file and reads it up to the first element, passing the files met on the way to a handler.
+     *
+     * @param resultZip    the result ZIP file, for example the content of {@code ExtractPDFResult.getResource()};
+     *                     closed by {@link #close()}
+     * @param entryHandler receives the renditions and other files; null to skip them
+     * @return an ExtractResultReader instance
+     * @throws IOException if the ZIP file can not be read or has no structuredData.json
+     */
+    public static ExtractResultReader open(InputStream resultZip, EntryHandler entryHandler) throws IOException {
+        ExtractResultReader reader = new ExtractResultReader(resultZip, entryHandler);
+        try {
+            reader.start();
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    /**
+     * Returns the top-level fields of structuredData.json that come before the elements.
+     *
+     * @return the fields before the elements
+     */
+    public JSONObject getHeader() {
+        return header;
+    }
+
+    /**
+     * Returns the top-level fields of structuredData.json that come after the elements. It is empty until every
+     * element has been read.
+     *
+     * @return the fields after the elements
+     */
+    public JSONObject getTrailer() {
+        return trailer;
+    }
+
+    /**
+     * Returns the number of elements read so far.
+     *
+     * @return the number of elements
+     */
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * Returns the elements, read from the stream as the iterator advances. Parsing and read errors are thrown from
+     * {@link Iterator#hasNext()} and {@link Iterator#next()} as {@link JSONException} and {@link UncheckedIOException}.
+     *
+     * @return a lazy iterator over the elements
+     * @throws IllegalStateException if the elements have already been requested
+     */
+    public Iterator<JSONObject> elements() {
+        if (iteratorCreated) {
+            throw new IllegalStateException("The elements can be read only once");
+        }
+        iteratorCreated = true;
+        return new ElementIterator();
+    }
+
+    /**
+     * Returns the elements as a sequential stream, read as the stream is consumed. Closing the stream closes this
+     * reader.
+     *
+     * @return a lazy stream of the elements
+     * @throws IllegalStateException if the elements have already been requested
+     */
+    public Stream<JSONObject> stream() {
+        Spliterator<JSONObject> spliterator = Spliterators.spliteratorUnknownSize(elements(),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = State.DONE;
+        zipInputStream.close();
+    }
+
+    private void start() throws IOException {
+        for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+            if (STRUCTURED_DATA.equals(entry.getName())) {
+                // The reader must not close the ZIP stream at the end of the entry
+                InputStream entryStream = new FilterInputStream(zipInputStream) {
+                    @Override
+                    public void close() {
+                    }
+                };
+                tokener = new JSONTokener(new BufferedReader(
+                        new InputStreamReader(entryStream, StandardCharsets.UTF_8), READ_BUFFER_SIZE));
+                expect('{');
+                if (readMembers(header)) {
+                    state = State.BEFORE_FIRST_ELEMENT;
+                } else {
+                    state = handleRemainingEntries();
+                }
+                return;
+            }
+            handleEntry(entry);
+        }
+        throw new IOException("The result has no " + STRUCTURED_DATA);
+    }
+
+    // Reads "key": value members into the target until the elements array is reached (returns true) or the object
+    // ends (returns false)
+    private boolean readMembers(JSONObject target) {
+        char c = tokener.nextClean();
+        if (c == '}') {
+            return false;
+        }
+        tokener.back();
+        while (true) {
+            String key = tokener.nextValue().toString();
+            expect(':');
+            if (ELEMENTS.equals(key)) {
+                expect('[');
+                return true;
+            }
+            target.put(key, tokener.nextValue());
+            c = tokener.nextClean();
+            if (c == '}') {
+                return false;
+            }
+            if (c != ',') {
+                throw tokener.syntaxError("Expected a ',' or '}'");
+            }
+        }
+    }
+
+    // Reads the rest of structuredData.json after the elements, then passes the remaining files to the handler
+    private State finishElements() {
+        char c = tokener.nextClean();
+        if (c == ',') {
+            if (readMembers(trailer)) {
+                throw tokener.syntaxError("Duplicate elements array");
+            }
+        } else if (c != '}') {
+            throw tokener.syntaxError("Expected a ',' or '}'");
+        }
+        try {
+            return handleRemainingEntries();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private State handleRemainingEntries() throws IOException {
+        for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+            handleEntry(entry);
+        }
+        return State.DONE;
+    }
+
+    private void handleEntry(ZipEntry entry) throws IOException {
+        if (entryHandler != null && !entry.isDirectory()) {
+            entryHandler.handle(entry.getName(), zipInputStream);
+        }
+    }
+
+    private void expect(char expected) {
+        if (tokener.nextClean() != expected) {
+            throw tokener.syntaxError("Expected '" + expected + "'");
+        }
+    }
+
+    private final class ElementIterator implements Iterator<JSONObject> {
+
+        private JSONObject next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (state == State.DONE) {
+                return false;
+            }
+            char c = tokener.nextClean();
+            if (c == ']') {
+                state = finishElements();
+                return false;
+            }
+            if (state == State.BEFORE_FIRST_ELEMENT) {
+                tokener.back();
+                state = State.IN_ELEMENTS;
+            } else if (c != ',') {
+                throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+            Object value = tokener.nextValue();
+            if (!(value instanceof JSONObject)) {
+                throw tokener.syntaxError("Expected an element object");
+            }
+            next = (JSONObject) value;
+            elementCount++;
+            return true;
+        }
+
+        @Override
+        public JSONObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JSONObject element = next;
+            next = null;
+            return element;
+        }
+    }
+}
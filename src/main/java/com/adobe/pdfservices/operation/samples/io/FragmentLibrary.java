@@ -0,0 +1,222 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.DocumentMergeParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.documentmerge.Fragments;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable set of document merge fragments, loaded and validated once and shared by every job.
+ * <p>
+ * Building {@link Fragments} from JSON literals for each job parses the same fragments again for every record of a
+ * bulk merge. A library parses them once, checks that every fragment is a string with well-formed {@code {{...}}}
+ * placeholders and that no fragment name is defined twice, and returns the same read-only {@link Fragments} instance
+ * from {@link #getFragments()} for every {@link DocumentMergeParams}. That instance can not be changed: adding
+ * fragments to it throws {@link UnsupportedOperationException}. The fragment objects are shared, not copied, so they
+ * must not be modified either; neither the library nor the SDK does.
+ * <p>
+ * A fragments file holds an array of fragment objects, as sent to the service, or a single object; each member of an
+ * object is a fragment, such as {@code "customerDetails": "{{customerName}}, Visits: {{customerVisits}}"}.
+ */
+public final class FragmentLibrary {
+
+    private static final String PLACEHOLDER_START = "{{";
+    private static final String PLACEHOLDER_END = "}}";
+
+    private final Fragments fragments;
+    private final Map<String, Set<String>> placeholders;
+
+    private FragmentLibrary(List<JSONObject> fragmentObjects, Map<String, Set<String>> placeholders) {
+        this.fragments = new ReadOnlyFragments(fragmentObjects);
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Loads and validates the fragments of a file.
+     *
+     * @param file the fragments file, in UTF-8
+     * @return a FragmentLibrary instance
+     * @throws IOException              if the file can not be read
+     * @throws IllegalArgumentException if the file is not valid JSON or a fragment is invalid
+     */
+    public static FragmentLibrary load(Path file) throws IOException {
+        Object content;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            content = new JSONTokener(reader).nextValue();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Fragments file " + file + " is not valid JSON", e);
+        }
+        List<JSONObject> fragmentObjects = new ArrayList<>();
+        if (content instanceof JSONArray) {
+            for (Object fragmentObject : (JSONArray) content) {
+                if (!(fragmentObject instanceof JSONObject)) {
+                    throw new IllegalArgumentException("Fragments file " + file + " holds a value that is not an "
+                            + "object: " + fragmentObject);
+                }
+                fragmentObjects.add((JSONObject) fragmentObject);
+            }
+        } else if (content instanceof JSONObject) {
+            fragmentObjects.add((JSONObject) content);
+        } else {
+            throw new IllegalArgumentException("Fragments file " + file + " must hold an object or an array");
+        }
+        return create(fragmentObjects);
+    }
+
+    /**
+     * Validates fragment objects and creates a library of copies of them.
+     *
+     * @param fragmentObjects the fragment objects, for example {@code {"orderDetails": "{{quantity}} x ..."}}
+     * @return a FragmentLibrary instance
+     * @throws IllegalArgumentException if a fragment is invalid
+     */
+    public static FragmentLibrary of(List<JSONObject> fragmentObjects) {
+        List<JSONObject> copies = new ArrayList<>(fragmentObjects.size());
+        for (JSONObject fragmentObject : fragmentObjects) {
+            copies.add(new JSONObject(fragmentObject.toString()));
+        }
+        return create(copies);
+    }
+
+    /**
+     * Returns the fragments, to pass to {@code DocumentMergeParams.Builder.withFragments}. The same read-only instance
+     * is returned every time.
+     *
+     * @return the fragments
+     */
+    public Fragments getFragments() {
+        return fragments;
+    }
+
+    /**
+     * Returns the names of the fragments, in the order they were defined.
+     *
+     * @return the fragment names
+     */
+    public Set<String> getFragmentNames() {
+        return placeholders.keySet();
+    }
+
+    /**
+     * Returns the expressions of the placeholders of a fragment, such as {@code customerName}, in the order they
+     * appear.
+     *
+     * @param fragmentName name of the fragment
+     * @return the placeholder expressions, or an empty set if there is no such fragment
+     */
+    public Set<String> getPlaceholders(String fragmentName) {
+        return placeholders.getOrDefault(fragmentName, Collections.emptySet());
+    }
+
+    @Override
+    public String toString() {
+        return placeholders.size() + " fragments " + placeholders.keySet();
+    }
+
+    private static FragmentLibrary create(List<JSONObject> fragmentObjects) {
+        Map<String, Set<String>> placeholders = new LinkedHashMap<>();
+        List<String> problems = new ArrayList<>();
+        for (JSONObject fragmentObject : fragmentObjects) {
+            for (String name : fragmentObject.keySet()) {
+                Object fragment = fragmentObject.get(name);
+                if (placeholders.containsKey(name)) {
+                    problems.add("fragment " + name + " is defined more than once");
+                } else if (!(fragment instanceof String)) {
+                    problems.add("fragment " + name + " is not a string");
+                } else {
+                    placeholders.put(name, Collections.unmodifiableSet(parsePlaceholders(name, (String) fragment,
+                            problems)));
+                }
+            }
+        }
+        if (placeholders.isEmpty() && problems.isEmpty()) {
+            problems.add("there are no fragments");
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid fragments: " + String.join("; ", problems));
+        }
+        return new FragmentLibrary(Collections.unmodifiableList(fragmentObjects),
+                Collections.unmodifiableMap(placeholders));
+    }
+
+    private static Set<String> parsePlaceholders(String name, String fragment, List<String> problems) {
+        Set<String> expressions = new LinkedHashSet<>();
+        int index = 0;
+        while (true) {
+            int start = fragment.indexOf(PLACEHOLDER_START, index);
+            int stray = fragment.indexOf(PLACEHOLDER_END, index);
+            if (start < 0) {
+                if (stray >= 0) {
+                    problems.add("fragment " + name + " has a '}}' without '{{' at " + stray);
+                }
+                return expressions;
+            }
+            if (stray >= 0 && stray < start) {
+                problems.add("fragment " + name + " has a '}}' without '{{' at " + stray);
+                return expressions;
+            }
+            int end = fragment.indexOf(PLACEHOLDER_END, start + PLACEHOLDER_START.length());
+            if (end < 0) {
+                problems.add("fragment " + name + " has an unclosed '{{' at " + start);
+                return expressions;
+            }
+            String expression = fragment.substring(start + PLACEHOLDER_START.length(), end).trim();
+            if (expression.isEmpty() || expression.contains(PLACEHOLDER_START)) {
+                problems.add("fragment " + name + " has an invalid placeholder at " + start);
+            } else {
+                expressions.add(expression);
+            }
+            index = end + PLACEHOLDER_END.length();
+        }
+    }
+
+    // Fragments the jobs can share: the list can not be changed once created
+    private static final class ReadOnlyFragments extends Fragments {
+
+        private final List<JSONObject> fragmentObjects;
+
+        private ReadOnlyFragments(List<JSONObject> fragmentObjects) {
+            this.fragmentObjects = fragmentObjects;
+        }
+
+        @Override
+        public void addFragment(JSONObject fragment) {
+            throw new UnsupportedOperationException("Fragments of a FragmentLibrary can not be changed");
+        }
+
+        @Override
+        public void addFragments(List<JSONObject> fragments) {
+            throw new UnsupportedOperationException("Fragments of a FragmentLibrary can not be changed");
+        }
+
+        @Override
+        public List<JSONObject> getFragmentsList() {
+            return fragmentObjects;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Puts images into the JSON data of document merge jobs as base64 data URIs, from image files instead of string
+ * literals.
+ * <p>
+ * An embedder is configured once with the fields that hold images, then applied to the data of each record with
+ * {@link #embed(JSONObject)}. A field can hold the same image for every record, set with
+ * {@link Builder#withImage(String, Path)}, or reference an image file by name in the data itself, for example
+ * {@code "logo": "acme.png"}, resolved with {@link Builder#withImageReference(String, Path)}. Images are encoded by an
+ * {@link EncodedImageCache}, so an image shared by many records is read and encoded once. Field names can go through
+ * nested objects with dots, as in {@code customer.photo}.
+ * <p>
+ * Instances are immutable and can be shared by concurrent jobs.
+ */
+public final class ImageEmbedder {
+
+    private final EncodedImageCache encodedImageCache;
+    private final List<ImageField> imageFields;
+
+    private ImageEmbedder(Builder builder) {
+        this.encodedImageCache = builder.encodedImageCache;
+        this.imageFields = Collections.unmodifiableList(new ArrayList<>(builder.imageFields));
+    }
+
+    /**
+     * Creates a new ImageEmbedder builder.
+     *
+     * @return an ImageEmbedder.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Sets the images of the configured fields in the data of a record. Referenced images whose field is missing, or
+     * already holds a data URI, are left as they are, so embedding the same data twice has no further effect. A
+     * reference that resolves outside of its base directory, such as {@code ../secret.png} or an absolute path, is
+     * rejected with an {@link IllegalArgumentException}.
+     *
+     * @param data the JSON data of a record, updated in place
+     * @return the same data, for chaining
+     * @throws IOException if an image file can not be read
+     */
+    public JSONObject embed(JSONObject data) throws IOException {
+        for (ImageField imageField : imageFields) {
+            imageField.embed(data, encodedImageCache);
+        }
+        return data;
+    }
+
+    private static final class ImageField {
+
+        private final String[] path;
+        private final Path image;
+        private final Path baseDirectory;
+
+        private ImageField(String field, Path image, Path baseDirectory) {
+            if (field == null || field.isEmpty()) {
+                throw new IllegalArgumentException("Field name can not be empty");
+            }
+            this.path = field.split("\\.");
+            this.image = image;
+            this.baseDirectory = baseDirectory != null ? baseDirectory.toAbsolutePath().normalize() : null;
+        }
+
+        private void embed(JSONObject data, EncodedImageCache encodedImageCache) throws IOException {
+            JSONObject parent = data;
+            for (int i = 0; i < path.length - 1; i++) {
+                JSONObject child = parent.optJSONObject(path[i]);
+                if (child == null) {
+                    if (image == null) {
+                        // Nothing is referenced
+                        return;
+                    }
+                    child = new JSONObject();
+                    parent.put(path[i], child);
+                }
+                parent = child;
+            }
+            String name = path[path.length - 1];
+            if (image != null) {
+                parent.put(name, encodedImageCache.getDataUri(image));
+                return;
+            }
+            Object reference = parent.opt(name);
+            if (reference instanceof String && !((String) reference).startsWith("data:")) {
+                parent.put(name, encodedImageCache.getDataUri(resolve((String) reference)));
+            }
+        }
+
+        // File names come from the record data, so they must not reach files outside of the base directory
+        private Path resolve(String reference) {
+            Path resolved = baseDirectory.resolve(reference).normalize();
+            if (!resolved.startsWith(baseDirectory)) {
+                throw new IllegalArgumentException("Image reference outside of the base directory: " + reference);
+            }
+            return resolved;
+        }
+    }
+
+    /**
+     * Builds an {@link ImageEmbedder} instance.
+     */
+    public static class Builder {
+
+        private EncodedImageCache encodedImageCache = EncodedImageCache.getDefault();
+        private final List<ImageField> imageFields = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets a field to the same image in the data of every record.
+         *
+         * @param field name of the field, with dots between nested object names
+         * @param image the image file
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withImage(String field, Path image) {
+            if (image == null) {
+                throw new IllegalArgumentException("Image can not be null");
+            }
+            imageFields.add(new ImageField(field, image, null));
+            return this;
+        }
+
+        /**
+         * Replaces the file name held by a field in the data of each record with the image it names. Only files in the
+         * base directory or below it can be named.
+         *
+         * @param field         name of the field, with dots between nested object names
+         * @param baseDirectory directory relative file names are resolved against
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withImageReference(String field, Path baseDirectory) {
+            if (baseDirectory == null) {
+                throw new IllegalArgumentException("Base directory can not be null");
+            }
+            imageFields.add(new ImageField(field, null, baseDirectory));
+            return this;
+        }
+
+        /**
+         * Sets the cache the images are encoded with. By default, the shared {@link EncodedImageCache} is used.
+         *
+         * @param encodedImageCache the encoded image cache
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withEncodedImageCache(EncodedImageCache encodedImageCache) {
+            this.encodedImageCache = encodedImageCache;
+            return this;
+        }
+
+        /**
+         * Returns a new ImageEmbedder instance built from the current state of this builder.
+         *
+         * @return a new ImageEmbedder instance
+         */
+        public ImageEmbedder build() {
+            return new ImageEmbedder(this);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads JSON records from a file one at a time, for example the data of a bulk document merge.
+ * <p>
+ * Loading a file of millions of records with {@code new JSONObject(...)} or {@code new JSONArray(...)} takes as much
+ * heap as the file. This reader finds where each record ends by scanning the characters as they are read, and parses
+ * only that record, so the heap used depends on the size of the largest record, not on the size of the file. Records
+ * longer than {@link Builder#withMaxRecordLength(int) maxRecordLength} are skipped without being held in memory.
+ * <p>
+ * Two formats are read:
+ * <ul>
+ * <li>{@link Format#JSON_LINES}: one object per line, as in .jsonl and .ndjson files. Blank lines are ignored;</li>
+ * <li>{@link Format#JSON}: an array of objects, such as {@code [{...}, {...}]}, or one or more objects one after the
+ * other, such as salesOrder.json.</li>
+ * </ul>
+ * A record that is not a valid JSON object is skipped and passed to the {@link SkipHandler}, which logs it by default,
+ * and reading carries on with the next record. Since records are delimited before being parsed, a malformed record
+ * does not affect the ones after it, except for unbalanced brackets in the {@link Format#JSON} format.
+ */
+public final class JsonRecordReader implements Iterator<JSONObject>, AutoCloseable {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonRecordReader.class);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int END = -1;
+
+    /**
+     * Layout of the records in the file.
+     */
+    public enum Format {
+        JSON_LINES, JSON
+    }
+
+    /**
+     * Receives the records that are skipped.
+     */
+    @FunctionalInterface
+    public interface SkipHandler {
+
+        /**
+         * Handles a skipped record.
+         *
+         * @param recordNumber number of the record in the file, starting at 1
+         * @param lineNumber   line of the file the record starts on, starting at 1
+         * @param reason       why the record was skipped
+         */
+        void skipped(long recordNumber, long lineNumber, String reason);
+    }
+
+    private final Reader reader;
+    private final Format format;
+    private final int maxRecordLength;
+    private final SkipHandler skipHandler;
+
+    private final char[] buffer = new char[READ_BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int pushedBack = END;
+    private final StringBuilder text = new StringBuilder();
+    private boolean tooLong;
+
+    private boolean started;
+    private boolean inArray;
+    private boolean ended;
+    private long lineNumber = 1;
+    private long recordNumber;
+    private long skippedCount;
+    private JSONObject next;
+
+    private JsonRecordReader(Builder builder, Reader reader) {
+        this.reader = reader;
+        this.format = builder.format;
+        this.maxRecordLength = builder.maxRecordLength;
+        this.skipHandler = builder.skipHandler;
+    }
+
+    /**
+     * Creates a new JsonRecordReader builder for a file. The format is {@link Format#JSON_LINES} for files ending in
+     * .jsonl or .ndjson, and {@link Format#JSON} otherwise.
+     *
+     * @param file the file to read, in UTF-8
+     * @return a JsonRecordReader.Builder instance
+     */
+    public static Builder builder(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        Format format = name.endsWith(".jsonl") || name.endsWith(".ndjson") ? Format.JSON_LINES : Format.JSON;
+        return new Builder(file, null, format);
+    }
+
+    /**
+     * Creates a new JsonRecordReader builder for a character stream.
+     *
+     * @param reader the records; closed by {@link #close()}
+     * @param format layout of the records
+     * @return a JsonRecordReader.Builder instance
+     */
+    public static Builder builder(Reader reader, Format format) {
+        return new Builder(null, reader, format);
+    }
+
+    /**
+     * Returns whether there is another record, reading the file up to the end of that record. Read errors are thrown
+     * as {@link UncheckedIOException}.
+     *
+     * @return true if there is another record
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null && !ended) {
+                next = readRecord();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return next != null;
+    }
+
+    @Override
+    public JSONObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JSONObject record = next;
+        next = null;
+        return record;
+    }
+
+    /**
+     * Returns the number of records read so far, including those skipped.
+     *
+     * @return the number of records
+     */
+    public long getRecordCount() {
+        return recordNumber;
+    }
+
+    /**
+     * Returns the number of records skipped so far.
+     *
+     * @return the number of skipped records
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ended = true;
+        reader.close();
+    }
+
+    // Returns the next valid record, or null if the record read was skipped or the end was reached
+    private JSONObject readRecord() throws IOException {
+        if (!started) {
+            started = true;
+            int c = skipWhitespace();
+            if (c == '\uFEFF') {
+                c = skipWhitespace();
+            }
+            if (format == Format.JSON && c == '[') {
+                inArray = true;
+            } else {
+                pushBack(c);
+            }
+        }
+        int c = skipWhitespace();
+        if (inArray) {
+            // Commas between records, and stray ones, are skipped
+            while (c == ',') {
+                c = skipWhitespace();
+            }
+            if (c == ']') {
+                ended = true;
+                if (skipWhitespace() != END) {
+                    LOGGER.warn("Ignoring content after the end of the array at line {}", lineNumber);
+                }
+                return null;
+            }
+        }
+        if (c == END) {
+            ended = true;
+            if (inArray) {
+                LOGGER.warn("The array of records is not closed");
+            }
+            return null;
+        }
+
+        recordNumber++;
+        long recordLine = lineNumber;
+        text.setLength(0);
+        tooLong = false;
+        boolean complete = format == Format.JSON_LINES ? scanLine(c) : scanValue(c);
+        if (!complete) {
+            ended = true;
+            return skip(recordLine, "Unexpected end of file");
+        }
+        if (tooLong) {
+            return skip(recordLine, "Longer than " + maxRecordLength + " characters");
+        }
+        try {
+            JSONTokener tokener = new JSONTokener(text.toString());
+            Object value = tokener.nextValue();
+            if (!(value instanceof JSONObject)) {
+                return skip(recordLine, "Not a JSON object");
+            }
+            if (tokener.nextClean() != 0) {
+                return skip(recordLine, "Unexpected characters after the object");
+            }
+            return (JSONObject) value;
+        } catch (JSONException e) {
+            return skip(recordLine, e.getMessage());
+        }
+    }
+
+    private JSONObject skip(long recordLine, String reason) {
+        skippedCount++;
+        try {
+            skipHandler.skipped(recordNumber, recordLine, reason);
+        } catch (RuntimeException e) {
+            // A handler that throws must not stop the reader
+            LOGGER.warn("Exception encountered in the skip handler of record {}", recordNumber, e);
+        }
+        return null;
+    }
+
+    // Reads up to the end of the line; returns false only if nothing could be read
+    private boolean scanLine(int c) throws IOException {
+        while (c != END && c != '\n') {
+            if (c != '\r') {
+                append(c);
+            }
+            c = read();
+        }
+        return true;
+    }
+
+    // Reads one JSON value, tracking strings and brackets; returns false if the file ends within the value
+    private boolean scanValue(int c) throws IOException {
+        if (c != '{' && c != '[' && c != '"') {
+            // A number or a literal, which ends at a separator; a stray separator is read as a record of its own
+            do {
+                append(c);
+                c = read();
+            } while (c != END && c != ',' && c != ']' && c != '}' && !Character.isWhitespace(c));
+            pushBack(c);
+            return true;
+        }
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        while (c != END) {
+            append(c);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (depth == 0) {
+                        return true;
+                    }
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return true;
+                }
+            }
+            c = read();
+        }
+        return false;
+    }
+
+    private void append(int c) {
+        if (text.length() < maxRecordLength) {
+            text.append((char) c);
+        } else {
+            tooLong = true;
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = read();
+        while (c != END && Character.isWhitespace(c)) {
+            c = read();
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != END) {
+            int c = pushedBack;
+            pushedBack = END;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return END;
+            }
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private void pushBack(int c) {
+        pushedBack = c;
+    }
+
+    /**
+     * Builds a {@link JsonRecordReader} instance.
+     */
+    public static class Builder {
+
+        private final Path file;
+        private final Reader reader;
+        private Format format;
+        private int maxRecordLength = 16 * 1024 * 1024;
+        private SkipHandler skipHandler = (recordNumber, lineNumber, reason) ->
+                LOGGER.warn("Skipping record {} at line {}: {}", recordNumber, lineNumber, reason);
+
+        private Builder(Path file, Reader reader, Format format) {
+            this.file = file;
+            this.reader = reader;
+            this.format = format;
+        }
+
+        /**
+         * Sets the layout of the records, instead of the one found from the file name.
+         *
+         * @param format layout of the records
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withFormat(Format format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Sets the length above which a record is skipped, in characters. Default value is 16M characters.
+         *
+         * @param maxRecordLength largest record length, at least 2
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxRecordLength(int maxRecordLength) {
+            if (maxRecordLength < 2) {
+                throw new IllegalArgumentException("Max record length must be at least 2");
+            }
+            this.maxRecordLength = maxRecordLength;
+            return this;
+        }
+
+        /**
+         * Sets the handler called with each record that is skipped. By default, the record is logged.
+         *
+         * @param skipHandler the skip handler
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withSkipHandler(SkipHandler skipHandler) {
+            this.skipHandler = skipHandler;
+            return this;
+        }
+
+        /**
+         * Returns a new JsonRecordReader instance, opening the file if the builder was created for one.
+         *
+         * @return a new JsonRecordReader instance
+         * @throws IOException if the file can not be opened
+         */
+        public JsonRecordReader build() throws IOException {
+            Reader source = file != null
+                    ? new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)
+                    : reader;
+            return new JsonRecordReader(this, source);
+        }
+    }
+}
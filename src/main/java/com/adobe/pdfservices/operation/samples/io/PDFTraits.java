@@ -0,0 +1,261 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Traits of a PDF file that tell how much it can be compressed, read locally in one pass over the file without
+ * parsing it: its size, its page count, and how many of its bytes are images.
+ * <p>
+ * The file is scanned for the tokens of page and image objects, and the data of each stream is skipped up to its
+ * {@code endstream} keyword, so the time taken grows with the file size but the memory used does not. Images are
+ * always stored as streams, which PDF files can not put in compressed object streams, so they are always counted;
+ * pages can be, in which case the page count is 0. Images encoded with the JBIG2 or CCITT fax filters are black and
+ * white scans, and are also counted on their own.
+ */
+public final class PDFTraits {
+
+    private static final byte[] END_STREAM = "endstream".getBytes(StandardCharsets.US_ASCII);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    private final long fileSize;
+    private final int pageCount;
+    private final int imageCount;
+    private final long imageBytes;
+    private final int scanImageCount;
+
+    private PDFTraits(long fileSize, int pageCount, int imageCount, long imageBytes, int scanImageCount) {
+        this.fileSize = fileSize;
+        this.pageCount = pageCount;
+        this.imageCount = imageCount;
+        this.imageBytes = imageBytes;
+        this.scanImageCount = scanImageCount;
+    }
+
+    /**
+     * Reads the traits of a PDF file.
+     *
+     * @param file the PDF file
+     * @return the traits of the file
+     * @throws IOException if the file can not be read
+     */
+    public static PDFTraits read(Path file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            Scanner scanner = new Scanner();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read = inputStream.read(buffer); read >= 0; read = inputStream.read(buffer)) {
+                scanner.scan(buffer, read);
+            }
+            return new PDFTraits(scanner.position, scanner.pageCount, scanner.imageCount, scanner.imageBytes,
+                    scanner.scanImageCount);
+        }
+    }
+
+    /**
+     * Returns the size of the file.
+     *
+     * @return the size in bytes
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Returns the number of page objects of the file.
+     *
+     * @return the page count, or 0 if the pages are in compressed object streams
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Returns the number of images of the file.
+     *
+     * @return the number of image objects
+     */
+    public int getImageCount() {
+        return imageCount;
+    }
+
+    /**
+     * Returns the number of bytes of image data in the file.
+     *
+     * @return the size of the image streams, in bytes
+     */
+    public long getImageBytes() {
+        return imageBytes;
+    }
+
+    /**
+     * Returns the share of the file taken by image data.
+     *
+     * @return the ratio of image bytes to file size, from 0 to 1
+     */
+    public double getImageRatio() {
+        return fileSize > 0 ? (double) imageBytes / fileSize : 0;
+    }
+
+    /**
+     * Returns the number of images encoded as black and white scans, with the JBIG2 or CCITT fax filters.
+     *
+     * @return the number of scanned images
+     */
+    public int getScanImageCount() {
+        return scanImageCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d bytes, %d pages, %d images (%.0f%% of the file, %d scans)", fileSize, pageCount,
+                imageCount, getImageRatio() * 100, scanImageCount);
+    }
+
+    // Finds names and keywords in the bytes of a file, one buffer at a time
+    private static final class Scanner {
+
+        private final StringBuilder token = new StringBuilder(MAX_TOKEN_LENGTH);
+        private boolean tokenIsName;
+        private boolean inComment;
+        private String previousName;
+        private boolean objectIsImage;
+        private boolean objectIsScan;
+        private boolean inStream;
+        private int endStreamMatched;
+        private long streamStart;
+        private long position;
+
+        private int pageCount;
+        private int imageCount;
+        private long imageBytes;
+        private int scanImageCount;
+
+        private void scan(byte[] buffer, int length) {
+            for (int i = 0; i < length; i++, position++) {
+                int b = buffer[i] & 0xff;
+                if (inStream) {
+                    matchEndStream(b);
+                } else if (inComment) {
+                    inComment = b != '\n' && b != '\r';
+                } else if (isRegular(b)) {
+                    if (token.length() < MAX_TOKEN_LENGTH) {
+                        token.append((char) b);
+                    }
+                } else {
+                    endToken();
+                    // The byte after the stream keyword is the end of line before the stream data
+                    tokenIsName = !inStream && b == '/';
+                    inComment = !inStream && b == '%';
+                }
+            }
+        }
+
+        private void endToken() {
+            if (token.length() == 0) {
+                if (tokenIsName) {
+                    previousName = "";
+                }
+                return;
+            }
+            String value = token.toString();
+            token.setLength(0);
+            if (tokenIsName) {
+                name(value);
+            } else {
+                keyword(value);
+            }
+        }
+
+        private void name(String name) {
+            if ("Type".equals(previousName) && "Page".equals(name)) {
+                pageCount++;
+            } else if ("Subtype".equals(previousName) && "Image".equals(name)) {
+                objectIsImage = true;
+            } else if ("JBIG2Decode".equals(name) || "CCITTFaxDecode".equals(name)) {
+                objectIsScan = true;
+            }
+            previousName = name;
+        }
+
+        private void keyword(String keyword) {
+            previousName = null;
+            if ("obj".equals(keyword) || "endobj".equals(keyword)) {
+                objectIsImage = false;
+                objectIsScan = false;
+            } else if ("stream".equals(keyword)) {
+                inStream = true;
+                endStreamMatched = 0;
+                streamStart = position;
+            }
+        }
+
+        // The data of a stream is skipped up to its endstream keyword, which can not be followed by a regular byte
+        private void matchEndStream(int b) {
+            if (endStreamMatched == END_STREAM.length) {
+                if (!isRegular(b)) {
+                    endStream(position - END_STREAM.length);
+                    return;
+                }
+                endStreamMatched = 0;
+            }
+            if (b == END_STREAM[endStreamMatched]) {
+                endStreamMatched++;
+            } else {
+                // "endstream" has no prefix that is also a suffix, so a mismatch can only restart at its first byte
+                endStreamMatched = b == END_STREAM[0] ? 1 : 0;
+            }
+        }
+
+        private void endStream(long streamEnd) {
+            inStream = false;
+            if (objectIsImage) {
+                imageCount++;
+                imageBytes += streamEnd - streamStart;
+                if (objectIsScan) {
+                    scanImageCount++;
+                }
+            }
+            objectIsImage = false;
+            objectIsScan = false;
+        }
+
+        private static boolean isRegular(int b) {
+            switch (b) {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                case '\f':
+                case 0:
+                case '(':
+                case ')':
+                case '<':
+                case '>':
+                case '[':
+                case ']':
+                case '{':
+                case '}':
+                case '/':
+                case '%':
+                    return false;
+                default:
+                    return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the results of deterministic jobs on disk, so that resubmitting the same work is answered without any call to
+ * PDF Services.
+ * <p>
+ * Jobs such as Linearize PDF, Compress PDF and Create PDF give the same result for the same input and parameters.
+ * Results are stored under their {@link ResultKey}, one file per result. A result is first written to a temporary
+ * file in the cache directory and then moved into place, so a crash or a concurrent reader never sees a partial
+ * result. The cache is bounded by the total size of its files and drops the least recently used results first; the
+ * last modified time of a file records its last use, so the order survives restarts.
+ * <p>
+ * Instances are thread-safe. Several processes can share a directory, but each one only enforces the size bound
+ * for the results it knows of.
+ */
+public final class ResultCache {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    private static final Path DEFAULT_DIRECTORY = Paths.get("cache/results");
+    private static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+    private static final String RESULT_SUFFIX = ".result";
+    private static final String TEMP_SUFFIX = ".tmp";
+    // Temporary files younger than this may still be written by another process
+    private static final Duration STALE_TEMP_FILE_AGE = Duration.ofHours(1);
+
+    private static ResultCache defaultInstance;
+
+    private final Path directory;
+    private final long maxSize;
+    // Result key to file size, least recently used first
+    private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private ResultCache(Builder builder) {
+        this.directory = builder.directory;
+        this.maxSize = builder.maxSize;
+    }
+
+    /**
+     * Returns the shared cache used by the samples, kept in {@code cache/results} and bounded to 1 GB.
+     *
+     * @return the shared ResultCache
+     * @throws IOException if the cache directory can not be created or read
+     */
+    public static synchronized ResultCache getDefault() throws IOException {
+        if (defaultInstance == null) {
+            defaultInstance = builder().build();
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * Creates a new ResultCache builder.
+     *
+     * @return a ResultCache.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Copies a cached result to the output file, replacing the file if it exists.
+     *
+     * @param resultKey      key of the result
+     * @param outputFilePath path of the output file
+     * @return true if the result was cached and copied, false if the job has to be run
+     * @throws IOException if the output file can not be written
+     */
+    public boolean copyTo(ResultKey resultKey, String outputFilePath) throws IOException {
+        String key = resultKey.toString();
+        Path resultFile = resultFile(key);
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                misses.incrementAndGet();
+                return false;
+            }
+        }
+        try {
+            Files.copy(resultFile, Paths.get(outputFilePath), StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(resultFile, FileTime.from(Instant.now()));
+        } catch (NoSuchFileException e) {
+            // Evicted since the lookup, possibly by another process sharing the directory
+            forget(key);
+            misses.incrementAndGet();
+            return false;
+        }
+        hits.incrementAndGet();
+        LOGGER.debug("Result {} served from {}", key, resultFile);
+        return true;
+    }
+
+    /**
+     * Writes the content of a stream asset to the output file and stores it as the result for the key. The content
+     * stream is closed.
+     *
+     * @param resultKey      key of the result
+     * @param streamAsset    the downloaded result
+     * @param outputFilePath path of the output file
+     * @throws IOException if the content can not be read or a file can not be written
+     */
+    public void write(ResultKey resultKey, StreamAsset streamAsset, String outputFilePath) throws IOException {
+        String key = resultKey.toString();
+        Path tempFile = Files.createTempFile(directory, key + ".", TEMP_SUFFIX);
+        try {
+            long size = AssetSink.getInstance().write(streamAsset.getInputStream(), tempFile);
+            Files.copy(tempFile, Paths.get(outputFilePath), StandardCopyOption.REPLACE_EXISTING);
+            if (size > maxSize) {
+                LOGGER.debug("Result {} of {} bytes exceeds the cache size and is not stored", key, size);
+                return;
+            }
+            move(tempFile, resultFile(key));
+            add(key, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the total size of the cached results.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    private Path resultFile(String key) {
+        return directory.resolve(key + RESULT_SUFFIX);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private synchronized void add(String key, long size) {
+        Long previousSize = entries.put(key, size);
+        totalSize += size - (previousSize != null ? previousSize : 0);
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalSize > maxSize && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            eldest.remove();
+            totalSize -= entry.getValue();
+            delete(resultFile(entry.getKey()));
+        }
+    }
+
+    private synchronized void forget(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalSize -= size;
+        }
+    }
+
+    private void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> resultFiles = new ArrayList<>();
+        Instant staleBefore = Instant.now().minus(STALE_TEMP_FILE_AGE);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(RESULT_SUFFIX)) {
+                    resultFiles.add(file);
+                } else if (name.endsWith(TEMP_SUFFIX)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(staleBefore)) {
+                    // Left behind by a process that stopped while writing a result
+                    delete(file);
+                }
+            }
+        }
+        Map<Path, FileTime> lastUsed = new LinkedHashMap<>();
+        for (Path file : resultFiles) {
+            lastUsed.put(file, Files.getLastModifiedTime(file));
+        }
+        resultFiles.sort(Comparator.comparing(lastUsed::get));
+        for (Path file : resultFiles) {
+            String name = file.getFileName().toString();
+            add(name.substring(0, name.length() - RESULT_SUFFIX.length()), Files.size(file));
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete cached result {}", file, e);
+        }
+    }
+
+    /**
+     * Builds a {@link ResultCache} instance.
+     */
+    public static class Builder {
+
+        private Path directory = DEFAULT_DIRECTORY;
+        private long maxSize = DEFAULT_MAX_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the directory the results are kept in. It is created if it does not exist. Default value is
+         * {@code cache/results}, relative to the working directory.
+         *
+         * @param directory the cache directory
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withDirectory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total size of the cached results. Default value is 1 GB.
+         *
+         * @param maxSize maximum size in bytes
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withMaxSize(long maxSize) {
+            if (maxSize < 0) {
+                throw new IllegalArgumentException("Max size can not be negative");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Returns a new ResultCache instance for the results already in the directory.
+         *
+         * @return a new ResultCache instance
+         * @throws IOException if the cache directory can not be created or read
+         */
+        public ResultCache build() throws IOException {
+            ResultCache resultCache = new ResultCache(this);
+            resultCache.load();
+            return resultCache;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Identifies the result of a deterministic job: the service that ran it, the SHA-256 digests of its inputs, the job
+ * class and a canonical fingerprint of its parameters. Results of a local stand-in server therefore never match the
+ * keys of the PDF Services API.
+ * <p>
+ * The fingerprint is built from the fields of the parameters object, read recursively in name order, so two
+ * parameters objects built with the same values have the same fingerprint whatever order their builders were called
+ * in. JSON objects and maps are fingerprinted in key order.
+ */
+public final class ResultKey {
+
+    // Changing how keys are computed must not make old cache entries match new keys
+    private static final String FORMAT_VERSION = "2";
+
+    private final String value;
+
+    private ResultKey(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Creates the key of the result of a job.
+     *
+     * @param clientSettings settings of the client the job runs with; their service URI is part of the key
+     * @param jobClass       class of the job, for example {@code LinearizePDFJob.class}
+     * @param params         parameters of the job; can be null for jobs without parameters.
+     * @param inputs         input files of the job, in the order the job uses them
+     * @return a ResultKey instance
+     * @throws IOException if an input file can not be read
+     */
+    public static ResultKey of(ClientSettings clientSettings, Class<?> jobClass, Object params, Path... inputs)
+            throws IOException {
+        if (clientSettings == null || jobClass == null || inputs.length == 0) {
+            throw new IllegalArgumentException("Client settings, job class and at least one input are required");
+        }
+        MessageDigest digest = ContentDigest.newSha256();
+        digest.update(FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update(JSONObject.quote(clientSettings.getPdfServicesUri()).getBytes(StandardCharsets.UTF_8));
+        for (Path input : inputs) {
+            MessageDigest inputDigest = ContentDigest.newSha256();
+            ContentDigest.update(inputDigest, input);
+            digest.update(inputDigest.digest());
+        }
+        digest.update(jobClass.getName().getBytes(StandardCharsets.UTF_8));
+        digest.update(fingerprint(params).getBytes(StandardCharsets.UTF_8));
+        return new ResultKey(ContentDigest.toHex(digest.digest()));
+    }
+
+    /**
+     * Returns the canonical fingerprint of a parameters object.
+     *
+     * @param params parameters of a job; can be null.
+     * @return the canonical string form of the parameters
+     */
+    public static String fingerprint(Object params) {
+        StringBuilder fingerprint = new StringBuilder();
+        append(fingerprint, params, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return fingerprint.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ResultKey && value.equals(((ResultKey) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    /**
+     * Returns the key as a hexadecimal string, usable as a file name.
+     *
+     * @return the key
+     */
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    private static void append(StringBuilder out, Object value, Set<Object> visiting) {
+        if (value == null || value == JSONObject.NULL) {
+            out.append("null");
+        } else if (value instanceof CharSequence) {
+            out.append(JSONObject.quote(value.toString()));
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            out.append(value.getClass().getSimpleName()).append(':').append(value);
+        } else if (value instanceof Enum) {
+            out.append(((Enum<?>) value).getDeclaringClass().getName()).append('.').append(((Enum<?>) value).name());
+        } else if (value instanceof Class) {
+            out.append(((Class<?>) value).getName());
+        } else if (!visiting.add(value)) {
+            throw new IllegalArgumentException("Parameters with cyclic references can not be fingerprinted");
+        } else {
+            if (value instanceof JSONObject) {
+                appendMap(out, ((JSONObject) value).toMap(), visiting);
+            } else if (value instanceof JSONArray) {
+                appendList(out, ((JSONArray) value).toList(), visiting);
+            } else if (value instanceof Map) {
+                appendMap(out, (Map<?, ?>) value, visiting);
+            } else if (value instanceof Collection) {
+                appendList(out, value instanceof Set ? sorted((Set<?>) value) : (Collection<?>) value, visiting);
+            } else if (value.getClass().isArray()) {
+                List<Object> elements = new ArrayList<>();
+                for (int i = 0; i < Array.getLength(value); i++) {
+                    elements.add(Array.get(value, i));
+                }
+                appendList(out, elements, visiting);
+            } else if (value.getClass().getName().startsWith("java.")) {
+                // JDK value types such as dates and URIs have a stable string form but private internals
+                out.append(value.getClass().getName()).append(':').append(value);
+            } else {
+                appendFields(out, value, visiting);
+            }
+            visiting.remove(value);
+        }
+    }
+
+    private static void appendMap(StringBuilder out, Map<?, ?> map, Set<Object> visiting) {
+        Map<String, Object> sorted = new TreeMap<>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            sorted.put(fingerprint(entry.getKey()), entry.getValue());
+        }
+        out.append('{');
+        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+            out.append(entry.getKey()).append('=');
+            append(out, entry.getValue(), visiting);
+            out.append(',');
+        }
+        out.append('}');
+    }
+
+    private static void appendList(StringBuilder out, Collection<?> elements, Set<Object> visiting) {
+        out.append('[');
+        for (Object element : elements) {
+            append(out, element, visiting);
+            out.append(',');
+        }
+        out.append(']');
+    }
+
+    private static List<String> sorted(Set<?> set) {
+        List<String> fingerprints = new ArrayList<>();
+        for (Object element : set) {
+            fingerprints.add(fingerprint(element));
+        }
+        Collections.sort(fingerprints);
+        return fingerprints;
+    }
+
+    private static void appendFields(StringBuilder out, Object value, Set<Object> visiting) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> type = value.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    fields.add(field);
+                }
+            }
+        }
+        fields.sort(Comparator.comparing((Field field) -> field.getName())
+                .thenComparing(field -> field.getDeclaringClass().getName()));
+        out.append(value.getClass().getName()).append('{');
+        for (Field field : fields) {
+            Object fieldValue;
+            try {
+                field.setAccessible(true);
+                fieldValue = field.get(value);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalArgumentException("Can not read parameter " + field, e);
+            }
+            out.append(field.getName()).append('=');
+            append(out, fieldValue, visiting);
+            out.append(',');
+        }
+        out.append('}');
+    }
+}
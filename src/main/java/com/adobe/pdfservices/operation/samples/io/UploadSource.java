@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.io;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content to upload, read from a region of a file with a length known up front.
+ * <p>
+ * {@link com.adobe.pdfservices.operation.PDFServices#upload(java.io.InputStream, String)} reads the whole input stream
+ * into a byte array before sending it, so every upload costs at least its size in heap. An upload source instead maps
+ * the file with {@link FileChannel#map} a window at a time and hands slices of the mapping to the HTTP client, which
+ * sends them as a fixed-length body. The content is never copied into the heap.
+ * <p>
+ * Mappings are released by the garbage collector, so the address space of a large file stays reserved until the
+ * mapped buffers are collected.
+ */
+public final class UploadSource {
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final Path file;
+    private final long offset;
+    private final long contentLength;
+    private final String mediaType;
+
+    private UploadSource(Path file, long offset, long contentLength, String mediaType) {
+        this.file = file;
+        this.offset = offset;
+        this.contentLength = contentLength;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Creates an upload source for a whole file.
+     *
+     * @param file      the file to upload
+     * @param mediaType media type of the file, for example {@code PDFServicesMediaType.PDF.getMediaType()}
+     * @return an UploadSource instance
+     * @throws IOException if the size of the file can not be read
+     */
+    public static UploadSource ofFile(Path file, String mediaType) throws IOException {
+        return new UploadSource(file, 0, Files.size(file), mediaType);
+    }
+
+    /**
+     * Creates an upload source for a region of a file.
+     *
+     * @param file          the file to upload from
+     * @param offset        position of the first byte to upload
+     * @param contentLength number of bytes to upload
+     * @param mediaType     media type of the content
+     * @return an UploadSource instance
+     */
+    public static UploadSource ofFileRegion(Path file, long offset, long contentLength, String mediaType) {
+        if (offset < 0 || contentLength < 0) {
+            throw new IllegalArgumentException("Offset and content length can not be negative");
+        }
+        return new UploadSource(file, offset, contentLength, mediaType);
+    }
+
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns a body publisher that sends the content with a fixed {@code Content-Length}. Each subscription maps the
+     * file again, so the publisher can be reused when a request is retried.
+     *
+     * @return a fixed-length body publisher
+     */
+    public HttpRequest.BodyPublisher toBodyPublisher() {
+        if (contentLength == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        return HttpRequest.BodyPublishers.fromPublisher(
+                subscriber -> subscriber.onSubscribe(new MappedRegionSubscription(subscriber)), contentLength);
+    }
+
+    @Override
+    public String toString() {
+        return file + " [" + offset + ", " + (offset + contentLength) + ") " + mediaType;
+    }
+
+    // Emits slices of the mapped file as the subscriber requests them; signals are serialized by the work counter
+    private final class MappedRegionSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private FileChannel channel;
+        private MappedByteBuffer window;
+        private long position;
+        private volatile Throwable invalidRequest;
+        private volatile boolean done;
+
+        private MappedRegionSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " items, must be positive");
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            drain();
+        }
+
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                try {
+                    if (invalidRequest != null) {
+                        fail(invalidRequest);
+                    }
+                    while (!done && demand.get() > 0 && position < contentLength) {
+                        ByteBuffer chunk = nextChunk();
+                        demand.decrementAndGet();
+                        subscriber.onNext(chunk);
+                    }
+                    if (!done && position == contentLength) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                } catch (IOException e) {
+                    fail(e);
+                }
+                if (done) {
+                    closeChannel();
+                }
+            } while (work.decrementAndGet() != 0);
+        }
+
+        private ByteBuffer nextChunk() throws IOException {
+            if (window == null || !window.hasRemaining()) {
+                if (channel == null) {
+                    channel = FileChannel.open(file, StandardOpenOption.READ);
+                }
+                long size = Math.min(WINDOW_SIZE, contentLength - position);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, offset + position, size);
+            }
+            int length = Math.min(CHUNK_SIZE, window.remaining());
+            ByteBuffer chunk = window.slice();
+            chunk.limit(length);
+            window.position(window.position() + length);
+            position += length;
+            return chunk;
+        }
+
+        private void fail(Throwable error) {
+            if (!done) {
+                done = true;
+                subscriber.onError(error);
+            }
+        }
+
+        private void closeChannel() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // The channel is only read from, nothing is lost
+                }
+                channel = null;
+                window = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.linearizepdf;
+
+import com.adobe.pdfservices.operation.samples.localserver.LocalDeliveryServer;
+import com.adobe.pdfservices.operation.samples.batch.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This sample measures how much sooner a viewer can show the first page of a linearized PDF file than of the original
+ * file, when both are delivered over a slow link by a server that answers range requests.
+ * <p>
+ * Each file is fetched the way a viewer that reads PDF files incrementally would. It first requests the first
+ * kilobyte, which holds the linearization dictionary of a linearized file. The dictionary gives the offset at which
+ * the first page ends, so only the bytes up to that offset are requested next. A file that is not linearized keeps
+ * the cross-reference table that locates its objects at its end, so the viewer needs the whole file before it can
+ * show any page. The time to the first page bytes and the time to the whole file are reported for each file.
+ * <p>
+ * Optional arguments: original file (default src/main/resources/linearizePDFInput.pdf), linearized file (default
+ * the latest output of the LinearizePDF sample), iterations (default 5), bandwidth in KB/s (default 1024) and
+ * latency of each request in milliseconds (default 50).
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class FirstPageBytesBenchmark {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(FirstPageBytesBenchmark.class);
+
+    private static final int HEADER_LENGTH = 1024;
+    private static final Pattern LINEARIZATION_DICTIONARY = Pattern.compile("<<[^>]*?/Linearized\\s[^>]*>>");
+    private static final Pattern FILE_LENGTH = Pattern.compile("/L\\s+(\\d+)");
+    private static final Pattern FIRST_PAGE_END = Pattern.compile("/E\\s+(\\d+)");
+
+    public static void main(String[] args) {
+        try {
+            Path originalFile = Paths.get(args.length > 0 ? args[0] : "src/main/resources/linearizePDFInput.pdf");
+            Path linearizedFile = args.length > 1 ? Paths.get(args[1]) : latestLinearizePDFOutput();
+            int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+            long bytesPerSecond = (args.length > 3 ? Long.parseLong(args[3]) : 1024) * 1024;
+            Duration latency = Duration.ofMillis(args.length > 4 ? Long.parseLong(args[4]) : 50);
+
+            try (LocalDeliveryServer deliveryServer = LocalDeliveryServer.builder()
+                    .withDirectory(Paths.get("output/FirstPageBytesBenchmark"))
+                    .withBandwidth(bytesPerSecond)
+                    .withLatency(latency)
+                    .build()
+                    .start()) {
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build();
+                measure(httpClient, store(deliveryServer, "original.pdf", originalFile), "original", iterations);
+                measure(httpClient, store(deliveryServer, "linearized.pdf", linearizedFile), "linearized", iterations);
+                LOGGER.info("The delivery server answered {} requests, {} of them with part of a file",
+                        deliveryServer.getRequestCount(), deliveryServer.getRangeRequestCount());
+            }
+        } catch (IOException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while measuring", ex);
+        }
+    }
+
+    private static void measure(HttpClient httpClient, String uri, String label, int iterations)
+            throws IOException, InterruptedException {
+        LatencyHistogram firstPage = new LatencyHistogram();
+        LatencyHistogram wholeFile = new LatencyHistogram();
+        long firstPageBytes = 0;
+        long fileLength = 0;
+        boolean linearized = false;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> header = get(httpClient, uri, "bytes=0-" + (HEADER_LENGTH - 1));
+            fileLength = totalLength(header);
+            long firstPageEnd = firstPageEnd(header.body(), fileLength);
+            linearized = firstPageEnd > 0;
+            // Without a linearization dictionary, the cross-reference table at the end of the file is needed first
+            long needed = linearized ? Math.min(firstPageEnd, fileLength) : fileLength;
+            if (needed > header.body().length) {
+                get(httpClient, uri, "bytes=" + header.body().length + "-" + (needed - 1));
+            }
+            firstPage.record(Duration.ofNanos(System.nanoTime() - start));
+            firstPageBytes = Math.max(needed, header.body().length);
+
+            start = System.nanoTime();
+            get(httpClient, uri, null);
+            wholeFile.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+        LOGGER.info("{} file ({} bytes, {}): first page after {} bytes, p50 {} ms; whole file p50 {} ms",
+                label, fileLength, linearized ? "linearized" : "not linearized", firstPageBytes,
+                firstPage.getPercentile(0.5).toMillis(), wholeFile.getPercentile(0.5).toMillis());
+        LOGGER.info("{} file time to first page bytes: {}", label, firstPage);
+    }
+
+    private static String store(LocalDeliveryServer deliveryServer, String name, Path file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return deliveryServer.store(name, inputStream);
+        }
+    }
+
+    private static HttpResponse<byte[]> get(HttpClient httpClient, String uri, String range)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri)).GET();
+        if (range != null) {
+            request.header("Range", range);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200 && response.statusCode() != 206) {
+            throw new IOException("Request for " + uri + " failed with status " + response.statusCode());
+        }
+        return response;
+    }
+
+    // Reads the length of the whole file from the Content-Range header of a partial response
+    private static long totalLength(HttpResponse<byte[]> response) {
+        String contentRange = response.headers().firstValue("Content-Range").orElse(null);
+        if (response.statusCode() != 206 || contentRange == null) {
+            return response.body().length;
+        }
+        return Long.parseLong(contentRange.substring(contentRange.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Returns the offset at which the first page of a linearized file ends, from its linearization dictionary.
+     *
+     * @param header     the first bytes of the file
+     * @param fileLength the length of the whole file
+     * @return the end of the first page, or 0 if the file is not linearized or was changed after it was linearized
+     */
+    private static long firstPageEnd(byte[] header, long fileLength) {
+        Matcher dictionary = LINEARIZATION_DICTIONARY.matcher(new String(header, StandardCharsets.ISO_8859_1));
+        if (!dictionary.find()) {
+            return 0;
+        }
+        Matcher length = FILE_LENGTH.matcher(dictionary.group());
+        Matcher end = FIRST_PAGE_END.matcher(dictionary.group());
+        // A file updated incrementally after it was linearized no longer matches the length it records
+        if (!length.find() || Long.parseLong(length.group(1)) != fileLength || !end.find()) {
+            return 0;
+        }
+        return Long.parseLong(end.group(1));
+    }
+
+    private static Path latestLinearizePDFOutput() throws IOException {
+        Path latest = null;
+        Path outputDirectory = Paths.get("output/LinearizePDF");
+        if (Files.isDirectory(outputDirectory)) {
+            try (DirectoryStream<Path> outputs = Files.newDirectoryStream(outputDirectory, "*.pdf")) {
+                for (Path output : outputs) {
+                    if (latest == null || Files.getLastModifiedTime(output).compareTo(Files.getLastModifiedTime(latest)) > 0) {
+                        latest = output;
+                    }
+                }
+            }
+        }
+        if (latest == null) {
+            throw new IOException("No linearized file found in " + outputDirectory
+                    + ", run the LinearizePDF sample first or pass the path of a linearized file");
+        }
+        return latest;
+    }
+}
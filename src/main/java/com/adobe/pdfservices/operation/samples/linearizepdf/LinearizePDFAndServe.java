@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.linearizepdf;
+
+import com.adobe.pdfservices.operation.PDFServices;
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.PDFServicesResponse;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.exception.ServiceApiException;
+import com.adobe.pdfservices.operation.exception.ServiceUsageException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.pdfjobs.jobs.LinearizePDFJob;
+import com.adobe.pdfservices.operation.pdfjobs.result.LinearizePDFResult;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.ResultCache;
+import com.adobe.pdfservices.operation.samples.io.ResultKey;
+import com.adobe.pdfservices.operation.samples.localserver.LocalDeliveryServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This sample illustrates how to deliver the output of a Linearize PDF job the way it is meant to be used: from a
+ * server that answers HTTP range requests, so that a viewer can show the first page before the whole file arrives.
+ * <p>
+ * The input file is linearized, and both the input and the output are stored in a {@link LocalDeliveryServer}, which
+ * serves them until the process is stopped. Open the URIs logged in a browser, or fetch part of a file with, for
+ * example, {@code curl -r 0-1023}.
+ * <p>
+ * Optional arguments: port of the delivery server (default 8090).
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class LinearizePDFAndServe {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(LinearizePDFAndServe.class);
+
+    private static final Path INPUT_FILE = Paths.get("src/main/resources/linearizePDFInput.pdf");
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8090;
+
+        try {
+            Path linearizedFile = linearize();
+
+            LocalDeliveryServer deliveryServer = LocalDeliveryServer.builder()
+                    .withPort(port)
+                    .build()
+                    .start();
+            Runtime.getRuntime().addShutdownHook(new Thread(deliveryServer::close));
+            try (InputStream inputStream = Files.newInputStream(INPUT_FILE);
+                 InputStream linearizedStream = Files.newInputStream(linearizedFile)) {
+                LOGGER.info("Serving the original file at {}", deliveryServer.store("original.pdf", inputStream));
+                LOGGER.info("Serving the linearized file at {}", deliveryServer.store("linearized.pdf", linearizedStream));
+            }
+            LOGGER.info("Stop the process to stop serving the files");
+
+            // The connection threads are daemon threads, so keep the main thread alive until the process is stopped
+            Thread.currentThread().join();
+        } catch (ServiceApiException | IOException | SDKException | ServiceUsageException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Linearizes the input file, or reuses the result of an earlier run, and returns the output file
+    private static Path linearize() throws IOException, ServiceApiException, SDKException, ServiceUsageException {
+        // Reads the settings from the environment; their service URI is part of the cache key
+        ClientSettings clientSettings = ClientSettings.fromEnvironment();
+        ResultKey resultKey = ResultKey.of(clientSettings, LinearizePDFJob.class, null, INPUT_FILE);
+        String outputFilePath = LinearizePDF.createOutputFilePath();
+        if (ResultCache.getDefault().copyTo(resultKey, outputFilePath)) {
+            LOGGER.info(String.format("Saving cached result at %s", outputFilePath));
+            return Paths.get(outputFilePath);
+        }
+
+        // Gets the shared PDF Services instance for these settings
+        PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getClient(clientSettings);
+
+        // Creates an asset(s) from source file(s) and upload
+        Asset asset;
+        try (InputStream inputStream = Files.newInputStream(INPUT_FILE)) {
+            asset = pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
+        }
+
+        // Submit the job and gets the job result
+        String location = pdfServices.submit(new LinearizePDFJob(asset));
+        PDFServicesResponse<LinearizePDFResult> pdfServicesResponse = pdfServices.getJobResult(location, LinearizePDFResult.class);
+
+        // Get content from the resulting asset(s)
+        Asset resultAsset = pdfServicesResponse.getResult().getAsset();
+        StreamAsset streamAsset = pdfServices.getContent(resultAsset);
+
+        // Writes the stream asset's content to the output file and keeps it in the result cache
+        LOGGER.info(String.format("Saving asset at %s", outputFilePath));
+        ResultCache.getDefault().write(resultKey, streamAsset, outputFilePath);
+        return Paths.get(outputFilePath);
+    }
+}
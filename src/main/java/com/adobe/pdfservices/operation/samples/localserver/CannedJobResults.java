@@ -0,0 +1,370 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.localserver;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds the body of a finished job status response for each operation, in the shape the SDK expects for the
+ * corresponding result class.
+ * <p>
+ * The outputs are canned: PDF operations return a copy of their input, conversions to PDF return a PDF from the
+ * classpath, and other operations return small generated files of the requested format. They are good enough for the
+ * samples to run end to end and for load tests, not for checking the content of the results.
+ * <p>
+ * Each PDF asset carries a page count, counted in the uploaded file and passed on to the outputs of PDF operations,
+ * so that the local server can make jobs take longer on larger documents. Splitting by page count returns as many
+ * outputs as the service would, each with the page count of its part, although each is still a copy of the input.
+ * Extraction returns an element per page, numbered like the service numbers them.
+ */
+final class CannedJobResults {
+
+    private static final String CANNED_PDF_RESOURCE = "/baseInput.pdf";
+    private static final String CANNED_DOCX_RESOURCE = "/createPDFInput.docx";
+    private static final String CANNED_PPTX_RESOURCE = "/createPDFInput.pptx";
+    private static final int DEFAULT_SPLIT_FILE_COUNT = 2;
+    private static final int IMAGE_WIDTH = 612;
+    private static final int IMAGE_HEIGHT = 792;
+    // Page objects of a PDF file; "/Pages" tree nodes are not matched. Pages inside compressed object streams are not
+    // found, so such files count as one page.
+    private static final Pattern PAGE_OBJECT = Pattern.compile("/Type\\s*/Page\\b");
+
+    private final AssetStore assetStore;
+    private final byte[] cannedPdf;
+
+    /**
+     * Stores an output of a job and returns its description for the status response.
+     */
+    interface AssetStore {
+
+        /**
+         * Stores the content as a new asset.
+         *
+         * @param mediaType media type of the content
+         * @param content   the content
+         * @param pageCount number of pages of the content, if it is a PDF file
+         * @return the asset JSON with metadata, download URI and asset id
+         */
+        JSONObject store(String mediaType, byte[] content, int pageCount);
+
+        /**
+         * Stores the content as a new asset, with the page count found in the content.
+         *
+         * @param mediaType media type of the content
+         * @param content   the content
+         * @return the asset JSON with metadata, download URI and asset id
+         */
+        default JSONObject store(String mediaType, byte[] content) {
+            return store(mediaType, content, countPages(mediaType, content));
+        }
+    }
+
+    CannedJobResults(AssetStore assetStore) {
+        this.assetStore = assetStore;
+        this.cannedPdf = readResource(CANNED_PDF_RESOURCE);
+    }
+
+    /**
+     * Builds the status response of a finished job.
+     *
+     * @param operation        operation path segment, for example {@code createpdf}
+     * @param requestBody      the body of the submit request
+     * @param inputMediaType   media type of the primary input asset
+     * @param inputContent     content of the primary input asset
+     * @param inputPageCount   page count of the primary input asset
+     * @return the status response, with the status set to done
+     */
+    JSONObject done(String operation, JSONObject requestBody, String inputMediaType, byte[] inputContent,
+                    int inputPageCount) {
+        JSONObject response = new JSONObject().put("status", "done");
+        switch (operation) {
+            case "createpdf":
+            case "htmltopdf":
+                return response.put("asset", pdf(inputMediaType, inputContent, inputPageCount));
+            case "exportpdf":
+                return response.put("asset", exported(requestBody.optString("targetFormat", "docx"), inputContent));
+            case "pdftoimages":
+                return withImages(response, requestBody);
+            case "documentgeneration":
+                return response.put("asset", "docx".equalsIgnoreCase(requestBody.optString("outputFormat"))
+                        ? assetStore.store(PDFServicesMediaType.DOCX.getMediaType(), inputContent)
+                        : pdf(inputMediaType, inputContent, inputPageCount));
+            case "splitpdf":
+                return withSplitFiles(response, requestBody, inputMediaType, inputContent, inputPageCount);
+            case "autotag":
+                response.put("tagged-pdf", pdf(inputMediaType, inputContent, inputPageCount));
+                if (requestBody.optBoolean("generateReport")) {
+                    response.put("report", assetStore.store(PDFServicesMediaType.XLSX.getMediaType(),
+                            zip("report.txt", "Tagging report of the local stand-in".getBytes(StandardCharsets.UTF_8))));
+                }
+                return response;
+            case "extractpdf":
+                return withExtractedContent(response, requestBody, inputContent, inputPageCount);
+            case "pdfproperties":
+                return response.put("metadata", properties(inputContent, inputPageCount));
+            case "getformdata":
+                return response.put("asset", assetStore.store(PDFServicesMediaType.JSON.getMediaType(),
+                        new JSONObject().put("name", "Local stand-in").toString().getBytes(StandardCharsets.UTF_8)));
+            case "accessibilitychecker":
+                response.put("asset", pdf(inputMediaType, inputContent, inputPageCount));
+                return response.put("report", assetStore.store(PDFServicesMediaType.JSON.getMediaType(),
+                        new JSONObject().put("Summary", new JSONObject().put("Passed", 1).put("Failed", 0))
+                                .toString().getBytes(StandardCharsets.UTF_8)));
+            default:
+                // ocr, compresspdf, linearizepdf, protectpdf, removeprotection, pagemanipulation, combinepdf,
+                // electronicseal, addwatermark, setformdata and any other PDF to PDF operation
+                return response.put("asset", pdf(inputMediaType, inputContent, inputPageCount));
+        }
+    }
+
+    /**
+     * Returns the number of pages of a PDF file, at least one, or zero for other media types.
+     *
+     * @param mediaType media type of the content
+     * @param content   the content
+     * @return the page count
+     */
+    static int countPages(String mediaType, byte[] content) {
+        if (!PDFServicesMediaType.PDF.getMediaType().equals(mediaType) || content == null) {
+            return 0;
+        }
+        Matcher matcher = PAGE_OBJECT.matcher(new String(content, StandardCharsets.ISO_8859_1));
+        int pageCount = 0;
+        while (matcher.find()) {
+            pageCount++;
+        }
+        return Math.max(1, pageCount);
+    }
+
+    // A copy of the input if it is a PDF, the canned PDF otherwise
+    private JSONObject pdf(String inputMediaType, byte[] inputContent, int outputPageCount) {
+        boolean inputIsPdf = PDFServicesMediaType.PDF.getMediaType().equals(inputMediaType);
+        if (inputIsPdf || cannedPdf == null) {
+            return assetStore.store(PDFServicesMediaType.PDF.getMediaType(), inputContent, outputPageCount);
+        }
+        return assetStore.store(PDFServicesMediaType.PDF.getMediaType(), cannedPdf);
+    }
+
+    private JSONObject exported(String targetFormat, byte[] inputContent) {
+        switch (targetFormat.toLowerCase(Locale.ROOT)) {
+            case "docx":
+                return storeResourceOrInput(PDFServicesMediaType.DOCX, CANNED_DOCX_RESOURCE, inputContent);
+            case "pptx":
+                return storeResourceOrInput(PDFServicesMediaType.PPTX, CANNED_PPTX_RESOURCE, inputContent);
+            case "jpeg":
+                return assetStore.store(PDFServicesMediaType.JPEG.getMediaType(), image("jpeg"));
+            case "png":
+                return assetStore.store(PDFServicesMediaType.PNG.getMediaType(), image("png"));
+            case "rtf":
+                return assetStore.store(PDFServicesMediaType.RTF.getMediaType(),
+                        "{\\rtf1\\ansi Local stand-in\\par}".getBytes(StandardCharsets.US_ASCII));
+            default:
+                PDFServicesMediaType mediaType = PDFServicesMediaType.valueOf(targetFormat.toUpperCase(Locale.ROOT));
+                return assetStore.store(mediaType.getMediaType(), inputContent);
+        }
+    }
+
+    private JSONObject withImages(JSONObject response, JSONObject requestBody) {
+        String format = "png".equalsIgnoreCase(requestBody.optString("targetFormat")) ? "png" : "jpeg";
+        String mediaType = "png".equals(format)
+                ? PDFServicesMediaType.PNG.getMediaType()
+                : PDFServicesMediaType.JPEG.getMediaType();
+        byte[] image = image(format);
+        if ("zipOfPageImages".equals(requestBody.optString("outputType"))) {
+            return response.put("asset", assetStore.store(PDFServicesMediaType.ZIP.getMediaType(),
+                    zip("page_0." + format, image)));
+        }
+        return response.put("assetList", new JSONArray().put(assetStore.store(mediaType, image)));
+    }
+
+    private JSONObject withSplitFiles(JSONObject response, JSONObject requestBody, String inputMediaType,
+                                      byte[] inputContent, int inputPageCount) {
+        JSONObject splitOption = requestBody.optJSONObject("splitoption");
+        JSONArray assetList = new JSONArray();
+        if (splitOption != null && splitOption.has("pageCount")) {
+            // Consecutive parts of the given number of pages, the last one with the pages left
+            int pagesPerFile = Math.max(1, splitOption.getInt("pageCount"));
+            int pageCount = Math.max(1, inputPageCount);
+            for (int firstPage = 0; firstPage < pageCount; firstPage += pagesPerFile) {
+                assetList.put(pdf(inputMediaType, inputContent, Math.min(pagesPerFile, pageCount - firstPage)));
+            }
+            return response.put("assetList", assetList);
+        }
+        if (splitOption != null && splitOption.has("pageRanges")) {
+            // One part per range, with the pages of the range that are in the input
+            int pageCount = Math.max(1, inputPageCount);
+            for (Object range : splitOption.getJSONArray("pageRanges")) {
+                int start = Math.min(pageCount, ((JSONObject) range).optInt("start", 1));
+                int end = Math.min(pageCount, ((JSONObject) range).optInt("end", pageCount));
+                assetList.put(pdf(inputMediaType, inputContent, Math.max(1, end - start + 1)));
+            }
+            return response.put("assetList", assetList);
+        }
+        int fileCount = DEFAULT_SPLIT_FILE_COUNT;
+        if (splitOption != null && splitOption.has("fileCount")) {
+            fileCount = splitOption.getInt("fileCount");
+        }
+        for (int i = 0; i < fileCount; i++) {
+            assetList.put(pdf(inputMediaType, inputContent, inputPageCount));
+        }
+        return response.put("assetList", assetList);
+    }
+
+    // The SDK downloads the "content" asset as the structured data JSON; "resource" is the full zip. Each page gets a
+    // paragraph, and a table and a figure with their renditions when they are requested.
+    private JSONObject withExtractedContent(JSONObject response, JSONObject requestBody, byte[] inputContent,
+                                            int inputPageCount) {
+        JSONArray renditions = requestBody.optJSONArray("renditionsToExtract");
+        boolean tables = renditions != null && renditions.toList().contains("tables");
+        boolean figures = renditions != null && renditions.toList().contains("figures");
+        String tableFormat = requestBody.optString("tableOutputFormat", "csv");
+        int pageCount = Math.max(1, inputPageCount);
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        JSONArray elements = new JSONArray();
+        JSONArray pages = new JSONArray();
+        for (int page = 0; page < pageCount; page++) {
+            elements.put(element("P", page, elements.length())
+                    .put("Text", "Text extracted by the local PDF Services stand-in ")
+                    .put("TextSize", 12));
+            if (tables) {
+                String filePath = "tables/fileoutpart" + entries.size() + "." + tableFormat;
+                entries.put(filePath, "Column 1,Column 2\nLocal,stand-in\n".getBytes(StandardCharsets.UTF_8));
+                elements.put(element("Table", page, elements.length()).put("filePaths", new JSONArray().put(filePath)));
+            }
+            if (figures) {
+                String filePath = "figures/fileoutpart" + entries.size() + ".png";
+                entries.put(filePath, image("png"));
+                elements.put(element("Figure", page, elements.length()).put("filePaths", new JSONArray().put(filePath)));
+            }
+            pages.put(new JSONObject()
+                    .put("page_number", page).put("width", IMAGE_WIDTH).put("height", IMAGE_HEIGHT)
+                    .put("is_scanned", false).put("rotation", 0));
+        }
+        byte[] structuredData = new JSONObject()
+                .put("version", new JSONObject().put("json_export", "local").put("page_segmentation", "local"))
+                .put("extended_metadata", new JSONObject().put("page_count", pageCount).put("is_digital", true))
+                .put("elements", elements)
+                .put("pages", pages)
+                .put("input_size", inputContent.length)
+                .toString(2)
+                .getBytes(StandardCharsets.UTF_8);
+        entries.put("structuredData.json", structuredData);
+        response.put("content", assetStore.store(PDFServicesMediaType.JSON.getMediaType(), structuredData));
+        return response.put("resource", assetStore.store(PDFServicesMediaType.ZIP.getMediaType(), zip(entries)));
+    }
+
+    // An element on a page, numbered in its path as the service does: "//Document/P", "//Document/P[2]" and so on
+    private static JSONObject element(String type, int page, int objectId) {
+        int index = page + 1;
+        return new JSONObject()
+                .put("Path", "//Document/" + type + (index > 1 ? "[" + index + "]" : ""))
+                .put("Page", page)
+                .put("ObjectID", objectId)
+                .put("Bounds", new JSONArray().put(72).put(700).put(540).put(714));
+    }
+
+    private static JSONObject properties(byte[] inputContent, int inputPageCount) {
+        JSONObject document = new JSONObject()
+                .put("pageCount", Math.max(1, inputPageCount))
+                .put("fileSize", String.valueOf(inputContent.length))
+                .put("pdfVersion", "1.6")
+                .put("isLinearized", false)
+                .put("isEncrypted", false)
+                .put("isTagged", false)
+                .put("isSigned", false)
+                .put("hasAcroform", false)
+                .put("hasEmbeddedFiles", false)
+                .put("isXFA", false)
+                .put("isCertified", false)
+                .put("isPortfolio", false);
+        JSONObject page = new JSONObject()
+                .put("pageNumber", 0)
+                .put("width", IMAGE_WIDTH)
+                .put("height", IMAGE_HEIGHT)
+                .put("isScanned", false)
+                .put("hasStructure", false);
+        return new JSONObject().put("document", document).put("pages", new JSONArray().put(page));
+    }
+
+    private JSONObject storeResourceOrInput(PDFServicesMediaType mediaType, String resource, byte[] inputContent) {
+        byte[] content = readResource(resource);
+        return assetStore.store(mediaType.getMediaType(), content != null ? content : inputContent);
+    }
+
+    private static byte[] image(String format) {
+        BufferedImage image = new BufferedImage(IMAGE_WIDTH / 4, IMAGE_HEIGHT / 4, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.setColor(Color.DARK_GRAY);
+            graphics.drawString("Local stand-in", 10, 20);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, format, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] zip(String entryName, byte[] content) {
+        return zip(Collections.singletonMap(entryName, content));
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zipOutputStream.putNextEntry(new ZipEntry(entry.getKey()));
+                zipOutputStream.write(entry.getValue());
+                zipOutputStream.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    // Returns null when the resource is not on the classpath, so that callers fall back to the input
+    private static byte[] readResource(String resource) {
+        try (InputStream inputStream = CannedJobResults.class.getResourceAsStream(resource)) {
+            return inputStream == null ? null : inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.localserver;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.samples.localserver.LocalHttpServer.Request;
+import com.adobe.pdfservices.operation.samples.localserver.LocalHttpServer.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the files of a local directory over HTTP with byte range requests, the way a web server or CDN delivers
+ * documents to a PDF viewer, for example the outputs of Linearize PDF jobs.
+ * <p>
+ * A linearized PDF file starts with a linearization dictionary and every object of its first page, so a viewer that
+ * reads the file with range requests can display the first page once the start of the file has arrived, instead of
+ * waiting for all of it. This server answers {@code GET} and {@code HEAD} requests for {@code /files/<name>}:
+ * <ul>
+ *     <li>a single range, such as {@code bytes=0-1023}, {@code bytes=1024-} or {@code bytes=-1024}, is answered with
+ *     206 Partial Content and a {@code Content-Range} header;</li>
+ *     <li>a range that starts after the end of the file is answered with 416 Range Not Satisfiable;</li>
+ *     <li>several ranges, a malformed range, or an {@code If-Range} header that does not match the {@code ETag} of the
+ *     file, are answered with the whole file, as HTTP allows.</li>
+ * </ul>
+ * Responses are written from the file as they are sent and never held in memory. The bandwidth and the latency of a
+ * network link can be emulated, so that time-to-first-page measurements mean something on the loopback interface.
+ */
+public class LocalDeliveryServer implements AutoCloseable {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalDeliveryServer.class);
+
+    private static final String FILES_PATH = "/files/";
+    private static final int DEFAULT_STANDALONE_PORT = 8090;
+    private static final int CHUNK_SIZE = 16 * 1024;
+    // File names are used in URIs and paths as they are, so they are kept to characters that need no escaping
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]*");
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private final int port;
+    private final Path directory;
+    private final long bytesPerSecond;
+    private final Duration latency;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rangeRequests = new AtomicLong();
+    private final AtomicLong servedBytes = new AtomicLong();
+
+    private LocalHttpServer httpServer;
+
+    private LocalDeliveryServer(Builder builder) {
+        this.port = builder.port;
+        this.directory = builder.directory;
+        this.bytesPerSecond = builder.bytesPerSecond;
+        this.latency = builder.latency;
+    }
+
+    /**
+     * Serves the files of a directory until the process is stopped.
+     * <p>
+     * Optional arguments: port (default 8090), directory (default output/LocalDeliveryServer), bandwidth in KB/s
+     * (default 0, unlimited) and latency of each request in milliseconds (default 0).
+     *
+     * @param args optional arguments
+     * @throws IOException          if the server can not be bound
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LocalDeliveryServer server = builder()
+                .withPort(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STANDALONE_PORT)
+                .withDirectory(Paths.get(args.length > 1 ? args[1] : "output/LocalDeliveryServer"))
+                .withBandwidth(args.length > 2 ? Long.parseLong(args[2]) * 1024 : 0)
+                .withLatency(Duration.ofMillis(args.length > 3 ? Long.parseLong(args[3]) : 0))
+                .build()
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+
+        // The connection threads are daemon threads, so keep the main thread alive until the process is stopped
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Creates a new LocalDeliveryServer builder.
+     *
+     * @return a LocalDeliveryServer.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates the directory if needed, binds the server to the loopback interface and starts serving requests.
+     *
+     * @return this server
+     * @throws IOException if the directory can not be created or the server can not be bound
+     */
+    public LocalDeliveryServer start() throws IOException {
+        Files.createDirectories(directory);
+        httpServer = LocalHttpServer.start(port, this::handle);
+        LOGGER.info("Local delivery server serving {} at {}{}", directory, getBaseUri(), FILES_PATH);
+        return this;
+    }
+
+    /**
+     * Returns the base URI of the running server.
+     *
+     * @return the base URI, without a trailing slash
+     */
+    public String getBaseUri() {
+        return httpServer.getBaseUri();
+    }
+
+    /**
+     * Returns the URI a file of the directory is served at.
+     *
+     * @param name the file name
+     * @return the URI of the file
+     */
+    public String getUri(String name) {
+        return getBaseUri() + FILES_PATH + checkName(name);
+    }
+
+    /**
+     * Stores content in the directory, replacing any file of the same name, and returns the URI it is served at. The
+     * content is written to a temporary file first and then moved into place, so a request never gets a partial file.
+     *
+     * @param name    the file name; letters, digits, '.', '_' and '-' only
+     * @param content the content, such as the stream of a Linearize PDF result; not closed
+     * @return the URI of the file
+     * @throws IOException if the file can not be written
+     */
+    public String store(String name, InputStream content) throws IOException {
+        Path target = directory.resolve(checkName(name));
+        Path tempFile = Files.createTempFile(directory, name, ".tmp");
+        try {
+            Files.copy(content, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return getUri(name);
+    }
+
+    /**
+     * Stores a copy of a file in the directory, under its own file name, and returns the URI it is served at.
+     *
+     * @param file the file
+     * @return the URI of the file
+     * @throws IOException if the file can not be read or written
+     */
+    public String store(Path file) throws IOException {
+        try (InputStream content = Files.newInputStream(file)) {
+            return store(file.getFileName().toString(), content);
+        }
+    }
+
+    /**
+     * Returns the number of requests received so far.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of requests answered with part of a file so far.
+     *
+     * @return the number of 206 responses
+     */
+    public long getRangeRequestCount() {
+        return rangeRequests.get();
+    }
+
+    /**
+     * Returns the number of file bytes sent so far.
+     *
+     * @return the number of bytes sent in response bodies
+     */
+    public long getServedBytes() {
+        return servedBytes.get();
+    }
+
+    @Override
+    public void close() {
+        if (httpServer != null) {
+            httpServer.close();
+            httpServer = null;
+        }
+    }
+
+    private Response handle(Request request) {
+        requests.incrementAndGet();
+        pause(latency);
+        String path = request.getPath();
+        String name = path.startsWith(FILES_PATH) ? path.substring(FILES_PATH.length()) : "";
+        Path file = directory.resolve(FILE_NAME.matcher(name).matches() ? name : ".");
+        if (!Files.isRegularFile(file)) {
+            return text(404, "No file at " + path);
+        }
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return text(405, "Only GET and HEAD are supported").withHeader("Allow", "GET, HEAD");
+        }
+        try {
+            long length = Files.size(file);
+            String etag = "\"" + Long.toHexString(length) + "-"
+                    + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+            String range = request.getHeader("range");
+            String ifRange = request.getHeader("if-range");
+            long[] bounds = range != null && (ifRange == null || ifRange.equals(etag)) ? parseRange(range, length) : null;
+            if (bounds == UNSATISFIABLE) {
+                return text(416, "Range " + range + " is outside of the file")
+                        .withHeader("Content-Range", "bytes */" + length);
+            }
+            long start = bounds != null ? bounds[0] : 0;
+            long count = bounds != null ? bounds[1] - bounds[0] + 1 : length;
+            Response response = Response.streamed(bounds != null ? 206 : 200, mediaType(name), count,
+                            outputStream -> writeRegion(file, start, count, outputStream))
+                    .withHeader("Accept-Ranges", "bytes")
+                    .withHeader("ETag", etag);
+            if (bounds != null) {
+                rangeRequests.incrementAndGet();
+                response.withHeader("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + length);
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses a Range header for a file.
+     *
+     * @param range  the value of the Range header
+     * @param length the length of the file
+     * @return the first and last byte positions, {@link #UNSATISFIABLE}, or null to send the whole file
+     */
+    static long[] parseRange(String range, long length) {
+        String unitPrefix = "bytes=";
+        if (!range.regionMatches(true, 0, unitPrefix, 0, unitPrefix.length()) || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring(unitPrefix.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // The last bytes of the file
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffixLength), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            return new long[]{start, Math.min(end, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Writes part of a file one chunk at a time, at no more than the configured bandwidth
+    private void writeRegion(Path file, long start, long count, OutputStream outputStream) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            long begin = System.nanoTime();
+            long written = 0;
+            while (written < count) {
+                buffer.clear();
+                buffer.limit((int) Math.min(CHUNK_SIZE, count - written));
+                int read = channel.read(buffer, start + written);
+                if (read < 0) {
+                    throw new IOException("File " + file + " was truncated while being served");
+                }
+                outputStream.write(buffer.array(), 0, read);
+                written += read;
+                servedBytes.addAndGet(read);
+                if (bytesPerSecond > 0) {
+                    // Sends each chunk as it would arrive over the emulated link
+                    outputStream.flush();
+                    long dueNanos = begin + written * 1_000_000_000L / bytesPerSecond;
+                    sleepUntil(dueNanos);
+                }
+            }
+        }
+    }
+
+    private static void sleepUntil(long dueNanos) throws InterruptedIOException {
+        long delayNanos = dueNanos - System.nanoTime();
+        if (delayNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while sending a file");
+        }
+    }
+
+    private static void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String mediaType(String name) {
+        return name.toLowerCase(Locale.ROOT).endsWith(".pdf") ? PDFServicesMediaType.PDF.getMediaType()
+                : "application/octet-stream";
+    }
+
+    private static Response text(int statusCode, String message) {
+        return Response.of(statusCode, "text/plain", message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String checkName(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid file name " + name
+                    + ", only letters, digits, '.', '_' and '-' are allowed");
+        }
+        return name;
+    }
+
+    /**
+     * Builds a {@link LocalDeliveryServer} instance.
+     */
+    public static class Builder {
+
+        private int port = 0;
+        private Path directory = Paths.get("output/LocalDeliveryServer");
+        private long bytesPerSecond;
+        private Duration latency = Duration.ZERO;
+
+        /**
+         * Sets the port to listen on. Default value is 0, which picks a free port.
+         *
+         * @param port port number
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the directory the files are stored in and served from. It is created if it does not exist. Default
+         * value is {@code output/LocalDeliveryServer}, relative to the working directory.
+         *
+         * @param directory the directory
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withDirectory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the rate each response body is sent at, to emulate the bandwidth of a network link. Default value is
+         * 0, which sends bodies as fast as the connection allows.
+         *
+         * @param bytesPerSecond bytes sent per second per response, or 0 for no limit
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withBandwidth(long bytesPerSecond) {
+            if (bytesPerSecond < 0) {
+                throw new IllegalArgumentException("Bandwidth can not be negative");
+            }
+            this.bytesPerSecond = bytesPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets the time every request takes before it is answered, to emulate the round trip of a network link.
+         * Default value is zero.
+         *
+         * @param latency latency added to each request
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withLatency(Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Returns a new LocalDeliveryServer instance built from the current state of this builder.
+         *
+         * @return a new LocalDeliveryServer instance
+         */
+        public LocalDeliveryServer build() {
+            return new LocalDeliveryServer(this);
+        }
+    }
+}
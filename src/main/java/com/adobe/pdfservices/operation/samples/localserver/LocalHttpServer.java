@@ -0,0 +1,364 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.localserver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal HTTP/1.1 server with persistent connections and chunked request bodies. Response bodies are either held
+ * in memory or, for large content such as files, written by the handler as the response is sent.
+ * <p>
+ * The JDK's built-in HTTP server capitalizes response header names, while the SDK looks up some headers, such as
+ * {@code location} and {@code retry-after}, in lower case as sent by the real service over HTTP/2, and others, such
+ * as {@code Content-Type} on downloads, in canonical case. This server writes header names exactly as given.
+ */
+final class LocalHttpServer implements AutoCloseable {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalHttpServer.class);
+
+    private static final int MAX_LINE_LENGTH = 16 * 1024;
+
+    private final ServerSocket serverSocket;
+    private final Handler handler;
+    private final ExecutorService executor;
+
+    private LocalHttpServer(ServerSocket serverSocket, Handler handler) {
+        this.serverSocket = serverSocket;
+        this.handler = handler;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-pdfservices-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Binds a server to the loopback interface and starts accepting connections.
+     *
+     * @param port    port to listen on, or 0 to pick a free port
+     * @param handler request handler
+     * @return the running server
+     * @throws IOException if the server can not be bound
+     */
+    static LocalHttpServer start(int port, Handler handler) throws IOException {
+        ServerSocket serverSocket = new ServerSocket(port, 512, InetAddress.getLoopbackAddress());
+        LocalHttpServer server = new LocalHttpServer(serverSocket, handler);
+        server.executor.execute(server::acceptLoop);
+        return server;
+    }
+
+    String getBaseUri() {
+        return "http://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            LOGGER.debug("Exception encountered while closing server socket", e);
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    LOGGER.error("Exception encountered while accepting connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket connection = socket;
+             InputStream inputStream = new BufferedInputStream(connection.getInputStream());
+             OutputStream outputStream = new BufferedOutputStream(connection.getOutputStream())) {
+            connection.setTcpNoDelay(true);
+            Request request;
+            while ((request = readRequest(inputStream)) != null) {
+                Response response;
+                try {
+                    response = handler.handle(request);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Exception encountered while serving request", e);
+                    response = Response.of(500, "text/plain", String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+                }
+                writeResponse(outputStream, request, response);
+                if ("close".equalsIgnoreCase(request.getHeader("connection"))) {
+                    break;
+                }
+            }
+        } catch (SocketException e) {
+            LOGGER.trace("Connection closed", e);
+        } catch (IOException e) {
+            LOGGER.debug("Exception encountered while serving connection", e);
+        }
+    }
+
+    private static Request readRequest(InputStream inputStream) throws IOException {
+        String requestLine = readLine(inputStream);
+        if (requestLine == null || requestLine.isEmpty()) {
+            return null;
+        }
+        String[] parts = requestLine.split(" ");
+        if (parts.length < 2) {
+            throw new IOException("Malformed request line: " + requestLine);
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        String line;
+        while ((line = readLine(inputStream)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+
+        byte[] body;
+        if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            body = readChunkedBody(inputStream);
+        } else if (headers.containsKey("content-length")) {
+            body = readFully(inputStream, Integer.parseInt(headers.get("content-length")));
+        } else {
+            body = new byte[0];
+        }
+        return new Request(parts[0], parts[1], headers, body);
+    }
+
+    private static byte[] readChunkedBody(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(inputStream);
+            if (sizeLine == null) {
+                throw new IOException("Unexpected end of chunked body");
+            }
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+            if (size == 0) {
+                // Skip trailers up to the terminating empty line
+                String trailer;
+                while ((trailer = readLine(inputStream)) != null && !trailer.isEmpty()) {
+                    LOGGER.trace("Ignoring trailer {}", trailer);
+                }
+                return body.toByteArray();
+            }
+            body.write(readFully(inputStream, size));
+            readLine(inputStream);
+        }
+    }
+
+    private static byte[] readFully(InputStream inputStream, int length) throws IOException {
+        byte[] bytes = inputStream.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IOException("Unexpected end of request body");
+        }
+        return bytes;
+    }
+
+    private static String readLine(InputStream inputStream) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = inputStream.read()) != -1) {
+            if (b == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            if (line.length() >= MAX_LINE_LENGTH) {
+                throw new IOException("Header line too long");
+            }
+            line.append((char) b);
+        }
+        return line.length() == 0 ? null : line.toString();
+    }
+
+    private static void writeResponse(OutputStream outputStream, Request request, Response response) throws IOException {
+        StringBuilder head = new StringBuilder();
+        head.append("HTTP/1.1 ").append(response.statusCode).append(' ').append(reasonPhrase(response.statusCode)).append("\r\n");
+        for (Map.Entry<String, String> header : response.headers.entrySet()) {
+            head.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+        }
+        boolean hasBody = response.statusCode != 204;
+        if (hasBody) {
+            head.append("content-length: ").append(response.getContentLength()).append("\r\n");
+        }
+        head.append("\r\n");
+        outputStream.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (hasBody && !"HEAD".equals(request.getMethod())) {
+            if (response.bodyWriter != null) {
+                response.bodyWriter.writeTo(outputStream);
+            } else {
+                outputStream.write(response.body);
+            }
+        }
+        outputStream.flush();
+    }
+
+    private static String reasonPhrase(int statusCode) {
+        switch (statusCode) {
+            case 200:
+                return "OK";
+            case 201:
+                return "Created";
+            case 204:
+                return "No Content";
+            case 206:
+                return "Partial Content";
+            case 400:
+                return "Bad Request";
+            case 401:
+                return "Unauthorized";
+            case 404:
+                return "Not Found";
+            case 405:
+                return "Method Not Allowed";
+            case 416:
+                return "Range Not Satisfiable";
+            case 429:
+                return "Too Many Requests";
+            default:
+                return statusCode >= 500 ? "Server Error" : "Status";
+        }
+    }
+
+    /**
+     * Handles a single request.
+     */
+    interface Handler {
+
+        Response handle(Request request);
+    }
+
+    /**
+     * Writes the body of a response as it is sent.
+     */
+    interface BodyWriter {
+
+        /**
+         * Writes exactly the content length of the response.
+         *
+         * @param outputStream the connection's output stream; not closed
+         * @throws IOException if the body can not be written
+         */
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * A parsed HTTP request with a fully read body.
+     */
+    static final class Request {
+
+        private final String method;
+        private final String path;
+        private final Map<String, String> headers;
+        private final byte[] body;
+
+        private Request(String method, String target, Map<String, String> headers, byte[] body) {
+            this.method = method;
+            int query = target.indexOf('?');
+            this.path = query >= 0 ? target.substring(0, query) : target;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        String getMethod() {
+            return method;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        // Header names are matched case-insensitively
+        String getHeader(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        String getBodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * An HTTP response; header names are sent exactly as added.
+     */
+    static final class Response {
+
+        private final int statusCode;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final byte[] body;
+        private final long contentLength;
+        private final BodyWriter bodyWriter;
+
+        private Response(int statusCode, byte[] body, long contentLength, BodyWriter bodyWriter) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.contentLength = contentLength;
+            this.bodyWriter = bodyWriter;
+        }
+
+        static Response of(int statusCode, String contentType, byte[] body) {
+            return new Response(statusCode, body, body.length, null).withHeader("Content-Type", contentType);
+        }
+
+        static Response empty(int statusCode) {
+            return new Response(statusCode, new byte[0], 0, null);
+        }
+
+        // The body is not held in memory, but written by the body writer once the head is sent
+        static Response streamed(int statusCode, String contentType, long contentLength, BodyWriter bodyWriter) {
+            return new Response(statusCode, null, contentLength, bodyWriter).withHeader("Content-Type", contentType);
+        }
+
+        Response withHeader(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        long getContentLength() {
+            return contentLength;
+        }
+    }
+}
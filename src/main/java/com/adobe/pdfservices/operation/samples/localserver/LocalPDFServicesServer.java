@@ -0,0 +1,622 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.localserver;
+
+import com.adobe.pdfservices.operation.samples.localserver.LocalHttpServer.Request;
+import com.adobe.pdfservices.operation.samples.localserver.LocalHttpServer.Response;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Embedded stand-in for the PDF Services REST API, for running the samples and benchmarks without live credentials
+ * or network access.
+ * <p>
+ * The server emulates the endpoints the SDK uses: token, asset upload and download, job submit and job status. Finished
+ * jobs return canned outputs in the shape each operation expects (see {@link CannedJobResults}). Latency, the
+ * {@code retry-after} header and failure rates are configurable, so the same server serves functional runs of the
+ * samples and offline load tests.
+ * <p>
+ * Point the SDK at it with
+ * {@link com.adobe.pdfservices.operation.samples.client.ClientSettings.Builder#withPDFServicesUri(String)} and
+ * {@link #getBaseUri()}, or run {@link #main(String[])} and set the {@code PDF_SERVICES_URI} environment variable
+ * read by {@link com.adobe.pdfservices.operation.samples.client.ClientSettings#fromEnvironment()}. Any client id and
+ * client secret are accepted.
+ * <p>
+ * Assets and jobs are kept in memory for the {@link Builder#withRetention(Duration) retention} period, counted from
+ * the upload of an asset or the end of a job, and are then dropped, so long load tests do not run out of memory.
+ * Assets deleted by the client are dropped at once.
+ */
+public class LocalPDFServicesServer implements AutoCloseable {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalPDFServicesServer.class);
+
+    private static final String APPLICATION_JSON = "application/json";
+    private static final int DEFAULT_STANDALONE_PORT = 8089;
+
+    private final int port;
+    private final Duration tokenLatency;
+    private final long tokenExpiresInSeconds;
+    private final Duration jobDuration;
+    private final Duration pageDuration;
+    private final Duration requestLatency;
+    private final Duration retryAfter;
+    private final double jobFailureRate;
+    private final double requestFailureRate;
+    private final CannedJobResults cannedJobResults;
+    private final long retentionNanos;
+
+    private final Map<String, StoredAsset> assets = new ConcurrentHashMap<>();
+    private final Map<String, SubmittedJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong tokenRequests = new AtomicLong();
+    private final AtomicLong uploads = new AtomicLong();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicLong submittedJobs = new AtomicLong();
+    private final AtomicLong statusRequests = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+
+    private LocalHttpServer httpServer;
+
+    private LocalPDFServicesServer(Builder builder) {
+        this.port = builder.port;
+        this.tokenLatency = builder.tokenLatency;
+        this.tokenExpiresInSeconds = builder.tokenExpiresInSeconds;
+        this.jobDuration = builder.jobDuration;
+        this.pageDuration = builder.pageDuration;
+        this.requestLatency = builder.requestLatency;
+        this.retryAfter = builder.retryAfter;
+        this.jobFailureRate = builder.jobFailureRate;
+        this.requestFailureRate = builder.requestFailureRate;
+        this.cannedJobResults = new CannedJobResults(this::storeOutput);
+        this.retentionNanos = builder.retention.toNanos();
+    }
+
+    /**
+     * Runs the server until the process is stopped, so that samples can be pointed at it through the
+     * {@code PDF_SERVICES_URI} environment variable.
+     * <p>
+     * Optional arguments: port (default 8089), job duration in seconds (default 0), job failure rate between 0 and 1
+     * (default 0), request failure rate between 0 and 1 (default 0) and job duration per input page in milliseconds
+     * (default 0).
+     *
+     * @param args optional arguments
+     * @throws IOException          if the server can not be bound
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LocalPDFServicesServer server = builder()
+                .withPort(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STANDALONE_PORT)
+                .withJobDuration(Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 0))
+                .withJobFailureRate(args.length > 2 ? Double.parseDouble(args[2]) : 0)
+                .withRequestFailureRate(args.length > 3 ? Double.parseDouble(args[3]) : 0)
+                .withPageDuration(Duration.ofMillis(args.length > 4 ? Long.parseLong(args[4]) : 0))
+                .build()
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        LOGGER.info("Set PDF_SERVICES_URI={} to run the samples against this server", server.getBaseUri());
+
+        // The connection threads are daemon threads, so keep the main thread alive until the process is stopped
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Creates a new LocalPDFServicesServer builder.
+     *
+     * @return a LocalPDFServicesServer.Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Binds the server to the loopback interface and starts serving requests.
+     *
+     * @return this server
+     * @throws IOException if the server can not be bound
+     */
+    public LocalPDFServicesServer start() throws IOException {
+        httpServer = LocalHttpServer.start(port, this::handle);
+        LOGGER.info("Local PDF Services server listening at {}", getBaseUri());
+        return this;
+    }
+
+    /**
+     * Returns the base URI of the running server, to be used as the PDF Services URI.
+     *
+     * @return the base URI, without a trailing slash
+     */
+    public String getBaseUri() {
+        return httpServer.getBaseUri();
+    }
+
+    /**
+     * Returns the number of access tokens issued so far.
+     *
+     * @return the number of token requests served
+     */
+    public long getTokenRequestCount() {
+        return tokenRequests.get();
+    }
+
+    /**
+     * Returns the number of asset uploads received so far.
+     *
+     * @return the number of uploads
+     */
+    public long getUploadCount() {
+        return uploads.get();
+    }
+
+    /**
+     * Returns the number of bytes received in asset uploads so far.
+     *
+     * @return the number of uploaded bytes
+     */
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+
+    /**
+     * Returns the number of jobs submitted so far.
+     *
+     * @return the number of submitted jobs
+     */
+    public long getSubmittedJobCount() {
+        return submittedJobs.get();
+    }
+
+    /**
+     * Returns the number of job status requests served so far.
+     *
+     * @return the number of status requests
+     */
+    public long getStatusRequestCount() {
+        return statusRequests.get();
+    }
+
+    /**
+     * Returns the number of jobs reported as failed so far because of the configured job failure rate.
+     *
+     * @return the number of failed jobs
+     */
+    public long getFailedJobCount() {
+        return failedJobs.get();
+    }
+
+    /**
+     * Returns the number of API requests rejected so far because of the configured request failure rate.
+     *
+     * @return the number of rejected requests
+     */
+    public long getFailedRequestCount() {
+        return failedRequests.get();
+    }
+
+    @Override
+    public void close() {
+        if (httpServer != null) {
+            httpServer.close();
+            httpServer = null;
+        }
+    }
+
+    private Response handle(Request request) {
+        String method = request.getMethod();
+        String[] segments = request.getPath().substring(1).split("/");
+        if ("POST".equals(method) && segments.length == 1 && "token".equals(segments[0])) {
+            return handleToken();
+        }
+        sweepExpired();
+        pause(requestLatency);
+        if (!"storage".equals(segments[0]) && requestFailureRate > 0 && ThreadLocalRandom.current().nextDouble() < requestFailureRate) {
+            failedRequests.incrementAndGet();
+            return error(503, "SERVICE_UNAVAILABLE", "Request rejected by the local server's failure rate")
+                    .withHeader("retry-after", "1");
+        }
+        if ("POST".equals(method) && segments.length == 1 && "assets".equals(segments[0])) {
+            return handleCreateAsset(request);
+        } else if ("DELETE".equals(method) && segments.length == 2 && "assets".equals(segments[0])) {
+            assets.remove(segments[1]);
+            return Response.empty(204);
+        } else if ("PUT".equals(method) && segments.length == 2 && "storage".equals(segments[0])) {
+            return handleUpload(request, segments[1]);
+        } else if ("GET".equals(method) && segments.length == 2 && "storage".equals(segments[0])) {
+            return handleDownload(segments[1]);
+        } else if ("POST".equals(method) && segments.length == 2 && "operation".equals(segments[0])) {
+            return handleSubmit(request, segments[1]);
+        } else if ("GET".equals(method) && segments.length == 4 && "operation".equals(segments[0])
+                && "status".equals(segments[3])) {
+            return handleStatus(segments[1], segments[2]);
+        }
+        return error(404, "NOT_FOUND", "No route for " + method + " " + request.getPath());
+    }
+
+    private Response handleToken() {
+        tokenRequests.incrementAndGet();
+        pause(tokenLatency);
+        return json(200, new JSONObject()
+                .put("access_token", "local-" + UUID.randomUUID())
+                .put("token_type", "bearer")
+                .put("expires_in", tokenExpiresInSeconds));
+    }
+
+    private Response handleCreateAsset(Request request) {
+        JSONObject body = new JSONObject(request.getBodyAsString());
+        String assetId = newAssetId();
+        assets.put(assetId, new StoredAsset(body.optString("mediaType", "application/octet-stream")));
+        return json(200, new JSONObject()
+                .put("uploadUri", getBaseUri() + "/storage/" + assetId)
+                .put("assetID", assetId));
+    }
+
+    private Response handleUpload(Request request, String assetId) {
+        StoredAsset asset = assets.get(assetId);
+        if (asset == null) {
+            return error(404, "ASSET_NOT_FOUND", "Unknown asset " + assetId);
+        }
+        asset.content = request.getBody();
+        asset.storedAtNanos = System.nanoTime();
+        asset.pageCount = CannedJobResults.countPages(asset.mediaType, asset.content);
+        uploads.incrementAndGet();
+        uploadedBytes.addAndGet(asset.content.length);
+        return Response.empty(200);
+    }
+
+    private Response handleDownload(String assetId) {
+        StoredAsset asset = assets.get(assetId);
+        if (asset == null || asset.content == null) {
+            return error(404, "ASSET_NOT_FOUND", "Unknown asset " + assetId);
+        }
+        return Response.of(200, asset.mediaType, asset.content);
+    }
+
+    private Response handleSubmit(Request request, String operation) {
+        JSONObject body = new JSONObject(request.getBodyAsString());
+        String inputAssetId = findFirstAssetId(body);
+        if (inputAssetId == null || !assets.containsKey(inputAssetId)) {
+            return error(400, "INVALID_INPUT", "Request does not reference an uploaded asset");
+        }
+        String jobId = UUID.randomUUID().toString();
+        boolean fails = jobFailureRate > 0 && ThreadLocalRandom.current().nextDouble() < jobFailureRate;
+        // Larger documents take longer, as they do on the service
+        long durationNanos = jobDuration.toNanos() + pageDuration.toNanos() * assets.get(inputAssetId).pageCount;
+        jobs.put(jobId, new SubmittedJob(inputAssetId, body, System.nanoTime() + durationNanos, fails));
+        submittedJobs.incrementAndGet();
+        return Response.empty(201)
+                .withHeader("location", getBaseUri() + "/operation/" + operation + "/" + jobId + "/status")
+                .withHeader("x-request-id", jobId);
+    }
+
+    private Response handleStatus(String operation, String jobId) {
+        statusRequests.incrementAndGet();
+        SubmittedJob job = jobs.get(jobId);
+        if (job == null) {
+            return error(404, "JOB_NOT_FOUND", "Unknown job " + jobId);
+        }
+        long remainingNanos = job.readyAtNanos - System.nanoTime();
+        if (remainingNanos > 0) {
+            long retryAfterSeconds = retryAfter != null
+                    ? retryAfter.getSeconds()
+                    : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos));
+            return json(200, new JSONObject().put("status", "in progress"))
+                    .withHeader("retry-after", String.valueOf(retryAfterSeconds));
+        }
+        return json(200, job.result(() -> finish(operation, job)));
+    }
+
+    private JSONObject finish(String operation, SubmittedJob job) {
+        if (job.fails) {
+            failedJobs.incrementAndGet();
+            return new JSONObject()
+                    .put("status", "failed")
+                    .put("error", new JSONObject()
+                            .put("code", "LOCAL_JOB_FAILURE")
+                            .put("message", "Job failed because of the local server's failure rate")
+                            .put("status", 500));
+        }
+        StoredAsset input = assets.get(job.inputAssetId);
+        if (input == null) {
+            return new JSONObject()
+                    .put("status", "failed")
+                    .put("error", new JSONObject()
+                            .put("code", "ASSET_NOT_FOUND")
+                            .put("message", "Input asset was deleted or dropped before the job ended")
+                            .put("status", 404));
+        }
+        return cannedJobResults.done(operation, job.requestBody, input.mediaType, input.content, input.pageCount);
+    }
+
+    private JSONObject storeOutput(String mediaType, byte[] content, int pageCount) {
+        String outputAssetId = newAssetId();
+        StoredAsset output = new StoredAsset(mediaType);
+        output.content = content;
+        output.pageCount = pageCount;
+        assets.put(outputAssetId, output);
+        return new JSONObject()
+                .put("metadata", new JSONObject().put("type", mediaType).put("size", content.length))
+                .put("downloadUri", getBaseUri() + "/storage/" + outputAssetId)
+                .put("assetID", outputAssetId);
+    }
+
+    // Drops the assets and jobs past their retention, at most once every tenth of the retention period, so that the
+    // maps are not scanned on every request
+    private void sweepExpired() {
+        long now = System.nanoTime();
+        long nextSweep = nextSweepNanos.get();
+        if (now - nextSweep < 0 || !nextSweepNanos.compareAndSet(nextSweep, now + retentionNanos / 10)) {
+            return;
+        }
+        int assetCount = assets.size();
+        int jobCount = jobs.size();
+        assets.values().removeIf(asset -> now - asset.storedAtNanos > retentionNanos);
+        jobs.values().removeIf(job -> now - job.readyAtNanos > retentionNanos);
+        LOGGER.debug("Dropped {} expired assets and {} expired jobs", assetCount - assets.size(),
+                jobCount - jobs.size());
+    }
+
+    // Returns the first "assetID" found in the request, which is the primary input for every operation. Electronic
+    // seal names its input document "inputDocumentAssetID" instead.
+    private static String findFirstAssetId(Object node) {
+        if (node instanceof JSONObject) {
+            JSONObject object = (JSONObject) node;
+            if (object.has("inputDocumentAssetID")) {
+                return object.getString("inputDocumentAssetID");
+            }
+            if (object.has("assetID")) {
+                return object.getString("assetID");
+            }
+            for (String key : object.keySet()) {
+                String assetId = findFirstAssetId(object.get(key));
+                if (assetId != null) {
+                    return assetId;
+                }
+            }
+        } else if (node instanceof JSONArray) {
+            for (Object element : (JSONArray) node) {
+                String assetId = findFirstAssetId(element);
+                if (assetId != null) {
+                    return assetId;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String newAssetId() {
+        return "urn:aaid:AS:local:" + UUID.randomUUID();
+    }
+
+    private static Response json(int statusCode, JSONObject body) {
+        return Response.of(statusCode, APPLICATION_JSON, body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The SDK reads the request id of every failed response
+    private static Response error(int statusCode, String code, String message) {
+        return json(statusCode, new JSONObject()
+                .put("error", new JSONObject().put("code", code).put("message", message).put("status", statusCode)))
+                .withHeader("x-request-id", UUID.randomUUID().toString());
+    }
+
+    private static void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class StoredAsset {
+
+        private final String mediaType;
+        private volatile byte[] content;
+        private volatile int pageCount;
+        private volatile long storedAtNanos = System.nanoTime();
+
+        private StoredAsset(String mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+
+    private static final class SubmittedJob {
+
+        private final String inputAssetId;
+        private final JSONObject requestBody;
+        private final long readyAtNanos;
+        private final boolean fails;
+        private JSONObject result;
+
+        private SubmittedJob(String inputAssetId, JSONObject requestBody, long readyAtNanos, boolean fails) {
+            this.inputAssetId = inputAssetId;
+            this.requestBody = requestBody;
+            this.readyAtNanos = readyAtNanos;
+            this.fails = fails;
+        }
+
+        // Outputs are created once, so that repeated status requests return the same assets
+        private synchronized JSONObject result(Supplier<JSONObject> finisher) {
+            if (result == null) {
+                result = finisher.get();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Builds a {@link LocalPDFServicesServer} instance.
+     */
+    public static class Builder {
+
+        private int port = 0;
+        private Duration tokenLatency = Duration.ZERO;
+        private long tokenExpiresInSeconds = 86399;
+        private Duration jobDuration = Duration.ZERO;
+        private Duration pageDuration = Duration.ZERO;
+        private Duration requestLatency = Duration.ZERO;
+        private Duration retryAfter;
+        private double jobFailureRate;
+        private double requestFailureRate;
+        private Duration retention = Duration.ofMinutes(10);
+
+        /**
+         * Sets the port to listen on. Default value is 0, which picks a free port.
+         *
+         * @param port port number
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the time the token endpoint takes to issue an access token, to emulate the identity service round
+         * trip. Default value is zero.
+         *
+         * @param tokenLatency token endpoint latency
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withTokenLatency(Duration tokenLatency) {
+            this.tokenLatency = tokenLatency;
+            return this;
+        }
+
+        /**
+         * Sets the lifetime, in seconds, of the access tokens issued. Default value is 86399 seconds.
+         *
+         * @param tokenExpiresInSeconds access token lifetime in seconds
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withTokenExpiresIn(long tokenExpiresInSeconds) {
+            this.tokenExpiresInSeconds = tokenExpiresInSeconds;
+            return this;
+        }
+
+        /**
+         * Sets how long each job stays in progress after submission. Status requests made before then are answered
+         * with an in-progress status and a {@code retry-after} header. Default value is zero.
+         *
+         * @param jobDuration time a job takes to complete
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withJobDuration(Duration jobDuration) {
+            this.jobDuration = jobDuration;
+            return this;
+        }
+
+        /**
+         * Sets the time added to the job duration for each page of the input PDF file. Default value is zero.
+         *
+         * @param pageDuration time each input page adds to a job
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withPageDuration(Duration pageDuration) {
+            this.pageDuration = pageDuration;
+            return this;
+        }
+
+        /**
+         * Sets the time every API request other than the token request takes before it is answered, to emulate the
+         * network round trip and service processing. Default value is zero.
+         *
+         * @param requestLatency latency added to each request
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withRequestLatency(Duration requestLatency) {
+            this.requestLatency = requestLatency;
+            return this;
+        }
+
+        /**
+         * Sets the value of the {@code retry-after} header returned while a job is in progress. By default it is the
+         * remaining job duration in whole seconds, and at least 1.
+         *
+         * @param retryAfter interval between status checks advertised to the client, in whole seconds
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of jobs that end with a failed status instead of an output. Default value is zero.
+         *
+         * @param jobFailureRate fraction of failed jobs, between 0 and 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withJobFailureRate(double jobFailureRate) {
+            this.jobFailureRate = checkRate(jobFailureRate);
+            return this;
+        }
+
+        /**
+         * Sets the fraction of asset, submit and status requests rejected with a 503 response. Token requests and
+         * uploads and downloads to storage are never rejected. Default value is zero.
+         *
+         * @param requestFailureRate fraction of rejected requests, between 0 and 1
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withRequestFailureRate(double requestFailureRate) {
+            this.requestFailureRate = checkRate(requestFailureRate);
+            return this;
+        }
+
+        /**
+         * Sets how long an asset is kept after its upload, and a job after it ends, before the server drops it.
+         * Requests for a dropped asset or job are answered with a 404 response. Default value is 10 minutes.
+         *
+         * @param retention time assets and jobs are kept; must be positive
+         * @return this Builder instance to add any additional parameters
+         */
+        public Builder withRetention(Duration retention) {
+            if (retention.isNegative() || retention.isZero()) {
+                throw new IllegalArgumentException("Retention must be positive");
+            }
+            this.retention = retention;
+            return this;
+        }
+
+        /**
+         * Returns a new LocalPDFServicesServer instance built from the current state of this builder.
+         *
+         * @return a new LocalPDFServicesServer instance
+         */
+        public LocalPDFServicesServer build() {
+            return new LocalPDFServicesServer(this);
+        }
+
+        private static double checkRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Rate must be between 0 and 1");
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.ocrpdf;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.io.Asset;
+import com.adobe.pdfservices.operation.io.StreamAsset;
+import com.adobe.pdfservices.operation.pdfjobs.params.ocr.OCRParams;
+import com.adobe.pdfservices.operation.pdfjobs.params.ocr.OCRSupportedLocale;
+import com.adobe.pdfservices.operation.pdfjobs.params.ocr.OCRSupportedType;
+import com.adobe.pdfservices.operation.samples.batch.ShardPlan;
+import com.adobe.pdfservices.operation.samples.batch.ShardedOCR;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This sample illustrates how to perform an OCR operation on a large scanned PDF file in less time, by running OCR on
+ * parts of the file at the same time.
+ * <p>
+ * The file is split into shards of consecutive pages, the shards are processed by concurrent OCR jobs with the same
+ * locale and OCR type, and the results are combined back in page order. The shard size is chosen from the page count
+ * of the file; small files are processed by a single OCR job, as in OcrPDFWithOptions.
+ * <p>
+ * Optional argument: the PDF file (default src/main/resources/ocrInput.pdf).
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class OcrLargePDF {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(OcrLargePDF.class);
+
+    public static void main(String[] args) {
+        String inputFile = args.length > 0 ? args[0] : "src/main/resources/ocrInput.pdf";
+
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build()) {
+            // Creates an asset(s) from source file(s) and upload
+            Asset asset = asyncPDFServices.uploadAsync(UploadSource.ofFile(Paths.get(inputFile),
+                    PDFServicesMediaType.PDF.getMediaType())).join();
+
+            // Create parameters for the job, used for every shard
+            OCRParams ocrParams = OCRParams.ocrParamsBuilder()
+                    .withOCRLocale(OCRSupportedLocale.EN_US)
+                    .withOCRType(OCRSupportedType.SEARCHABLE_IMAGE_EXACT)
+                    .build();
+            ShardedOCR shardedOCR = ShardedOCR.builder(asyncPDFServices)
+                    .withOCRParams(ocrParams)
+                    .build();
+
+            // Chooses the shard size from the page count of the file
+            ShardPlan plan = shardedOCR.planAsync(asset).join();
+            LOGGER.info("Running OCR on {}", plan);
+
+            // Splits the file, runs OCR on the shards and combines the results
+            long start = System.nanoTime();
+            Asset resultAsset = shardedOCR.ocr(asset, plan).join();
+            LOGGER.info(String.format("OCR of %d pages took %.1fs with %d jobs", plan.getPageCount(),
+                    (System.nanoTime() - start) / 1e9, shardedOCR.getJobCount()));
+
+            // Get content from the resulting asset(s)
+            StreamAsset streamAsset = asyncPDFServices.getContentAsync(resultAsset).join();
+
+            // Writes the stream asset's content to the output file
+            String outputFilePath = createOutputFilePath();
+            LOGGER.info(String.format("Saving asset at %s", outputFilePath));
+
+            AssetSink.getInstance().write(streamAsset, outputFilePath);
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        }
+    }
+
+    // Generates a string containing a directory structure and file name for the output file
+    public static String createOutputFilePath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        Files.createDirectories(Paths.get("output/OcrLargePDF"));
+        return ("output/OcrLargePDF/ocr" + timeStamp + ".pdf");
+    }
+}
@@ -14,8 +14,6 @@ package com.adobe.pdfservices.operation.samples.pdfaccessibilitychecker;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -23,14 +21,14 @@ import com.adobe.pdfservices.operation.io.Asset;
 import com.adobe.pdfservices.operation.io.StreamAsset;
 import com.adobe.pdfservices.operation.pdfjobs.jobs.PDFAccessibilityCheckerJob;
 import com.adobe.pdfservices.operation.pdfjobs.result.PDFAccessibilityCheckerResult;
-import org.apache.commons.io.IOUtils;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -51,12 +49,8 @@ public class PDFAccessibilityChecker {
             InputStream inputStream = Files
                         .newInputStream(new File("src/main/resources/accessibilityCheckerInput.pdf")
                                 .toPath())) {
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"),
-                    System.getenv("PDF_SERVICES_CLIENT_SECRET"));
-
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getDefaultClient();
 
             // Creates an asset(s) from source file(s) and upload
             Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
@@ -80,12 +74,8 @@ public class PDFAccessibilityChecker {
             LOGGER.info(String.format("Saving asset at %s", outputFilePath));
             LOGGER.info(String.format("Saving report at %s", outputFilePathReport));
 
-            OutputStream outputStream = Files.newOutputStream(new File(outputFilePath).toPath());
-            OutputStream outputStreamReport = Files.newOutputStream(new File(outputFilePathReport).toPath());
-            IOUtils.copy(streamAsset.getInputStream(), outputStream);
-            IOUtils.copy(streamAssetReport.getInputStream(), outputStreamReport);
-            outputStream.close();
-            outputStreamReport.close();
+            AssetSink.getInstance().write(streamAsset, outputFilePath);
+            AssetSink.getInstance().write(streamAssetReport, outputFilePathReport);
 
         } catch (ServiceApiException | IOException | SDKException | ServiceUsageException ex) {
             System.out.println("Exception encountered while executing operation: "+ ex);
@@ -14,8 +14,6 @@ package com.adobe.pdfservices.operation.samples.pdfaccessibilitychecker;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -24,7 +22,8 @@ import com.adobe.pdfservices.operation.io.StreamAsset;
 import com.adobe.pdfservices.operation.pdfjobs.jobs.PDFAccessibilityCheckerJob;
 import com.adobe.pdfservices.operation.pdfjobs.params.pdfaccessibilitychecker.PDFAccessibilityCheckerParams;
 import com.adobe.pdfservices.operation.pdfjobs.result.PDFAccessibilityCheckerResult;
-import org.apache.commons.io.IOUtils;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,12 +49,8 @@ public class PDFAccessibilityCheckerWithOptions {
                         .newInputStream(new File("src/main/resources/accessibilityCheckerInput.pdf")
                                 .toPath())) {
 
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"),
-                    System.getenv("PDF_SERVICES_CLIENT_SECRET"));
-
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getDefaultClient();
 
             // Creates an asset(s) from source file(s) and upload
             Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
@@ -80,21 +75,17 @@ public class PDFAccessibilityCheckerWithOptions {
             Asset report = pdfServicesResponse.getResult().getReport();
             StreamAsset streamAssetReport = pdfServices.getContent(report);
 
-            // Creates output streams and copy stream asset's content to it
+            // Writes the stream assets' content to the output files
             String outputFilePath = createOutputFilePath();
             String outputFilePathReport = createOutputFilePathForReport();
 
             LOGGER.info(String.format("Saving asset at %s", outputFilePath));
             LOGGER.info(String.format("Saving report at %s", outputFilePathReport));
 
-            OutputStream outputStream = Files.newOutputStream(new File(outputFilePath).toPath());
-            OutputStream outputStreamReport = Files.newOutputStream(new File(outputFilePathReport).toPath());
 
-            IOUtils.copy(streamAsset.getInputStream(), outputStream);
-            IOUtils.copy(streamAssetReport.getInputStream(), outputStreamReport);
+            AssetSink.getInstance().write(streamAsset, outputFilePath);
+            AssetSink.getInstance().write(streamAssetReport, outputFilePathReport);
 
-            outputStream.close();
-            outputStreamReport.close();
         } catch (ServiceApiException | IOException | SDKException | ServiceUsageException ex) {
             System.out.println("Exception encountered while executing operation: "+ ex);
         }
@@ -14,8 +14,6 @@ package com.adobe.pdfservices.operation.samples.pdfproperties;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -24,6 +22,7 @@ import com.adobe.pdfservices.operation.pdfjobs.jobs.PDFPropertiesJob;
 import com.adobe.pdfservices.operation.pdfjobs.params.pdfproperties.PDFPropertiesParams;
 import com.adobe.pdfservices.operation.pdfjobs.result.PDFPropertiesResult;
 import com.adobe.pdfservices.operation.pdfjobs.result.pdfproperties.PDFProperties;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,11 +45,8 @@ public class GetPDFProperties {
 
         try (
                 InputStream inputStream = Files.newInputStream(new File("src/main/resources/pdfPropertiesInput.pdf").toPath())) {
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"));
-
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getDefaultClient();
 
             // Creates an asset(s) from source file(s) and upload
             Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
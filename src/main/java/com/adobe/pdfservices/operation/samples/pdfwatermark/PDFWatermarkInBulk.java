@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it. If you have received this file from a source other than Adobe,
+ * then your use, modification, or distribution of it requires the prior
+ * written permission of Adobe.
+ */
+
+package com.adobe.pdfservices.operation.samples.pdfwatermark;
+
+import com.adobe.pdfservices.operation.PDFServicesMediaType;
+import com.adobe.pdfservices.operation.exception.SDKException;
+import com.adobe.pdfservices.operation.samples.batch.BatchSummary;
+import com.adobe.pdfservices.operation.samples.batch.BulkPDFWatermark;
+import com.adobe.pdfservices.operation.samples.client.AsyncPDFServices;
+import com.adobe.pdfservices.operation.samples.client.ClientSettings;
+import com.adobe.pdfservices.operation.samples.io.UploadSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This sample illustrates how to apply the same watermark to every PDF document in a directory.
+ * <p>
+ * The watermark is uploaded once, and the page ranges and appearance are built once into parameters shared by every
+ * PDF Watermark job. A bounded number of documents are watermarked at the same time, and documents are listed as jobs
+ * can be started, so the directory can hold any number of them. The throughput, the latency percentiles of the
+ * documents and the upload bytes saved by sharing the watermark are logged at the end.
+ * <p>
+ * Optional arguments: input directory (default src/main/resources), file name pattern of the documents (default
+ * *.pdf) and number of concurrent jobs (default 10).
+ * <p>
+ * Refer to README.md for instructions on how to run the samples.
+ */
+public class PDFWatermarkInBulk {
+
+    // Initialize the logger
+    private static final Logger LOGGER = LoggerFactory.getLogger(PDFWatermarkInBulk.class);
+
+    public static void main(String[] args) {
+        Path inputDirectory = Paths.get(args.length > 0 ? args[0] : "src/main/resources");
+        String pattern = args.length > 1 ? args[1] : "*.pdf";
+        int maxConcurrentJobs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        try (AsyncPDFServices asyncPDFServices = AsyncPDFServices.builder(ClientSettings.fromEnvironment()).build();
+             DirectoryStream<Path> documents = Files.newDirectoryStream(inputDirectory, pattern)) {
+            // Watermarks page 1 and pages 3 to 4 of every document, at half opacity
+            Path outputDirectory = createOutputDirectoryPath();
+            BulkPDFWatermark bulkPDFWatermark = BulkPDFWatermark.builder(asyncPDFServices, outputDirectory)
+                    .withPage(1)
+                    .withPages(3, 4)
+                    .withOpacity(50)
+                    .withMaxConcurrentJobs(maxConcurrentJobs)
+                    .build();
+
+            // Uploads the watermark once and applies it to every document
+            BatchSummary summary = bulkPDFWatermark.watermark(UploadSource.ofFile(
+                    Paths.get("src/main/resources/watermark.pdf"), PDFServicesMediaType.PDF.getMediaType()),
+                    documents.iterator());
+            LOGGER.info("Watermarked documents: {}", summary);
+            LOGGER.info(String.format("Saving assets in %s", outputDirectory));
+        } catch (IOException | SDKException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex);
+        } catch (CompletionException | UncheckedIOException ex) {
+            LOGGER.error("Exception encountered while executing operation", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while watermarking documents", ex);
+        }
+    }
+
+    // Generates a string containing a directory structure for the output files
+    public static Path createOutputDirectoryPath() throws IOException {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+        LocalDateTime now = LocalDateTime.now();
+        String timeStamp = dateTimeFormatter.format(now);
+        return Files.createDirectories(Paths.get("output/PDFWatermarkInBulk/watermark" + timeStamp));
+    }
+}
@@ -14,8 +14,6 @@ package com.adobe.pdfservices.operation.samples.splitpdf;
 import com.adobe.pdfservices.operation.PDFServices;
 import com.adobe.pdfservices.operation.PDFServicesMediaType;
 import com.adobe.pdfservices.operation.PDFServicesResponse;
-import com.adobe.pdfservices.operation.auth.Credentials;
-import com.adobe.pdfservices.operation.auth.ServicePrincipalCredentials;
 import com.adobe.pdfservices.operation.exception.SDKException;
 import com.adobe.pdfservices.operation.exception.ServiceApiException;
 import com.adobe.pdfservices.operation.exception.ServiceUsageException;
@@ -25,14 +23,14 @@ import com.adobe.pdfservices.operation.pdfjobs.jobs.SplitPDFJob;
 import com.adobe.pdfservices.operation.pdfjobs.params.PageRanges;
 import com.adobe.pdfservices.operation.pdfjobs.params.splitpdf.SplitPDFParams;
 import com.adobe.pdfservices.operation.pdfjobs.result.SplitPDFResult;
-import org.apache.commons.io.IOUtils;
+import com.adobe.pdfservices.operation.samples.client.PDFServicesClientRegistry;
+import com.adobe.pdfservices.operation.samples.io.AssetSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -53,11 +51,8 @@ public class SplitPDFByPageRanges {
     public static void main(String[] args) {
         try (
                 InputStream inputStream = Files.newInputStream(new File("src/main/resources/splitPDFInput.pdf").toPath())) {
-            // Initial setup, create credentials instance
-            Credentials credentials = new ServicePrincipalCredentials(System.getenv("PDF_SERVICES_CLIENT_ID"), System.getenv("PDF_SERVICES_CLIENT_SECRET"));
-
-            // Creates a PDF Services instance
-            PDFServices pdfServices = new PDFServices(credentials);
+            // Gets the shared PDF Services instance for the credentials set in the environment
+            PDFServices pdfServices = PDFServicesClientRegistry.getInstance().getDefaultClient();
 
             // Creates an asset(s) from source file(s) and upload
             Asset asset = pdfServices.upload(inputStream, PDFServicesMediaType.PDF.getMediaType());
@@ -86,10 +81,8 @@ public class SplitPDFByPageRanges {
                 String saveOutputFilePath = String.format(outputFilePath, index);
                 LOGGER.info(String.format("Saving asset at %s", saveOutputFilePath));
 
-                // Creates an output stream and copy stream asset's content to it
-                OutputStream outputStream = Files.newOutputStream(new File(saveOutputFilePath).toPath());
-                IOUtils.copy(streamAsset.getInputStream(), outputStream);
-                outputStream.close();
+                // Writes the stream asset's content to the output file
+                AssetSink.getInstance().write(streamAsset, saveOutputFilePath);
                 index++;
             }
         } catch (IOException | ServiceApiException | SDKException | ServiceUsageException e) {